@@ -0,0 +1,120 @@
+package com.robertboothby.djenni.core;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A sequence of {@code long} values that is unique across all the threads that draw on it, such as surrogate keys for
+ * a bulk database load. The sequence runs from a start value in steps up to, but not including, an end value.
+ * <p>
+ * The position in the sequence is held in a single shared counter, but threads do not advance it for every value.
+ * Instead each thread reserves a block of positions at a time and hands them out from its block, so the shared counter
+ * is touched once per block and contention stays negligible however many threads draw on the sequence. Values are
+ * therefore unique and dense within each block but are not handed out in global order; when a thread stops drawing
+ * values, the rest of its block is never used. Use a block size of 1 where strict order matters more than throughput,
+ * or where many short lived threads would each leave most of a block unused.
+ * <p>
+ * Once every value has been handed out the sequence either starts again from the beginning or fails, according to its
+ * {@link Exhaustion} policy.
+ */
+public final class BlockSequence implements LongStreamableSupplier {
+
+    /**
+     * The default number of positions that each thread reserves at a time.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    /**
+     * What a sequence does once every value has been handed out.
+     */
+    public enum Exhaustion {
+        /**
+         * Start again from the start value, so values repeat.
+         */
+        WRAP,
+        /**
+         * Throw a {@link NoSuchElementException} for every further value asked for.
+         */
+        FAIL
+    }
+
+    private final long start;
+    private final long step;
+    private final long length;
+    private final int blockSize;
+    private final boolean wrap;
+    private final AtomicLong nextBlock = new AtomicLong();
+    private final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new);
+
+    private BlockSequence(long start, long endExclusive, long step, int blockSize, Exhaustion exhaustion) {
+        if (step < 1) {
+            throw new IllegalArgumentException("The step must be at least 1 but was " + step);
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("The block size must be at least 1 but was " + blockSize);
+        }
+        if (endExclusive <= start) {
+            throw new IllegalArgumentException(
+                    "The end " + endExclusive + " must be greater than the start " + start);
+        }
+        this.start = start;
+        this.step = step;
+        //Unsigned arithmetic so that ranges wider than Long.MAX_VALUE are measured correctly.
+        this.length = Long.divideUnsigned(endExclusive - start - 1, step) + 1;
+        this.blockSize = blockSize;
+        this.wrap = exhaustion == Exhaustion.WRAP;
+    }
+
+    @Override
+    public long getAsLong() {
+        Block block = blocks.get();
+        if (block.next == block.limit) {
+            reserve(block);
+        }
+        long position = block.next++;
+        return start + (wrap ? Long.remainderUnsigned(position, length) : position) * step;
+    }
+
+    private void reserve(Block block) {
+        long first = nextBlock.getAndAdd(blockSize);
+        if (!wrap) {
+            if (Long.compareUnsigned(first, length) >= 0) {
+                throw new NoSuchElementException("All " + Long.toUnsignedString(length) +
+                        " values of the sequence starting at " + start + " have been used.");
+            }
+            block.limit = Long.compareUnsigned(length - first, blockSize) < 0 ? length : first + blockSize;
+        } else {
+            block.limit = first + blockSize;
+        }
+        block.next = first;
+    }
+
+    /**
+     * @return the number of distinct values in the sequence.
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Create a sequence.
+     * @param start the first value of the sequence.
+     * @param endExclusive the value that the sequence stops before.
+     * @param step the difference between successive values.
+     * @param blockSize the number of positions that each thread reserves at a time.
+     * @param exhaustion what to do once every value has been handed out.
+     * @return a new sequence.
+     */
+    public static BlockSequence blockSequence(long start, long endExclusive, long step, int blockSize,
+                                              Exhaustion exhaustion) {
+        return new BlockSequence(start, endExclusive, step, blockSize, exhaustion);
+    }
+
+    /**
+     * The positions reserved by one thread: the next to be used and the one after the last.
+     */
+    private static final class Block {
+        private long next;
+        private long limit;
+    }
+}
@@ -1,9 +1,10 @@
 package com.robertboothby.djenni.core;
 
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
-import static com.robertboothby.djenni.core.SupplierHelper.afterGetCalled;
-
 /**
  * <p>
  *     A Supplier that wraps another supplier returning the latest value that the CachingSupplier has retrieved from
@@ -13,36 +14,89 @@ import static com.robertboothby.djenni.core.SupplierHelper.afterGetCalled;
  *     The underlying supplier can still be used directly via its {@link Supplier#get()} method but that will not update
  *     the cached value. The cached value is only updated when {@link #next()} is called.
  * </p>
+ * <p>
+ *     When the supplier is added to a group of a {@link CachingSupplierRegistry} the cached value is also renewed after
+ *     the group is advanced. Advancing a group only increments the epoch of the group; the cached value is renewed
+ *     lazily on the first call to {@link #get()} after the epoch has changed, so suppliers that are not read after the
+ *     group is advanced do no work.
+ * </p>
+ * <p>
+ *     Cached values are kept per thread, or per {@link GenerationContext} when the calling thread is running work in a
+ *     context. The threads sharing a context also share its cached value, which is renewed atomically so that they
+ *     always see a value together with the epoch it was generated in.
+ * </p>
  */
 public class CachingSupplier<T> implements StreamableSupplier<T> {
 
-    private final ThreadLocal<T> lastValue;
+    private static final AtomicLong[] NO_EPOCHS = new AtomicLong[0];
 
-    private final StreamableSupplier<T> source;
+    private final ThreadLocal<AtomicReference<Cached<T>>> cached = ThreadLocal.withInitial(AtomicReference::new);
+
+    private final Supplier<T> source;
+
+    private volatile AtomicLong[] groupEpochs = NO_EPOCHS;
 
     /**
      * Construct an instance of caching supplier using the passed in source supplier
      * @param source the source supplier.
      */
     public CachingSupplier(Supplier<T> source) {
-        this.source = afterGetCalled(source, this::setLastValue);
-        lastValue = ThreadLocal.withInitial(() -> source.get());
+        this.source = source;
     }
 
     @Override
     public T get() {
-        return lastValue.get();
+        AtomicReference<Cached<T>> holder = holder();
+        Cached<T> current = holder.get();
+        long epoch = epoch();
+        if (current == null || current.epoch() != epoch) {
+            Cached<T> renewed = new Cached<>(source.get(), epoch);
+            //If another thread in the same context renewed the value first, use its value rather than replacing it.
+            return holder.compareAndSet(current, renewed) ? renewed.value() : holder.get().value();
+        }
+        return current.value();
     }
 
     /**
      * Get the next value from the wrapped supplier and cache it.
      */
     public T next() {
-        return source.get();
+        AtomicReference<Cached<T>> holder = holder();
+        Cached<T> renewed = new Cached<>(source.get(), epoch());
+        holder.set(renewed);
+        return renewed.value();
     }
 
-    private void setLastValue(T value){
-        lastValue.set(value);
+    private AtomicReference<Cached<T>> holder() {
+        GenerationContext context = GenerationContext.current();
+        return context == null ? cached.get() : context.state(this, AtomicReference::new);
+    }
+
+    /**
+     * Renew the cached values whenever the epoch changes, as well as when {@link #next()} is called.
+     * @param groupEpoch the epoch of a registry group that this supplier has been added to.
+     */
+    synchronized void joinGroup(AtomicLong groupEpoch) {
+        AtomicLong[] groupEpochs = this.groupEpochs;
+        for (AtomicLong existing : groupEpochs) {
+            if (existing == groupEpoch) {
+                return;
+            }
+        }
+        AtomicLong[] joined = Arrays.copyOf(groupEpochs, groupEpochs.length + 1);
+        joined[groupEpochs.length] = groupEpoch;
+        this.groupEpochs = joined;
+    }
+
+    /**
+     * Group epochs only ever increase, so their sum changes whenever any one of the groups is advanced.
+     */
+    private long epoch() {
+        long epoch = 0;
+        for (AtomicLong groupEpoch : groupEpochs) {
+            epoch += groupEpoch.get();
+        }
+        return epoch;
     }
 
     /**
@@ -54,4 +108,10 @@ public class CachingSupplier<T> implements StreamableSupplier<T> {
     public static <T> CachingSupplier<T> cacheSuppliedValues(Supplier<T> source){
         return new CachingSupplier<>(source);
     }
+
+    /**
+     * The value cached for one thread or context and the epoch in which it was generated.
+     */
+    private record Cached<T>(T value, long epoch) {
+    }
 }
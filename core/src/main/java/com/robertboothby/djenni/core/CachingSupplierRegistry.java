@@ -1,17 +1,18 @@
 package com.robertboothby.djenni.core;
 
-import java.util.Collection;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Utility class to manage large numbers of caching suppliers.
  *
  * It is intended to allow you to register caching suppliers in named groups that can be ticked over into new values on demand.
  *
- * Currently runs next() in series due to needing to support {@link ThreadLocalSupplier}s, we may be able to improve
- * this behaviour with the introduction of ScopedValues in the future and deprecating ThreadLocalSupplier.
+ * Each group has an epoch counter. Advancing a group just increments its epoch, whatever the size of the group; each
+ * {@link CachingSupplier} in the group then generates its new value lazily the first time it is read afterwards, so
+ * the values generated are proportional to the suppliers actually used. As the epoch is shared, advancing a group
+ * renews the cached values seen on every thread, not just on the thread that advanced it.
  */
 public class CachingSupplierRegistry {
 
@@ -20,7 +21,7 @@ public class CachingSupplierRegistry {
      */
     public static final String DEFAULT = "";
 
-    private final Map<String, Set<CachingSupplier<?>>> registeredSuppliers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> groupEpochs = new ConcurrentHashMap<>();
 
     /**
      * Create a new empty registry. Each registry maintains its own set of named groups.
@@ -36,7 +37,7 @@ public class CachingSupplierRegistry {
      * @return The registry for further calls.
      */
     public CachingSupplierRegistry addCachingSupplier(String group, CachingSupplier<?> supplier){
-        registeredSuppliers.computeIfAbsent(group, k -> ConcurrentHashMap.newKeySet()).add(supplier);
+        supplier.joinGroup(groupEpochs.computeIfAbsent(group, k -> new AtomicLong()));
         return this;
     }
 
@@ -50,21 +51,20 @@ public class CachingSupplierRegistry {
     }
 
     /**
-     * Calls next() on all CachingSuppliers in a given group.
-     * @param group The group of CachingSuppliers to call next() on.
+     * Advance all the CachingSuppliers in a given group so that each returns a new value the next time it is read.
+     * @param group The group of CachingSuppliers to advance.
      * @return The registry for further calls.
      */
     public CachingSupplierRegistry next(String group){
-        Set<CachingSupplier<?>> suppliers = registeredSuppliers.get(group);
-        if (suppliers == null || suppliers.isEmpty()) {
-            return this;
+        AtomicLong epoch = groupEpochs.get(group);
+        if (epoch != null) {
+            epoch.incrementAndGet();
         }
-        suppliers.forEach(CachingSupplier::next);
         return this;
     }
 
     /**
-     * Call next() on all CachingSuppliers in the DEFAULT group.
+     * Advance all the CachingSuppliers in the DEFAULT group.
      * @return the registry for further calls.
      */
     public CachingSupplierRegistry next(){
@@ -72,11 +72,19 @@ public class CachingSupplierRegistry {
     }
 
     /**
-     * Calls next() on <em>all</em> CachingSuppliers that have been registered regardless of group.
-     * Invocation order is undefined but currently sequential to maintain compatibility with {@link ThreadLocalSupplier}.
+     * Advance <em>all</em> CachingSuppliers that have been registered regardless of group.
      */
     public void nextAll(){
-        registeredSuppliers.values().stream().flatMap(Collection::stream).forEach(CachingSupplier::next);
+        groupEpochs.values().forEach(AtomicLong::incrementAndGet);
+    }
+
+    /**
+     * @param group the group.
+     * @return the number of times the group has been advanced.
+     */
+    public long epoch(String group){
+        AtomicLong epoch = groupEpochs.get(group);
+        return epoch == null ? 0 : epoch.get();
     }
 
 }
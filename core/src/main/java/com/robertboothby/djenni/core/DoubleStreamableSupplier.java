@@ -0,0 +1,47 @@
+package com.robertboothby.djenni.core;
+
+import java.util.function.DoubleSupplier;
+import java.util.stream.DoubleStream;
+
+/**
+ * Primitive specialisation of {@link StreamableSupplier} for {@code double} values. Implementations only need to provide
+ * {@link #getAsDouble()}; the boxed {@link #get()} delegates to it so the supplier can still be used anywhere a
+ * {@code Supplier<Double>} is expected, while hot code can avoid boxing by calling {@link #getAsDouble()} or
+ * {@link #doubleStream(long)} directly.
+ */
+@FunctionalInterface
+public interface DoubleStreamableSupplier extends StreamableSupplier<Double>, DoubleSupplier {
+
+    /**
+     * Get the next value without boxing.
+     * @return the next double value.
+     */
+    @Override
+    double getAsDouble();
+
+    /**
+     * Boxed equivalent of {@link #getAsDouble()}, retained for compatibility with the {@link StreamableSupplier} API.
+     * @return the next value, boxed.
+     */
+    @Override
+    default Double get() {
+        return getAsDouble();
+    }
+
+    /**
+     * Return a limited DoubleStream using this supplier as a source.
+     * @param numberOfValues The number of values from this supplier to stream.
+     * @return An DoubleStream instance derived from this supplier.
+     */
+    default DoubleStream doubleStream(long numberOfValues) {
+        return DoubleStream.generate(this).limit(numberOfValues);
+    }
+
+    /**
+     * Return an infinite DoubleStream using this supplier as a source.
+     * @return An DoubleStream instance derived from this supplier.
+     */
+    default DoubleStream doubleStream() {
+        return DoubleStream.generate(this);
+    }
+}
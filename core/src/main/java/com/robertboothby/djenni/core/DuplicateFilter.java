@@ -0,0 +1,15 @@
+package com.robertboothby.djenni.core;
+
+/**
+ * A thread safe record of the 64 bit hashes of the values that a {@link UniqueSupplier} has already supplied.
+ */
+interface DuplicateFilter {
+
+    /**
+     * Record the hash if it has not been seen before. When several threads offer the same hash at once only one of
+     * them is told that it is new.
+     * @param hash the hash of a value.
+     * @return true if the hash had not been seen before and has now been recorded.
+     */
+    boolean add(long hash);
+}
@@ -1,16 +1,21 @@
 package com.robertboothby.djenni.core;
 
+import com.robertboothby.djenni.distribution.AliasTable;
 import com.robertboothby.djenni.distribution.Distribution;
+import com.robertboothby.djenni.distribution.DoubleDistribution;
 import com.robertboothby.djenni.distribution.simple.SimpleRandomDoubleDistribution;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.TreeMap;
 import java.util.function.Supplier;
 
 /**
- * Supplies values according to explicitly configured weights. The builder flattens the weights into a cumulative
- * probability map and a uniform {@link Distribution} is then used to select the next entry. Weights can be any positive
- * {@code double}; zero or negative weights are ignored. The underlying distribution defaults to
+ * Supplies values according to explicitly configured weights. The weights are flattened into an {@link AliasTable}
+ * when the supplier is constructed, so each value costs one uniform random number from the {@link Distribution} and one
+ * or two array reads, however many weighted suppliers there are. Weights can be any positive {@code double}; zero,
+ * negative or {@code NaN} weights are ignored. The underlying distribution defaults to
  * {@link SimpleRandomDoubleDistribution#UNIFORM}, so the relative proportions remain stable regardless of the absolute
  * values used.
  *
@@ -26,34 +31,52 @@ import java.util.function.Supplier;
  */
 public class ExplicitlyBiassedSupplier<T> implements StreamableSupplier<T> {
 
+    /**
+     * Formerly the positively weighted suppliers keyed by the running total of their weights, from which values were
+     * chosen. It is now always empty.
+     * @deprecated Values are chosen using {@link #suppliers} and {@link #aliasTable}. This field is only kept so that
+     * subclasses referring to it still compile; it is never filled in and changing it has no effect.
+     */
+    @Deprecated
     protected final TreeMap<Double, Supplier<T>> lookupMap;
+    protected final Supplier<T>[] suppliers;
+    protected final AliasTable aliasTable;
     protected final double proportionsTotal;
-    protected final Distribution<Double, Double> distribution = SimpleRandomDoubleDistribution.UNIFORM;
+    protected final DoubleDistribution distribution = SimpleRandomDoubleDistribution.UNIFORM;
 
     /**
-     * Creates a supplier from precomputed bias details. The list is iterated in order and converted into a cumulative
-     * lookup map, so the supplied list should be deterministic to guarantee reproducible proportions across runs.
+     * Creates a supplier from precomputed bias details. The list is iterated in order and converted into an alias
+     * table, so the supplied list should be deterministic to guarantee reproducible values across seeded runs.
      * @param biasList bias configuration describing which supplier to invoke for each weighted bucket
      */
+    @SuppressWarnings("unchecked")
     public ExplicitlyBiassedSupplier(List<BiasDetail<T>> biasList) {
         this.lookupMap = new TreeMap<>();
+        List<Supplier<T>> positiveSuppliers = new ArrayList<>(biasList.size());
+        double[] weights = new double[biasList.size()];
         double runningProportionsTotal = 0.0D;
         for(BiasDetail<T> biasDetail : biasList){
-            runningProportionsTotal += biasDetail.biasProportion;
-            if(biasDetail.biasProportion > 0.0D) { //If someone has slipped in a 0.0D value ignore it otherwise we get an issue.
-                lookupMap.put(runningProportionsTotal, biasDetail.biasedValue);
+            if(biasDetail.biasProportion > 0.0D) { //If someone has slipped in a zero, negative or NaN value ignore it.
+                weights[positiveSuppliers.size()] = biasDetail.biasProportion;
+                positiveSuppliers.add(biasDetail.biasedValue);
+                runningProportionsTotal += biasDetail.biasProportion;
             }
         }
+        this.suppliers = positiveSuppliers.toArray(new Supplier[0]);
+        this.aliasTable = suppliers.length == 0 ? null : AliasTable.of(Arrays.copyOf(weights, suppliers.length));
         this.proportionsTotal = runningProportionsTotal;
     }
 
     /**
      * Generate the next value using the configured weights.
      * @return the biased value chosen for the randomly generated position
+     * @throws IllegalStateException if no supplier was given a positive weight.
      */
     public T get() {
-        Double mapKeyValue = distribution.generate(proportionsTotal);
-        return lookupMap.ceilingEntry(mapKeyValue).getValue().get();
+        if (aliasTable == null) {
+            throw new IllegalStateException("There are no suppliers with a positive weight to choose from.");
+        }
+        return suppliers[aliasTable.sample(distribution.generate(suppliers.length))].get();
     }
 
     /**
@@ -0,0 +1,120 @@
+package com.robertboothby.djenni.core;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A unit of work for generation, such as one simulated user, that owns the state which would otherwise be kept per
+ * thread. While work is run within a context using {@link #call(Supplier)} or {@link #run(Runnable)}, the suppliers
+ * that keep per thread state, {@link ThreadLocalSupplier}, {@link CachingSupplier} and the sequential suppliers built by
+ * {@link com.robertboothby.djenni.lang.IntegerSupplierBuilder#sequential()}, keep it in the context instead. Outside
+ * of any context they keep their existing per thread behaviour.
+ * <p>
+ * This matters when generation is driven from very large numbers of short lived virtual threads. Per thread state means
+ * a new delegate supplier and cached value for every thread, and sequences that restart on every thread. State held in
+ * a context is created once per unit of work, is shared by all the threads that run work in that context and becomes
+ * garbage as soon as the context is dropped.
+ * <p>
+ * Only the binding of the context to the running thread uses a {@link ThreadLocal}; it is removed when the work
+ * completes, so nothing is left behind on pooled or carrier threads. Contexts may be used from several threads at once,
+ * but the delegates of a {@link ThreadLocalSupplier} are then shared by those threads and must be thread safe.
+ */
+public final class GenerationContext {
+
+    private static final ThreadLocal<GenerationContext> CURRENT = new ThreadLocal<>();
+
+    private final Map<Object, Object> state = new ConcurrentHashMap<>();
+
+    private GenerationContext() {
+    }
+
+    /**
+     * Create a new context with no state.
+     * @return a new context.
+     */
+    public static GenerationContext generationContext() {
+        return new GenerationContext();
+    }
+
+    /**
+     * Get the context that work on the current thread is running in.
+     * @return the context, or null if the current thread is not running work in a context.
+     */
+    public static GenerationContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Get a value from the supplier with this context bound to the current thread. Calls may be nested; the previous
+     * context is restored when the call completes.
+     * @param work the supplier to call.
+     * @param <T> the type of value supplied.
+     * @return the value from the supplier.
+     */
+    public <T> T call(Supplier<T> work) {
+        GenerationContext previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Run the action with this context bound to the current thread, as with {@link #call(Supplier)}.
+     * @param work the action to run.
+     */
+    public void run(Runnable work) {
+        GenerationContext previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            work.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Get the state that an owner, typically a supplier, keeps in this context, creating it the first time it is asked
+     * for.
+     * @param owner the owner of the state, compared by identity.
+     * @param initialState creates the state the first time it is asked for.
+     * @param <S> the type of the state.
+     * @return the state of the owner in this context.
+     */
+    @SuppressWarnings("unchecked")
+    public <S> S state(Object owner, Supplier<? extends S> initialState) {
+        IdentityKey key = new IdentityKey(Objects.requireNonNull(owner, "owner"));
+        Object existing = state.get(key);
+        if (existing == null) {
+            existing = state.computeIfAbsent(key, $ -> initialState.get());
+        }
+        return (S) existing;
+    }
+
+    private static void restore(GenerationContext previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Compares owners by identity, whatever their own equality.
+     */
+    private record IdentityKey(Object owner) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof IdentityKey key && key.owner == owner;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(owner);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.robertboothby.djenni.core;
+
+import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * Primitive specialisation of {@link StreamableSupplier} for {@code int} values. Implementations only need to provide
+ * {@link #getAsInt()}; the boxed {@link #get()} delegates to it so the supplier can still be used anywhere a
+ * {@code Supplier<Integer>} is expected, while hot code can avoid boxing by calling {@link #getAsInt()} or
+ * {@link #intStream(long)} directly.
+ */
+@FunctionalInterface
+public interface IntStreamableSupplier extends StreamableSupplier<Integer>, IntSupplier {
+
+    /**
+     * Get the next value without boxing.
+     * @return the next int value.
+     */
+    @Override
+    int getAsInt();
+
+    /**
+     * Boxed equivalent of {@link #getAsInt()}, retained for compatibility with the {@link StreamableSupplier} API.
+     * @return the next value, boxed.
+     */
+    @Override
+    default Integer get() {
+        return getAsInt();
+    }
+
+    /**
+     * Fill the whole of the target array with values from this supplier without boxing.
+     * @param target The array to fill.
+     */
+    default void fill(int[] target) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] = getAsInt();
+        }
+    }
+
+    /**
+     * Fill the target array by generating the values in bulk through {@link #fill(int[])} before boxing them.
+     * @param target The array to fill.
+     */
+    @Override
+    default void fill(Integer[] target) {
+        int[] values = new int[target.length];
+        fill(values);
+        for (int i = 0; i < values.length; i++) {
+            target[i] = values[i];
+        }
+    }
+
+    /**
+     * Add values to the target list by generating them in bulk through {@link #fill(int[])} before boxing them.
+     * @param target The list to add the values to.
+     * @param numberOfValues The number of values to add.
+     */
+    @Override
+    default void fill(List<? super Integer> target, int numberOfValues) {
+        int[] values = new int[numberOfValues];
+        fill(values);
+        for (int value : values) {
+            target.add(value);
+        }
+    }
+
+    /**
+     * Return a limited IntStream using this supplier as a source.
+     * @param numberOfValues The number of values from this supplier to stream.
+     * @return An IntStream instance derived from this supplier.
+     */
+    default IntStream intStream(long numberOfValues) {
+        return IntStream.generate(this).limit(numberOfValues);
+    }
+
+    /**
+     * Return an infinite IntStream using this supplier as a source.
+     * @return An IntStream instance derived from this supplier.
+     */
+    default IntStream intStream() {
+        return IntStream.generate(this);
+    }
+}
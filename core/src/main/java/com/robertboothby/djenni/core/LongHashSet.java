@@ -0,0 +1,91 @@
+package com.robertboothby.djenni.core;
+
+/**
+ * Minimal open addressing set of longs using linear probing, for use by a single thread or under a lock. Removal
+ * shifts the following entries of the probe sequence back rather than leaving tombstones, so a store that is
+ * constantly evicting does not degrade.
+ */
+final class LongHashSet {
+
+    private long[] keys = new long[32];
+    private boolean[] used = new boolean[32];
+    private int count;
+
+    /**
+     * @return the number of keys in the set.
+     */
+    int size() {
+        return count;
+    }
+
+    boolean contains(long key) {
+        int mask = keys.length - 1;
+        for (int i = index(key, mask); used[i]; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean add(long key) {
+        int mask = keys.length - 1;
+        int i = index(key, mask);
+        for (; used[i]; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return false;
+            }
+        }
+        keys[i] = key;
+        used[i] = true;
+        if (++count * 2 > keys.length) {
+            rehash();
+        }
+        return true;
+    }
+
+    void remove(long key) {
+        int mask = keys.length - 1;
+        int i = index(key, mask);
+        while (used[i] && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (!used[i]) {
+            return;
+        }
+        count--;
+        //Shift back any later entry of the probe sequence whose home slot is not between the gap and itself.
+        int gap = i;
+        for (int j = (gap + 1) & mask; used[j]; j = (j + 1) & mask) {
+            int home = index(keys[j], mask);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                gap = j;
+            }
+        }
+        used[gap] = false;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        boolean[] oldUsed = used;
+        keys = new long[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int j = index(oldKeys[i], mask);
+                while (used[j]) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                used[j] = true;
+            }
+        }
+    }
+
+    private static int index(long key, int mask) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,47 @@
+package com.robertboothby.djenni.core;
+
+import java.util.function.LongSupplier;
+import java.util.stream.LongStream;
+
+/**
+ * Primitive specialisation of {@link StreamableSupplier} for {@code long} values. Implementations only need to provide
+ * {@link #getAsLong()}; the boxed {@link #get()} delegates to it so the supplier can still be used anywhere a
+ * {@code Supplier<Long>} is expected, while hot code can avoid boxing by calling {@link #getAsLong()} or
+ * {@link #longStream(long)} directly.
+ */
+@FunctionalInterface
+public interface LongStreamableSupplier extends StreamableSupplier<Long>, LongSupplier {
+
+    /**
+     * Get the next value without boxing.
+     * @return the next long value.
+     */
+    @Override
+    long getAsLong();
+
+    /**
+     * Boxed equivalent of {@link #getAsLong()}, retained for compatibility with the {@link StreamableSupplier} API.
+     * @return the next value, boxed.
+     */
+    @Override
+    default Long get() {
+        return getAsLong();
+    }
+
+    /**
+     * Return a limited LongStream using this supplier as a source.
+     * @param numberOfValues The number of values from this supplier to stream.
+     * @return An LongStream instance derived from this supplier.
+     */
+    default LongStream longStream(long numberOfValues) {
+        return LongStream.generate(this).limit(numberOfValues);
+    }
+
+    /**
+     * Return an infinite LongStream using this supplier as a source.
+     * @return An LongStream instance derived from this supplier.
+     */
+    default LongStream longStream() {
+        return LongStream.generate(this);
+    }
+}
@@ -0,0 +1,157 @@
+package com.robertboothby.djenni.core;
+
+import com.robertboothby.djenni.core.ValueStore.Eviction;
+import com.robertboothby.djenni.distribution.RandomSource;
+import com.robertboothby.djenni.distribution.RandomSources;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Primitive specialisation of {@link ValueStore} for {@code long} values such as generated IDs. Values are held in a
+ * {@code long} array and de-duplicated with an open addressing hash set, so storing and drawing values does not box
+ * them. Like {@link ValueStore} it is safe to use from many threads, may be bounded and supplies values from its
+ * current contents.
+ */
+public class LongValueStore {
+
+    private static final int INITIAL_SLOTS = 16;
+
+    private final int capacity;
+    private final Eviction eviction;
+    private final RandomSource randomSource = RandomSources.defaultSource();
+    private final LongHashSet members = new LongHashSet(); //Guarded by lock.
+    private final Object lock = new Object();
+    private volatile AtomicLongArray slots;
+    private volatile int size;
+    private long offered; //Guarded by lock.
+
+    public LongValueStore(){
+        this(Integer.MAX_VALUE, Eviction.RESERVOIR_SAMPLING);
+    }
+
+    public LongValueStore(long ... initialValues){
+        this();
+        for (long value : initialValues) {
+            storeValue(value);
+        }
+    }
+
+    /**
+     * Create a store that holds at most the given number of values.
+     * @param capacity the maximum number of values held.
+     * @param eviction how values are chosen for eviction once the store is full.
+     */
+    public LongValueStore(int capacity, Eviction eviction){
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be at least 1 but was " + capacity);
+        }
+        this.capacity = capacity;
+        this.eviction = Objects.requireNonNull(eviction, "eviction");
+        this.slots = new AtomicLongArray(Math.min(capacity, INITIAL_SLOTS));
+    }
+
+    /**
+     * Create a supplier that decorates the naked supplier to store the values that it supplies. You need to use the
+     * newly created supplier to get the values and store them.
+     * @param valueSupplier The Supplier that will generate the values to be stored.
+     * @return a Supplier that uses the passed in supplier to generate the values that will then store them in this
+     * store.
+     */
+    public LongStreamableSupplier storesValuesFromSupplier(LongSupplier valueSupplier){
+        return () -> {
+            long value = valueSupplier.getAsLong();
+            storeValue(value);
+            return value;
+        };
+    }
+
+    private void storeValue(long value){
+        synchronized (lock) {
+            if (!members.add(value)) {
+                return;
+            }
+            offered++;
+            int heldValues = size;
+            if (heldValues < capacity) {
+                AtomicLongArray slots = this.slots;
+                if (heldValues == slots.length()) {
+                    slots = grow(slots);
+                }
+                slots.set(heldValues, value);
+                size = heldValues + 1;
+            } else {
+                long slot = eviction == Eviction.RESERVOIR_SAMPLING
+                        ? randomSource.current().nextLong(offered)
+                        : randomSource.current().nextInt(capacity);
+                if (slot < capacity) {
+                    members.remove(slots.getAndSet((int) slot, value));
+                } else {
+                    members.remove(value);
+                }
+            }
+        }
+    }
+
+    private AtomicLongArray grow(AtomicLongArray slots) {
+        int length = slots.length();
+        AtomicLongArray grown = new AtomicLongArray((int) Math.min((long) capacity, length * 2L));
+        for (int i = 0; i < length; i++) {
+            grown.set(i, slots.get(i));
+        }
+        this.slots = grown;
+        return grown;
+    }
+
+    /**
+     * Create a Supplier that will randomly draw on the values held within this store at the time each value is asked
+     * for.
+     * @return A Supplier that will draw on the values held within this store.
+     * @throws IllegalStateException from the Supplier if the store is empty when a value is asked for.
+     */
+    public LongStreamableSupplier supplierOfValues(){
+        return () -> {
+            int heldValues = size;
+            if (heldValues == 0) {
+                throw new IllegalStateException("The LongValueStore is empty.");
+            }
+            return slots.get(randomSource.current().nextInt(heldValues));
+        };
+    }
+
+    /**
+     * @return the number of values currently held.
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * @param value the value to look for.
+     * @return true if the value is currently held.
+     */
+    public boolean contains(long value){
+        synchronized (lock) {
+            return members.contains(value);
+        }
+    }
+
+    /**
+     * Initiate an empty, unbounded store of long values.
+     * @return An empty store.
+     */
+    public static LongValueStore longValueStore(){
+        return new LongValueStore();
+    }
+
+    /**
+     * Initiate an instance of LongValueStore that holds at most the given number of values.
+     * @param capacity The maximum number of values held.
+     * @param eviction How values are chosen for eviction once the store is full.
+     * @return An empty, bounded store.
+     */
+    public static LongValueStore boundedLongValueStore(int capacity, Eviction eviction){
+        return new LongValueStore(capacity, eviction);
+    }
+}
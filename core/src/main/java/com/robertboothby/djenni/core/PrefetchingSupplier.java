@@ -0,0 +1,250 @@
+package com.robertboothby.djenni.core;
+
+import java.lang.ref.Cleaner;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Supplier that generates values ahead of time on background producer threads, created using
+ * {@link PrefetchingSupplierBuilder}. The producers keep a bounded, lock free ring buffer topped up from the
+ * underlying supplier, so that when a value is ready {@link #get()} only has to take it from the buffer. This moves the
+ * cost of expensive suppliers, such as deep graphs of dynamic suppliers, off the threads that use the values.
+ * <p>
+ * When the buffer is empty the calling thread waits according to the {@link WaitStrategy}. The number of times that
+ * happens, together with the {@link #fillLevel()}, shows whether there are enough producers to keep up.
+ * <p>
+ * The values are generated on the producer threads, so state that is held per thread or bound to the calling thread,
+ * such as a seeded scope from {@link com.robertboothby.djenni.distribution.RandomSources} or a
+ * {@link GenerationContext}, is that of the producers and not of the caller. With more than one producer the order of
+ * the values is not reproducible. The underlying supplier must be thread safe when there is more than one producer or
+ * when the {@link WaitStrategy#GENERATE} strategy is used.
+ * <p>
+ * While the buffer is full the producers spin and yield briefly, then park until {@link #get()} frees a slot and wakes
+ * them. Each park is bounded at about a millisecond so that a missed wake up cannot stall a producer, which means a
+ * supplier that is ahead of its callers still wakes each producer to poll the buffer roughly once a millisecond; the
+ * cost is small but not zero.
+ * <p>
+ * Close the supplier to stop the producers; they are also stopped once the supplier is no longer reachable. A value
+ * that a producer generated but could not add to a full buffer when it was stopped is discarded unless a slot has
+ * been freed by then.
+ * @param <T> The type of the values supplied.
+ */
+public final class PrefetchingSupplier<T> implements StreamableSupplier<T>, AutoCloseable {
+
+    /**
+     * What {@link #get()} does while the buffer is empty.
+     */
+    public enum WaitStrategy {
+        /**
+         * Spin until a value is ready. This reacts fastest but keeps a processor busy while waiting.
+         */
+        BUSY_SPIN,
+        /**
+         * Spin briefly, then yield the processor to other threads between checks.
+         */
+        YIELD,
+        /**
+         * Spin briefly, yield for a while, then park for a few microseconds between checks. This uses the least
+         * processor time while waiting and is the default.
+         */
+        PARK,
+        /**
+         * Do not wait but draw a value from the underlying supplier on the calling thread.
+         */
+        GENERATE
+    }
+
+    private static final Cleaner CLEANER = Cleaner.create();
+    private static final int SPINS = 100;
+    private static final int YIELDS = 100;
+    private static final long PARK_NANOS = 10_000;
+    /**
+     * The longest a producer parks for a free slot before checking again, in case a wake up was missed.
+     */
+    private static final long MAX_PRODUCER_PARK_NANOS = 1_000_000;
+
+    private final Producers producers;
+    private final Supplier<? extends T> source;
+    private final WaitStrategy waitStrategy;
+    private final LongAdder emptyWaits = new LongAdder();
+    private final Cleaner.Cleanable cleanable;
+
+    PrefetchingSupplier(Supplier<? extends T> source, int capacity, int producerCount, Thread.Builder threads,
+                        WaitStrategy waitStrategy) {
+        this.source = source;
+        this.waitStrategy = waitStrategy;
+        //The producers must not refer to this supplier, so that it can become unreachable and be cleaned.
+        this.producers = new Producers(source, new RingBuffer(capacity), producerCount);
+        this.cleanable = CLEANER.register(this, producers);
+        producers.start(threads);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+        Object value = producers.ring.poll();
+        if (value == RingBuffer.EMPTY) {
+            return (T) awaitValue();
+        }
+        producers.slotFreed();
+        return (T) value;
+    }
+
+    private Object awaitValue() {
+        emptyWaits.increment();
+        RingBuffer ring = producers.ring;
+        for (int waits = 0; ; waits++) {
+            if (producers.stopped) {
+                Object value = ring.poll();
+                if (value != RingBuffer.EMPTY) {
+                    return value;
+                }
+                Throwable failure = producers.failure;
+                throw failure == null
+                        ? new IllegalStateException("The prefetching supplier has been closed.")
+                        : new IllegalStateException("The producers of the prefetching supplier failed.", failure);
+            }
+            if (waitStrategy == WaitStrategy.GENERATE) {
+                return source.get();
+            }
+            pause(waitStrategy, waits);
+            Object value = ring.poll();
+            if (value != RingBuffer.EMPTY) {
+                return value;
+            }
+        }
+    }
+
+    private static void pause(WaitStrategy waitStrategy, int waits) {
+        if (waitStrategy == WaitStrategy.BUSY_SPIN || waits < SPINS) {
+            Thread.onSpinWait();
+        } else if (waitStrategy == WaitStrategy.YIELD || waits < SPINS + YIELDS) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+
+    /**
+     * @return the number of values the buffer can hold.
+     */
+    public int capacity() {
+        return producers.ring.capacity();
+    }
+
+    /**
+     * @return the number of values ready in the buffer at the moment it was looked at.
+     */
+    public int fillLevel() {
+        RingBuffer ring = producers.ring;
+        long removed = ring.removed();
+        return (int) Math.max(0, Math.min(ring.capacity(), ring.added() - removed));
+    }
+
+    /**
+     * @return the number of values the producers have added to the buffer so far.
+     */
+    public long produced() {
+        return producers.ring.added();
+    }
+
+    /**
+     * @return the number of times {@link #get()} found the buffer empty and had to wait or generate a value itself.
+     */
+    public long emptyWaits() {
+        return emptyWaits.sum();
+    }
+
+    /**
+     * Stop the producers. Values already in the buffer can still be taken; once they have gone {@link #get()} throws
+     * an {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        cleanable.clean();
+    }
+
+    /**
+     * The producer threads and the state they share, which is also the action that stops them.
+     */
+    private static final class Producers implements Runnable {
+        private final Supplier<?> source;
+        private final RingBuffer ring;
+        private final Thread[] threads;
+        private volatile boolean stopped;
+        private volatile boolean waiting;
+        private volatile Throwable failure;
+
+        private Producers(Supplier<?> source, RingBuffer ring, int producerCount) {
+            this.source = source;
+            this.ring = ring;
+            this.threads = new Thread[producerCount];
+        }
+
+        private void start(Thread.Builder builder) {
+            for (int i = 0; i < threads.length; i++) {
+                threads[i] = builder.start(this::produce);
+            }
+        }
+
+        private void produce() {
+            while (!stopped) {
+                Object value;
+                try {
+                    value = source.get();
+                } catch (Throwable throwable) {
+                    failure = throwable;
+                    stopped = true;
+                    return;
+                }
+                if (!ring.offer(value)) {
+                    awaitSlot(value);
+                }
+            }
+        }
+
+        /**
+         * Add the value once a slot is free, spinning and yielding briefly before parking until a consumer frees one.
+         */
+        private void awaitSlot(Object value) {
+            for (int waits = 0; !stopped; waits++) {
+                if (waits < SPINS + YIELDS) {
+                    pause(WaitStrategy.YIELD, waits);
+                } else {
+                    //Announce the wait before checking again, so that a slot freed in between is not missed.
+                    waiting = true;
+                    if (ring.offer(value)) {
+                        return;
+                    }
+                    LockSupport.parkNanos(this, MAX_PRODUCER_PARK_NANOS);
+                }
+                if (ring.offer(value)) {
+                    return;
+                }
+            }
+            //Stopped; keep the value if a caller has just made room for it, otherwise it is discarded.
+            ring.offer(value);
+        }
+
+        /**
+         * Wake the producers if any of them are parked waiting for a free slot.
+         */
+        private void slotFreed() {
+            if (waiting) {
+                waiting = false;
+                for (Thread thread : threads) {
+                    LockSupport.unpark(thread);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            stopped = true;
+            for (Thread thread : threads) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.robertboothby.djenni.core;
+
+import com.robertboothby.djenni.ConfigurableSupplierBuilder;
+import com.robertboothby.djenni.core.PrefetchingSupplier.WaitStrategy;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Fluent builder for {@link PrefetchingSupplier}. Each call to {@link #build()} starts a new set of producer threads
+ * drawing on the underlying supplier. By default there is one platform producer thread, a buffer of
+ * {@link #DEFAULT_CAPACITY} values and callers park while the buffer is empty.
+ * @param <T> The type of the values supplied.
+ */
+public class PrefetchingSupplierBuilder<T> implements ConfigurableSupplierBuilder<T, PrefetchingSupplierBuilder<T>> {
+
+    /**
+     * The default number of values that the buffer can hold.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final Supplier<? extends T> source;
+    private int capacity = DEFAULT_CAPACITY;
+    private int producers = 1;
+    private boolean virtualThreads = false;
+    private WaitStrategy waitStrategy = WaitStrategy.PARK;
+
+    private PrefetchingSupplierBuilder(Supplier<? extends T> source) {
+        this.source = Objects.requireNonNull(source, "source");
+    }
+
+    @Override
+    public PrefetchingSupplier<T> build() {
+        Thread.Builder threads = virtualThreads
+                ? Thread.ofVirtual().name("djenni-prefetch-", 0)
+                : Thread.ofPlatform().name("djenni-prefetch-", 0).daemon();
+        return new PrefetchingSupplier<>(source, capacity, producers, threads, waitStrategy);
+    }
+
+    /**
+     * Configure the number of values that the buffer can hold, rounded up to a power of two.
+     * @param capacity the minimum number of values the buffer can hold.
+     * @return this builder for further configuration.
+     */
+    public PrefetchingSupplierBuilder<T> capacity(int capacity) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("The capacity must be between 1 and " + MAX_CAPACITY + " but was " + capacity);
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        return this;
+    }
+
+    /**
+     * Configure the number of producer threads. More than one requires the underlying supplier to be thread safe.
+     * @param producers the number of producer threads.
+     * @return this builder for further configuration.
+     */
+    public PrefetchingSupplierBuilder<T> producers(int producers) {
+        if (producers < 1) {
+            throw new IllegalArgumentException("There must be at least one producer but was " + producers);
+        }
+        this.producers = producers;
+        return this;
+    }
+
+    /**
+     * Configure the producers to run on virtual threads, for example when they mostly wait on I/O.
+     * @return this builder for further configuration.
+     */
+    public PrefetchingSupplierBuilder<T> virtualThreads() {
+        this.virtualThreads = true;
+        return this;
+    }
+
+    /**
+     * Configure the producers to run on daemon platform threads. This is the default.
+     * @return this builder for further configuration.
+     */
+    public PrefetchingSupplierBuilder<T> platformThreads() {
+        this.virtualThreads = false;
+        return this;
+    }
+
+    /**
+     * Configure what the supplier does while the buffer is empty. Defaults to {@link WaitStrategy#PARK}.
+     * @param waitStrategy the wait strategy.
+     * @return this builder for further configuration.
+     */
+    public PrefetchingSupplierBuilder<T> waitStrategy(WaitStrategy waitStrategy) {
+        this.waitStrategy = Objects.requireNonNull(waitStrategy, "waitStrategy");
+        return this;
+    }
+
+    /**
+     * Get a new instance of the builder to be configured.
+     * @param source the underlying supplier that the producers draw on.
+     * @param <T> The type of the values supplied.
+     * @return the builder for configuration.
+     */
+    public static <T> PrefetchingSupplierBuilder<T> prefetching(Supplier<? extends T> source) {
+        return new PrefetchingSupplierBuilder<>(source);
+    }
+}
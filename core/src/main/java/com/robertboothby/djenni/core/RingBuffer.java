@@ -0,0 +1,103 @@
+package com.robertboothby.djenni.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock free, multi producer and multi consumer queue held in a ring of slots, after Dmitry Vyukov's
+ * bounded MPMC queue. Each slot carries a sequence number that says whether it is ready to be written or read in the
+ * current lap of the ring, so producers and consumers each claim a position with a single compare and set on their own
+ * counter and never wait for one another except when the ring is full or empty.
+ */
+final class RingBuffer {
+
+    /**
+     * Returned by {@link #poll()} when the ring is empty, so that null values can be queued.
+     */
+    static final Object EMPTY = new Object();
+
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final AtomicReferenceArray<Object> values;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * @param capacity the number of slots, which must be a power of two.
+     */
+    RingBuffer(int capacity) {
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        this.values = new AtomicReferenceArray<>(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @param value the value to add, which may be null.
+     * @return true if the value was added, false if the ring is full.
+     */
+    boolean offer(Object value) {
+        long position = tail.get();
+        while (true) {
+            int slot = (int) position & mask;
+            long difference = sequences.getAcquire(slot) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    values.setPlain(slot, value);
+                    sequences.setRelease(slot, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * @return the oldest value, or {@link #EMPTY} if the ring is empty.
+     */
+    Object poll() {
+        long position = head.get();
+        while (true) {
+            int slot = (int) position & mask;
+            long difference = sequences.getAcquire(slot) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    Object value = values.getPlain(slot);
+                    values.setPlain(slot, null);
+                    sequences.setRelease(slot, position + mask + 1);
+                    return value;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return EMPTY;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * @return the number of values that have been claimed for adding, including any still being written.
+     */
+    long added() {
+        return tail.get();
+    }
+
+    /**
+     * @return the number of values that have been claimed for removal.
+     */
+    long removed() {
+        return head.get();
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
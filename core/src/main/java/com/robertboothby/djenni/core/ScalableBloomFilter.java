@@ -0,0 +1,102 @@
+package com.robertboothby.djenni.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Probabilistic {@link DuplicateFilter} made of a series of Bloom filters. When the newest filter has taken the number
+ * of hashes it was sized for, a new filter twice the size with half the false positive rate is added. Hashes are
+ * checked against every filter and added to the newest, so the false positive rates of the filters form a series that
+ * sums to the configured rate however many hashes are added.
+ * <p>
+ * Bits are set atomically, so threads adding different hashes do not block each other; a striped lock chosen by the
+ * hash makes sure that when several threads add the same hash at once only one of them sees it as new.
+ */
+final class ScalableBloomFilter implements DuplicateFilter {
+
+    private static final double TIGHTENING_RATIO = 0.5;
+    private static final int GROWTH_FACTOR = 2;
+    private static final int LOCK_STRIPES = 64;
+    private static final VarHandle BITS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private volatile Filter[] filters;
+
+    ScalableBloomFilter(long expectedValues, double falsePositiveRate) {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        filters = new Filter[]{new Filter(expectedValues, falsePositiveRate * (1 - TIGHTENING_RATIO))};
+    }
+
+    @Override
+    public boolean add(long hash) {
+        long secondHash = Uniqueness.mix(hash) | 1;
+        synchronized (locks[(int) (hash >>> 58)]) {
+            Filter[] filters = this.filters;
+            for (Filter filter : filters) {
+                if (filter.mightContain(hash, secondHash)) {
+                    return false;
+                }
+            }
+            Filter newest = filters[filters.length - 1];
+            newest.put(hash, secondHash);
+            if (newest.count.incrementAndGet() == newest.capacity) {
+                addFilterAfter(newest);
+            }
+            return true;
+        }
+    }
+
+    private synchronized void addFilterAfter(Filter full) {
+        Filter[] filters = this.filters;
+        if (filters[filters.length - 1] == full) {
+            Filter[] grown = Arrays.copyOf(filters, filters.length + 1);
+            grown[filters.length] = new Filter(full.capacity * GROWTH_FACTOR, full.falsePositiveRate * TIGHTENING_RATIO);
+            this.filters = grown;
+        }
+    }
+
+    /**
+     * A single Bloom filter sized for a number of hashes and a false positive rate. The bit positions of a hash are
+     * derived from two hashes by double hashing.
+     */
+    private static final class Filter {
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final long[] bits;
+        private final long bitCount;
+        private final int hashCount;
+        private final AtomicLong count = new AtomicLong();
+
+        private Filter(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            double log2 = Math.log(2);
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (log2 * log2));
+            int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) / 64));
+            this.bits = new long[words];
+            this.bitCount = words * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * log2));
+        }
+
+        private boolean mightContain(long hash, long secondHash) {
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash + i * secondHash, bitCount);
+                if (((long) BITS.getVolatile(bits, (int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void put(long hash, long secondHash) {
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash + i * secondHash, bitCount);
+                BITS.getAndBitwiseOr(bits, (int) (bit >>> 6), 1L << bit);
+            }
+        }
+    }
+}
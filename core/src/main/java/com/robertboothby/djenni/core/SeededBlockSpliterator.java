@@ -0,0 +1,168 @@
+package com.robertboothby.djenni.core;
+
+import com.robertboothby.djenni.distribution.RandomSources;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * A SIZED and SUBSIZED {@link Spliterator} over the index range of a conceptually infinite sequence of supplied values.
+ * <p>
+ * The index range is divided into fixed size blocks and every block draws its random numbers from its own generator,
+ * derived from the base seed and the block index using {@link RandomSources#streamGenerator(long, long)}. Splits are
+ * only ever made on block boundaries, so the value at any given index is the same however the fork-join framework
+ * chooses to divide up the work, and each block can be generated independently on any thread.
+ * <p>
+ * Only distributions that draw from {@link RandomSources#defaultSource()} (the default for all of the builders) pick up
+ * the per-block generator. Suppliers given an explicit source, or that hold their own state such as sequential
+ * suppliers, will still work but are not guaranteed to be deterministic across split patterns.
+ * <p>
+ * The per-block generator is installed once for each run of values generated together rather than once per value:
+ * {@link #forEachRemaining(Consumer)} generates whole blocks, and {@link #tryAdvance(Consumer)} generates up to
+ * {@link #ADVANCE_BATCH_SIZE} values ahead and hands them out one at a time.
+ * @param <T> The type of value supplied.
+ */
+class SeededBlockSpliterator<T> implements Spliterator<T> {
+
+    /**
+     * The number of consecutive values that share a generator; also the granularity of splitting.
+     */
+    static final long BLOCK_SIZE = 1024L;
+
+    /**
+     * The number of values that {@link #tryAdvance(Consumer)} generates together, never crossing a block boundary.
+     */
+    static final int ADVANCE_BATCH_SIZE = 64;
+
+    private final Supplier<T> supplier;
+    private final long seed;
+    //The index of the next value to be handed out; values already generated ahead are held in the buffer.
+    private long index;
+    private final long fence;
+    private Object[] buffer;
+    private int bufferNext;
+    private int bufferEnd;
+
+    private RandomGenerator generator;
+    private long generatorBlock = -1L;
+
+    SeededBlockSpliterator(Supplier<T> supplier, long fromIndex, long toIndex, long seed) {
+        this.supplier = supplier;
+        this.index = fromIndex;
+        this.fence = toIndex;
+        this.seed = seed;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (bufferNext == bufferEnd) {
+            if (index >= fence) {
+                return false;
+            }
+            generateAhead();
+        }
+        T value = (T) buffer[bufferNext];
+        buffer[bufferNext++] = null;
+        index++;
+        action.accept(value);
+        return true;
+    }
+
+    /**
+     * Fill the empty buffer with the values from the index onwards, up to the end of its block.
+     */
+    private void generateAhead() {
+        int count = (int) Math.min(ADVANCE_BATCH_SIZE, Math.min(fence, (index / BLOCK_SIZE + 1) * BLOCK_SIZE) - index);
+        if (buffer == null) {
+            buffer = new Object[ADVANCE_BATCH_SIZE];
+        }
+        Object[] values = buffer;
+        RandomSources.runWith(generatorFor(index), () -> {
+            for (int i = 0; i < count; i++) {
+                values[i] = supplier.get();
+            }
+        });
+        bufferNext = 0;
+        bufferEnd = count;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachRemaining(Consumer<? super T> action) {
+        while (bufferNext < bufferEnd) {
+            T value = (T) buffer[bufferNext];
+            buffer[bufferNext++] = null;
+            index++;
+            action.accept(value);
+        }
+        while (index < fence) {
+            long blockEnd = Math.min(fence, (index / BLOCK_SIZE + 1) * BLOCK_SIZE);
+            RandomSources.runWith(generatorFor(index), () -> {
+                for (long i = index; i < blockEnd; i++) {
+                    action.accept(supplier.get());
+                }
+            });
+            index = blockEnd;
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        long firstBlock = index / BLOCK_SIZE;
+        long lastBlock = (fence - 1) / BLOCK_SIZE;
+        if (index >= fence || lastBlock - firstBlock < 1) {
+            return null;
+        }
+        long mid = (firstBlock + (lastBlock - firstBlock + 1) / 2) * BLOCK_SIZE;
+        SeededBlockSpliterator<T> prefix = new SeededBlockSpliterator<>(supplier, index, mid, seed);
+        //Values generated ahead never cross a block boundary, so they and the generator belong to the prefix.
+        prefix.generator = generator;
+        prefix.generatorBlock = generatorBlock;
+        prefix.buffer = buffer;
+        prefix.bufferNext = bufferNext;
+        prefix.bufferEnd = bufferEnd;
+        generator = null;
+        generatorBlock = -1L;
+        buffer = null;
+        bufferNext = 0;
+        bufferEnd = 0;
+        index = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+    }
+
+    /**
+     * Get the generator for the block containing the given index, creating it if necessary. When starting part way
+     * through a block the values before the index are generated and discarded so that the generator is in the same
+     * state as it would be had the whole block been traversed.
+     */
+    private RandomGenerator generatorFor(long position) {
+        long block = position / BLOCK_SIZE;
+        if (block != generatorBlock) {
+            RandomGenerator blockGenerator = RandomSources.streamGenerator(seed, block);
+            long skip = position - block * BLOCK_SIZE;
+            if (skip > 0) {
+                RandomSources.runWith(blockGenerator, () -> {
+                    for (long i = 0; i < skip; i++) {
+                        supplier.get();
+                    }
+                });
+            }
+            generator = blockGenerator;
+            generatorBlock = block;
+        }
+        return generator;
+    }
+}
@@ -1,5 +1,11 @@
 package com.robertboothby.djenni.core;
 
+import com.robertboothby.djenni.distribution.RandomSources;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -28,6 +34,92 @@ public interface StreamableSupplier<T> extends Supplier<T> {
         return SupplierHelper.stream(this);
     }
 
+    /**
+     * Fill the whole of the target array with values from this supplier. Suppliers that can generate values more
+     * efficiently in bulk override this to avoid the per-value overhead of {@link #get()}.
+     * @param target The array to fill.
+     */
+    default void fill(T[] target){
+        for (int i = 0; i < target.length; i++) {
+            target[i] = get();
+        }
+    }
+
+    /**
+     * Add a number of values from this supplier to the end of the target list. Suppliers that can generate values
+     * more efficiently in bulk override this to avoid the per-value overhead of {@link #get()}.
+     * @param target The list to add the values to.
+     * @param numberOfValues The number of values to add.
+     */
+    default void fill(List<? super T> target, int numberOfValues){
+        for (int i = 0; i < numberOfValues; i++) {
+            target.add(get());
+        }
+    }
+
+    /**
+     * Get a batch of values from this supplier using {@link #fill(List, int)}.
+     * @param numberOfValues The number of values in the batch.
+     * @return A new, modifiable list containing the values.
+     */
+    default List<T> getBatch(int numberOfValues){
+        List<T> batch = new ArrayList<>(numberOfValues);
+        fill(batch, numberOfValues);
+        return batch;
+    }
+
+    /**
+     * Return a limited parallel Stream using this supplier as a source. Unlike {@link #stream(long)} the stream is
+     * SIZED and splits evenly, and each split draws on its own deterministically derived random number stream. The base
+     * seed is drawn from {@link RandomSources#defaultSource()}, so the output is reproducible whenever the default
+     * source is seeded.
+     * @param numberOfValues The number of values from this supplier to stream.
+     * @return A parallel Stream instance derived from this supplier.
+     * @see SupplierHelper#parallelStream(Supplier, long, long, long)
+     */
+    default Stream<T> parallelStream(long numberOfValues){
+        return parallelStream(numberOfValues, RandomSources.defaultSource().current().nextLong());
+    }
+
+    /**
+     * Return a limited parallel Stream using this supplier as a source, with random number streams derived from the
+     * given seed. The same seed always gives the same values in the same order, whatever the split pattern.
+     * @param numberOfValues The number of values from this supplier to stream.
+     * @param seed The base seed from which each split's random number stream is derived.
+     * @return A parallel Stream instance derived from this supplier.
+     * @see SupplierHelper#parallelStream(Supplier, long, long, long)
+     */
+    default Stream<T> parallelStream(long numberOfValues, long seed){
+        return SupplierHelper.parallelStream(this, 0, numberOfValues, seed);
+    }
+
+    /**
+     * Return a parallel Stream of the values at the indices {@code [fromIndex, toIndex)} of the sequence of values
+     * determined by the seed, in the style of {@link java.util.stream.LongStream#range(long, long)}. Any range of the
+     * sequence can be generated independently, for example on different machines, and concatenating adjacent ranges
+     * gives the same values as a single larger range.
+     * @param fromIndex The index of the first value, inclusive.
+     * @param toIndex The index of the last value, exclusive.
+     * @param seed The base seed from which each split's random number stream is derived.
+     * @return A parallel Stream instance derived from this supplier.
+     * @see SupplierHelper#parallelStream(Supplier, long, long, long)
+     */
+    default Stream<T> parallelRange(long fromIndex, long toIndex, long seed){
+        return SupplierHelper.parallelStream(this, fromIndex, toIndex, seed);
+    }
+
+    /**
+     * Return a {@link Flow.Publisher} that sends each subscriber a limited number of values from this supplier,
+     * generating them on the executor only as they are requested. Each subscriber has its own
+     * {@link GenerationContext}; see {@link SupplierPublisher} for the details and for sharing one between subscribers.
+     * @param numberOfValues The number of values sent to each subscriber.
+     * @param executor The executor that runs the generation and sends the values.
+     * @return A publisher of values from this supplier.
+     */
+    default Flow.Publisher<T> publisher(long numberOfValues, Executor executor){
+        return SupplierPublisher.publisher(this, numberOfValues, executor, SupplierPublisher.Sequence.INDEPENDENT);
+    }
+
     /**
      * Return a new Supplier derived from this supplier using the function passed in.
      * @param derivation The derivation function.
@@ -0,0 +1,30 @@
+package com.robertboothby.djenni.core;
+
+/**
+ * Exact {@link DuplicateFilter} keeping every hash in one of a number of primitive hash sets, each guarded by its own
+ * lock, so that threads adding different hashes rarely contend.
+ */
+final class StripedHashFilter implements DuplicateFilter {
+
+    private final LongHashSet[] stripes;
+    private final int stripeShift;
+
+    StripedHashFilter() {
+        //The next power of two at or above four stripes per processor.
+        int stripeCount = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1;
+        stripes = new LongHashSet[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new LongHashSet();
+        }
+        stripeShift = 64 - Integer.numberOfTrailingZeros(stripeCount);
+    }
+
+    @Override
+    public boolean add(long hash) {
+        //The top bits choose the stripe; the sets themselves index by the low bits of a different mix.
+        LongHashSet stripe = stripes[(int) (hash >>> stripeShift)];
+        synchronized (stripe) {
+            return stripe.add(hash);
+        }
+    }
+}
@@ -14,8 +14,8 @@ import java.util.function.Function;
 import java.util.function.IntFunction;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.robertboothby.djenni.core.ExplicitlyBiassedSupplierBuilder.explicitlyBiassedSupplierFor;
 import static com.robertboothby.djenni.distribution.simple.SimpleRandomIntegerDistribution.UNIFORM;
@@ -91,12 +91,36 @@ public class SupplierHelper {
      */
     @SafeVarargs
     public static <T> StreamableSupplier<T> fromValues(Distribution<Integer, Integer> distribution, T ... values) {
-        Supplier<Integer> selectionGenerator = buildAn(integerSupplier()
+        IntStreamableSupplier selectionGenerator = integerSupplier()
                 .between(0)
                 .and(values.length)
-                .withDistribution(distribution));
+                .withDistribution(distribution)
+                .buildInt();
         T[] copy = copy(values);
-        return () -> copy[selectionGenerator.get()];
+        return new StreamableSupplier<>() {
+            @Override
+            public T get() {
+                return copy[selectionGenerator.getAsInt()];
+            }
+
+            @Override
+            public void fill(T[] target) {
+                int[] positions = new int[target.length];
+                selectionGenerator.fill(positions);
+                for (int i = 0; i < positions.length; i++) {
+                    target[i] = copy[positions[i]];
+                }
+            }
+
+            @Override
+            public void fill(List<? super T> target, int numberOfValues) {
+                int[] positions = new int[numberOfValues];
+                selectionGenerator.fill(positions);
+                for (int position : positions) {
+                    target.add(copy[position]);
+                }
+            }
+        };
     }
 
     /**
@@ -108,8 +132,36 @@ public class SupplierHelper {
      * @return a Supplier derived from the array.
      */
     public static StreamableSupplier<Character> fromValues(Distribution<Integer, Integer> distribution, char ... array) {
-        Character[] characters = IntStream.range(0, array.length).mapToObj(i -> array[i]).toArray(Character[]::new);
-        return fromValues(distribution, characters);
+        IntStreamableSupplier selectionGenerator = integerSupplier()
+                .between(0)
+                .and(array.length)
+                .withDistribution(distribution)
+                .buildInt();
+        char[] copy = copy(array);
+        return new StreamableSupplier<>() {
+            @Override
+            public Character get() {
+                return copy[selectionGenerator.getAsInt()];
+            }
+
+            @Override
+            public void fill(Character[] target) {
+                int[] positions = new int[target.length];
+                selectionGenerator.fill(positions);
+                for (int i = 0; i < positions.length; i++) {
+                    target[i] = copy[positions[i]];
+                }
+            }
+
+            @Override
+            public void fill(List<? super Character> target, int numberOfValues) {
+                int[] positions = new int[numberOfValues];
+                selectionGenerator.fill(positions);
+                for (int position : positions) {
+                    target.add(copy[position]);
+                }
+            }
+        };
     }
 
     /**
@@ -203,6 +255,28 @@ public class SupplierHelper {
         return Stream.generate(supplier);
     }
 
+    /**
+     * Create a parallel, SIZED and SUBSIZED stream of values from the supplier. The stream covers the index range
+     * {@code [fromIndex, toIndex)} of the sequence of values determined by the seed, in the same way as
+     * {@link java.util.stream.LongStream#range(long, long)}: the value at a given index is always the same for a given
+     * seed, however the stream is split and whichever range it is requested as part of. Random numbers are drawn from
+     * generators derived from the seed for each block of the range and installed in place of
+     * {@link com.robertboothby.djenni.distribution.RandomSources#defaultSource()} while the block is generated, so only
+     * suppliers using the default source are deterministic.
+     * @param supplier the supplier
+     * @param fromIndex the index of the first value, inclusive.
+     * @param toIndex the index of the last value, exclusive.
+     * @param seed the base seed from which the random number streams are derived.
+     * @param <T> The type of the stream.
+     * @return a parallel stream taking values from the supplier.
+     */
+    public static <T> Stream<T> parallelStream(Supplier<T> supplier, long fromIndex, long toIndex, long seed){
+        if (fromIndex < 0 || toIndex < fromIndex) {
+            throw new IllegalArgumentException("Invalid index range [" + fromIndex + ", " + toIndex + ")");
+        }
+        return StreamSupport.stream(new SeededBlockSpliterator<>(supplier, fromIndex, toIndex, seed), true);
+    }
+
     /**
      * Create a supplier that picks between one of a range of suppliers.
      * @param suppliers The suppliers to choose from.
@@ -211,7 +285,32 @@ public class SupplierHelper {
      */
     @SafeVarargs
     public static <T> StreamableSupplier<T> fromRandomSuppliers(Supplier<T> ... suppliers){
-        return fromRandomSuppliers(integerSupplier($ -> $.between(0).and(suppliers.length)), suppliers);
+        IntStreamableSupplier positionSupplier = integerSupplier().between(0).and(suppliers.length).buildInt();
+        Supplier<T>[] suppliersCopy = copy(suppliers);
+        return new StreamableSupplier<>() {
+            @Override
+            public T get() {
+                return suppliersCopy[positionSupplier.getAsInt()].get();
+            }
+
+            @Override
+            public void fill(T[] target) {
+                int[] positions = new int[target.length];
+                positionSupplier.fill(positions);
+                for (int i = 0; i < positions.length; i++) {
+                    target[i] = suppliersCopy[positions[i]].get();
+                }
+            }
+
+            @Override
+            public void fill(List<? super T> target, int numberOfValues) {
+                int[] positions = new int[numberOfValues];
+                positionSupplier.fill(positions);
+                for (int position : positions) {
+                    target.add(suppliersCopy[position].get());
+                }
+            }
+        };
     }
 
     /**
@@ -271,6 +370,28 @@ public class SupplierHelper {
         }
     }
 
+    /**
+     * Make a supplier that never supplies the same value twice, keeping the 64 bit hash of every value supplied. See
+     * {@link Uniqueness#exact()}.
+     * @param supplier The underlying supplier.
+     * @param <T> The type of value being supplied.
+     * @return A supplier of unique values drawn from the underlying supplier.
+     */
+    public static <T> UniqueSupplier<T> unique(Supplier<T> supplier){
+        return unique(supplier, Uniqueness.exact());
+    }
+
+    /**
+     * Make a supplier that never supplies the same value twice, suppressing duplicates as configured.
+     * @param supplier The underlying supplier.
+     * @param uniqueness How duplicates are recognised and how many attempts to make to find a new value.
+     * @param <T> The type of value being supplied.
+     * @return A supplier of unique values drawn from the underlying supplier.
+     */
+    public static <T> UniqueSupplier<T> unique(Supplier<T> supplier, Uniqueness uniqueness){
+        return new UniqueSupplier<>(supplier, uniqueness);
+    }
+
     /**
      * Get an instance of a Supplier that uses an instance of an underlying supplier per thread. This is used to make
      * a non-thread safe supplier thread safe.
@@ -315,7 +436,29 @@ public class SupplierHelper {
      * @param <T> The type of the arrays that will be generated.
      */
     public static <T> StreamableSupplier<T[]> arrays(StreamableSupplier<T> underlyingSupplier, Supplier<Integer> arrayLengths, IntFunction<T[]> arrayGenerator){
-        return () -> underlyingSupplier.stream(arrayLengths.get()).toArray(arrayGenerator);
+        return () -> {
+            T[] array = arrayGenerator.apply(arrayLengths.get());
+            underlyingSupplier.fill(array);
+            return array;
+        };
+    }
+
+    /**
+     * Add a number of values from a supplier to the end of a list, using the bulk {@link StreamableSupplier#fill(List, int)}
+     * when the supplier is a {@link StreamableSupplier}.
+     * @param supplier The supplier of the values.
+     * @param target The list to add the values to.
+     * @param numberOfValues The number of values to add.
+     * @param <T> The type of the values.
+     */
+    public static <T> void fill(Supplier<? extends T> supplier, List<? super T> target, int numberOfValues){
+        if (supplier instanceof StreamableSupplier<? extends T> streamableSupplier) {
+            streamableSupplier.fill(target, numberOfValues);
+        } else {
+            for (int i = 0; i < numberOfValues; i++) {
+                target.add(supplier.get());
+            }
+        }
     }
 
     /**
@@ -327,9 +470,7 @@ public class SupplierHelper {
                 .stream()
                 .map(ZoneId::of)
                 .collect(Collectors.toList());
-        StreamableSupplier<Integer> positionSupplier = integerSupplier(
-                builder -> builder.between(0).and(available.size())
-        );
-        return () -> available.get(positionSupplier.get());
+        IntStreamableSupplier positionSupplier = integerSupplier().between(0).and(available.size()).buildInt();
+        return () -> available.get(positionSupplier.getAsInt());
     }
 }
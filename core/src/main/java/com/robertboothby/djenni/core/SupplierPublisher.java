@@ -0,0 +1,247 @@
+package com.robertboothby.djenni.core;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Flow.Publisher} of a fixed number of values drawn from a supplier, created using
+ * {@link StreamableSupplier#publisher(long, Executor)} or {@link #publisher(Supplier, long, Executor, Sequence)}.
+ * Every subscriber is sent the given number of values and then completed, unless it cancels first.
+ * <p>
+ * Values are only generated when a subscriber has requested them, in batches of the outstanding demand up to
+ * {@link #MAX_BATCH_SIZE}, so no more values are ever held than have been requested. The batches are generated and
+ * sent by a task run on the executor; a subscription with demand left after {@link #MAX_BATCHES_PER_TASK} batches
+ * submits a new task rather than keeping the thread, so many subscriptions can share a small executor. An executor
+ * that runs tasks on the calling thread, such as {@code Runnable::run}, is detected and the same task carries on
+ * instead, so the stack does not grow with the number of batches. The signals to each subscriber are never concurrent.
+ * <p>
+ * Because successive batches of a subscription may run on different threads of the executor, each batch is generated
+ * within a {@link GenerationContext} rather than relying on per thread state. The {@link Sequence} decides whether the
+ * subscribers each have their own context or share one.
+ * @param <T> The type of the values published.
+ */
+public final class SupplierPublisher<T> implements Flow.Publisher<T> {
+
+    /**
+     * The largest number of values generated together, so that a subscriber requesting an unbounded number of values
+     * still receives them in batches that can be cancelled.
+     */
+    public static final int MAX_BATCH_SIZE = 1024;
+
+    /**
+     * The largest number of batches a task sends before giving up the thread to other work on the executor.
+     */
+    public static final int MAX_BATCHES_PER_TASK = 16;
+
+    /**
+     * Whether the subscribers to a publisher share the state that the supplier keeps per unit of work.
+     */
+    public enum Sequence {
+        /**
+         * Each subscriber has its own {@link GenerationContext}, so for example each sees a sequential supplier start
+         * from the beginning.
+         */
+        INDEPENDENT,
+        /**
+         * All the subscribers share one {@link GenerationContext}, so for example they draw on a single sequence.
+         */
+        SHARED
+    }
+
+    private final StreamableSupplier<? extends T> supplier;
+    private final long numberOfValues;
+    private final Executor executor;
+    private final GenerationContext sharedContext;
+
+    private SupplierPublisher(Supplier<? extends T> supplier, long numberOfValues, Executor executor, Sequence sequence) {
+        if (numberOfValues < 0) {
+            throw new IllegalArgumentException("The number of values cannot be negative but was " + numberOfValues);
+        }
+        this.supplier = SupplierHelper.asStreamable(Objects.requireNonNull(supplier, "supplier"));
+        this.numberOfValues = numberOfValues;
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.sharedContext = Objects.requireNonNull(sequence, "sequence") == Sequence.SHARED
+                ? GenerationContext.generationContext()
+                : null;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        GenerationContext context = sharedContext == null ? GenerationContext.generationContext() : sharedContext;
+        new Subscription(subscriber, context).schedule();
+    }
+
+    /**
+     * Create a publisher of values drawn from a supplier.
+     * @param supplier The supplier of the values, which must be thread safe if there may be several subscribers.
+     * @param numberOfValues The number of values sent to each subscriber.
+     * @param executor The executor that runs the generation and sends the values.
+     * @param sequence Whether the subscribers share the state that the supplier keeps per unit of work.
+     * @param <T> The type of the values published.
+     * @return The publisher.
+     */
+    public static <T> SupplierPublisher<T> publisher(Supplier<? extends T> supplier, long numberOfValues,
+                                                     Executor executor, Sequence sequence) {
+        return new SupplierPublisher<>(supplier, numberOfValues, executor, sequence);
+    }
+
+    /**
+     * The state of one subscriber. The demand, the work in progress count and the draining thread are the only state
+     * touched by other threads; the rest is only touched by the single task that holds the work in progress.
+     */
+    private final class Subscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final GenerationContext context;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger workInProgress = new AtomicInteger();
+        private final AtomicReference<Thread> drainer = new AtomicReference<>();
+        private volatile Thread reentered;
+        private volatile boolean cancelled;
+        private volatile IllegalArgumentException invalidRequest;
+        private boolean subscribed;
+        private long remaining = numberOfValues;
+
+        private Subscription(Flow.Subscriber<? super T> subscriber, GenerationContext context) {
+            this.subscriber = subscriber;
+            this.context = context;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException(
+                        "The number of values requested must be positive but was " + n);
+            } else {
+                demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void schedule() {
+            if (workInProgress.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    if (!subscribed) {
+                        subscribed = true;
+                        subscriber.onSubscribe(this);
+                    }
+                    fail(e);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            Thread current = Thread.currentThread();
+            if (drainer.get() == current) {
+                //The executor ran the task on the thread handing it off, so let the task already running carry on.
+                reentered = current;
+                return;
+            }
+            drainer.set(current);
+            try {
+                drain();
+            } finally {
+                drainer.compareAndSet(current, null);
+            }
+        }
+
+        private void drain() {
+            if (!subscribed) {
+                subscribed = true;
+                subscriber.onSubscribe(this);
+            }
+            int missed = 1;
+            int batches = 0;
+            while (!cancelled) {
+                if (invalidRequest != null) {
+                    fail(invalidRequest);
+                    return;
+                }
+                if (remaining == 0) {
+                    complete();
+                    return;
+                }
+                long requested = demand.get();
+                if (requested > 0) {
+                    int batchSize = (int) Math.min(Math.min(requested, remaining), MAX_BATCH_SIZE);
+                    List<? extends T> batch;
+                    try {
+                        batch = context.call(() -> supplier.getBatch(batchSize));
+                    } catch (Throwable throwable) {
+                        fail(throwable);
+                        return;
+                    }
+                    for (T value : batch) {
+                        if (cancelled) {
+                            return;
+                        }
+                        subscriber.onNext(value);
+                    }
+                    remaining -= batchSize;
+                    if (requested != Long.MAX_VALUE) {
+                        demand.addAndGet(-batchSize);
+                    }
+                    if (remaining == 0) {
+                        complete();
+                        return;
+                    }
+                    if (demand.get() > 0) {
+                        if (++batches < MAX_BATCHES_PER_TASK) {
+                            continue;
+                        }
+                        batches = 0;
+                        if (handedOff()) {
+                            return;
+                        }
+                        continue;
+                    }
+                }
+                missed = workInProgress.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Give up the thread by submitting a new task, to which the work in progress is carried over.
+         * @return false if the executor ran the new task on this thread, in which case this task must carry on.
+         */
+        private boolean handedOff() {
+            Thread current = Thread.currentThread();
+            reentered = null;
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                fail(e);
+                return true;
+            }
+            return reentered != current;
+        }
+
+        private void complete() {
+            cancelled = true;
+            subscriber.onComplete();
+        }
+
+        private void fail(Throwable throwable) {
+            cancelled = true;
+            subscriber.onError(throwable);
+        }
+    }
+}
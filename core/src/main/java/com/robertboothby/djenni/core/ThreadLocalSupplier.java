@@ -6,12 +6,17 @@ import java.util.function.Supplier;
  * Adapter that provides a separate delegate supplier per thread. The first time a thread calls {@link #get()} a new
  * inner supplier is obtained from the provided factory and cached in a {@link ThreadLocal}. This allows non-thread-safe
  * suppliers to be used safely in multi-threaded scenarios without additional synchronization.
+ * <p>
+ * When the calling thread is running work in a {@link GenerationContext} the delegate is created once per context and
+ * kept in the context instead, so that work spread over many short lived virtual threads shares one delegate rather
+ * than creating one per thread.
  *
  * @param <T> value type supplied
  */
 public class ThreadLocalSupplier<T> implements StreamableSupplier<T> {
 
     private final ThreadLocal<Supplier<T>> threadLocal;
+    private final Supplier<Supplier<T>> supplierSupplier;
 
     /**
      * Construct a thread-localizing supplier.
@@ -19,18 +24,21 @@ public class ThreadLocalSupplier<T> implements StreamableSupplier<T> {
      */
     public ThreadLocalSupplier(Supplier<Supplier<T>> supplierSupplier) {
         this.threadLocal = ThreadLocal.withInitial(supplierSupplier);
+        this.supplierSupplier = supplierSupplier;
     }
 
     @Override
     public T get() {
-        return threadLocal.get().get();
+        return getSupplier().get();
     }
 
     /**
-     * Expose the lazily-created supplier bound to the current thread. This is mainly useful for testing or when the
-     * caller needs to invoke methods specific to the underlying supplier implementation.
+     * Expose the lazily-created supplier bound to the current thread, or to the current {@link GenerationContext} if
+     * there is one. This is mainly useful for testing or when the caller needs to invoke methods specific to the
+     * underlying supplier implementation.
      */
     public Supplier<T> getSupplier() {
-        return threadLocal.get();
+        GenerationContext context = GenerationContext.current();
+        return context == null ? threadLocal.get() : context.state(this, supplierSupplier);
     }
 }
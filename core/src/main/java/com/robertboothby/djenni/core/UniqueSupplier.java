@@ -0,0 +1,84 @@
+package com.robertboothby.djenni.core;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Supplier that never supplies the same value twice, created using
+ * {@link SupplierHelper#unique(Supplier, Uniqueness)}. Each value is drawn from the underlying supplier and checked
+ * against the hashes of the values already supplied; values that have been supplied before are rejected and another
+ * is drawn. If too many draws in a row are rejected the value space of the underlying supplier is taken to be
+ * exhausted and a {@link NoSuchElementException} is thrown rather than looping forever.
+ * <p>
+ * The supplier is thread safe as long as the underlying supplier is. It keeps counts of the values supplied and
+ * rejected, which show how close the underlying supplier is to running out of new values.
+ * @param <T> The type of the values supplied.
+ */
+public final class UniqueSupplier<T> implements StreamableSupplier<T> {
+
+    private final Supplier<T> source;
+    private final DuplicateFilter filter;
+    private final ToLongFunction<Object> hashFunction;
+    private final int maxAttempts;
+    private final LongAdder supplied = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAccumulator mostAttempts = new LongAccumulator(Long::max, 0);
+
+    UniqueSupplier(Supplier<T> source, Uniqueness uniqueness) {
+        this.source = source;
+        this.filter = uniqueness.newFilter();
+        this.hashFunction = uniqueness.hashFunction();
+        this.maxAttempts = uniqueness.maxAttempts();
+    }
+
+    @Override
+    public T get() {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            T value = source.get();
+            if (filter.add(hashFunction.applyAsLong(value))) {
+                supplied.increment();
+                if (attempt > 1) {
+                    mostAttempts.accumulate(attempt);
+                }
+                return value;
+            }
+            rejected.increment();
+        }
+        throw new NoSuchElementException("No new value was found in " + maxAttempts + " attempts after supplying " +
+                supplied.sum() + " unique values; the values of the underlying supplier appear to be exhausted.");
+    }
+
+    /**
+     * @return the number of unique values supplied so far.
+     */
+    public long supplied() {
+        return supplied.sum();
+    }
+
+    /**
+     * @return the number of values drawn from the underlying supplier and rejected because they had been supplied
+     * before, or, for a Bloom filter, might have been.
+     */
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return the proportion of the values drawn from the underlying supplier that have been rejected.
+     */
+    public double rejectionRate() {
+        long rejected = this.rejected.sum();
+        long drawn = rejected + supplied.sum();
+        return drawn == 0 ? 0 : (double) rejected / drawn;
+    }
+
+    /**
+     * @return the largest number of draws that it has taken to find a new value, or 1 if no value has been rejected.
+     */
+    public long mostAttempts() {
+        return Math.max(1, mostAttempts.get());
+    }
+}
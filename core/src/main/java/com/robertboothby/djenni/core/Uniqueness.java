@@ -0,0 +1,149 @@
+package com.robertboothby.djenni.core;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.ToLongFunction;
+
+/**
+ * The configuration of the duplicate suppression done by {@link SupplierHelper#unique(java.util.function.Supplier,
+ * Uniqueness)}. Instances are immutable, so a configuration can be shared; each supplier made unique with it gets its
+ * own record of the values it has already supplied.
+ * <p>
+ * Values are recorded as 64 bit hashes rather than kept on the heap:
+ * <ul>
+ *     <li>{@link #exact()} keeps every hash in a striped set of primitive hash tables, 18 to 36 bytes per value. Two
+ *     distinct values are only mistaken for each other if their 64 bit hashes collide, which for a billion values has
+ *     a probability of about 3 in 100.</li>
+ *     <li>{@link #bloomFilter(long, double)} keeps the hashes in a scalable Bloom filter, about 1.2 bytes per value at
+ *     a 1% false positive rate plus the slack in the filters added as it grows. A false positive rejects a value that
+ *     has not been supplied, so some of the value space is never used, but no value is ever supplied twice.</li>
+ * </ul>
+ * A value is drawn again whenever it turns out to have been supplied before. If {@link #maxAttempts(int)} draws in a
+ * row are all rejected the value space is taken to be exhausted and the supplier fails rather than looping forever.
+ */
+public final class Uniqueness {
+
+    /**
+     * The default number of draws in a row that may be rejected before the value space is taken to be exhausted.
+     */
+    public static final int DEFAULT_MAX_ATTEMPTS = 100;
+
+    private final long expectedValues;
+    private final double falsePositiveRate;
+    private final int maxAttempts;
+    private final ToLongFunction<Object> hashFunction;
+
+    private Uniqueness(long expectedValues, double falsePositiveRate, int maxAttempts,
+                       ToLongFunction<Object> hashFunction) {
+        this.expectedValues = expectedValues;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxAttempts = maxAttempts;
+        this.hashFunction = hashFunction;
+    }
+
+    /**
+     * Suppress duplicates by keeping the 64 bit hash of every value supplied.
+     * @return the configuration.
+     */
+    public static Uniqueness exact() {
+        return new Uniqueness(0, 0, DEFAULT_MAX_ATTEMPTS, Uniqueness::hash64);
+    }
+
+    /**
+     * Suppress duplicates with a scalable Bloom filter. The filter starts sized for the expected number of values and
+     * adds larger filters with tighter false positive rates as it fills, so that the overall false positive rate stays
+     * within the one given however many values are supplied.
+     * @param expectedValues the number of values the first filter is sized for.
+     * @param falsePositiveRate the overall rate at which values that have not been supplied are rejected.
+     * @return the configuration.
+     */
+    public static Uniqueness bloomFilter(long expectedValues, double falsePositiveRate) {
+        if (expectedValues < 1) {
+            throw new IllegalArgumentException("The expected number of values must be at least 1 but was " + expectedValues);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("The false positive rate must be between 0 and 1 but was " + falsePositiveRate);
+        }
+        return new Uniqueness(expectedValues, falsePositiveRate, DEFAULT_MAX_ATTEMPTS, Uniqueness::hash64);
+    }
+
+    /**
+     * @param maxAttempts the number of draws in a row that may be rejected before the value space is taken to be
+     *                    exhausted.
+     * @return a copy of this configuration with the maximum number of attempts.
+     */
+    public Uniqueness maxAttempts(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("The maximum number of attempts must be at least 1 but was " + maxAttempts);
+        }
+        return new Uniqueness(expectedValues, falsePositiveRate, maxAttempts, hashFunction);
+    }
+
+    /**
+     * Use a different 64 bit hash of the values, for example one over the fields of a domain object that make it
+     * unique. The default is {@link #hash64(Object)}.
+     * @param hashFunction the hash function.
+     * @return a copy of this configuration with the hash function.
+     */
+    public Uniqueness hashedBy(ToLongFunction<Object> hashFunction) {
+        return new Uniqueness(expectedValues, falsePositiveRate, maxAttempts,
+                Objects.requireNonNull(hashFunction, "hashFunction"));
+    }
+
+    int maxAttempts() {
+        return maxAttempts;
+    }
+
+    ToLongFunction<Object> hashFunction() {
+        return hashFunction;
+    }
+
+    /**
+     * @return a new, empty record of the hashes seen.
+     */
+    DuplicateFilter newFilter() {
+        return expectedValues == 0
+                ? new StripedHashFilter()
+                : new ScalableBloomFilter(expectedValues, falsePositiveRate);
+    }
+
+    /**
+     * The default 64 bit hash of a value. Character sequences are hashed over their characters, integral numbers by
+     * their value and UUIDs by their bits, so that distinct values of these types only collide with a probability of
+     * about 2<sup>-64</sup>. Other values are hashed over their string form combined with their hash code; pass a
+     * custom hash function to {@link #hashedBy(ToLongFunction)} where that does not distinguish the values.
+     * @param value the value, which may be null.
+     * @return the 64 bit hash of the value.
+     */
+    public static long hash64(Object value) {
+        if (value == null) {
+            return 0x6A09E667F3BCC909L;
+        } else if (value instanceof CharSequence charSequence) {
+            return hashCharacters(charSequence);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return mix(((Number) value).longValue());
+        } else if (value instanceof UUID uuid) {
+            return mix(uuid.getMostSignificantBits() ^ mix(uuid.getLeastSignificantBits()));
+        } else {
+            return hashCharacters(String.valueOf(value)) ^ mix(value.hashCode());
+        }
+    }
+
+    private static long hashCharacters(CharSequence characters) {
+        long hash = 0xCBF29CE484222325L ^ characters.length();
+        for (int i = 0; i < characters.length(); i++) {
+            hash = (hash ^ characters.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * The SplitMix64 finalizer, spreading every bit of the input across the output.
+     */
+    static long mix(long value) {
+        long z = value * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,9 +1,13 @@
 package com.robertboothby.djenni.core;
 
+import com.robertboothby.djenni.distribution.RandomSource;
+import com.robertboothby.djenni.distribution.RandomSources;
+
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Supplier;
 
 import static com.robertboothby.djenni.core.SupplierHelper.afterGetCalled;
@@ -11,27 +15,84 @@ import static com.robertboothby.djenni.core.SupplierHelper.afterGetCalled;
 /**
  * Little utility to make it easier to capture and reuse the results of previous rounds of generation. This is intended
  * to supplement the LinkableSupplier capability while creating more complex domain models.
+ * <p>
+ * A store holds distinct, non-null values and is safe to use from many threads at once. Values are kept in an array so
+ * that {@link #supplierOfValues()} can draw from the current contents in constant time without copying them. Stores
+ * are unbounded by default; a bounded store created with {@link #boundedValueStore(int, Eviction)} keeps at most its
+ * capacity of values, choosing which to keep according to its {@link Eviction} policy, so that it can sit between
+ * datasets with tens of millions of rows without holding them all.
+ * <p>
+ * Adding values takes a short lock; drawing values does not lock at all. Random choices, both of which value to evict
+ * and of which value to supply, are made using {@link RandomSources#defaultSource()}.
  * @param <T> The type of the values to be stored.
  */
 public class ValueStore<T> {
 
-    private final Set<T> values = new HashSet<>();
+    private static final int INITIAL_SLOTS = 16;
+
+    /**
+     * How a bounded store chooses which values to keep once it is full.
+     */
+    public enum Eviction {
+        /**
+         * Keep a uniform random sample of all the offers made to the store (Algorithm R): the n-th value offered
+         * replaces a random held value with probability capacity / n, otherwise it is discarded. Only the values held
+         * are remembered, so a value that was evicted or discarded and is offered again counts as a new offer; a value
+         * offered often is more likely to be held than one offered once.
+         */
+        RESERVOIR_SAMPLING,
+        /**
+         * Always keep the newest value, replacing a held value chosen at random. The contents are biased towards the
+         * values stored most recently.
+         */
+        RANDOM_EVICTION
+    }
 
-    public ValueStore(){}
+    private final int capacity;
+    private final Eviction eviction;
+    private final RandomSource randomSource = RandomSources.defaultSource();
+    private final Set<T> members = ConcurrentHashMap.newKeySet();
+    private final Object lock = new Object();
+    private volatile AtomicReferenceArray<T> slots;
+    private volatile int size;
+    private long offered; //Guarded by lock.
+
+    public ValueStore(){
+        this(Integer.MAX_VALUE, Eviction.RESERVOIR_SAMPLING);
+    }
 
     public ValueStore(Collection<? extends T> initialValues){
-        values.addAll(initialValues);
+        this();
+        initialValues.forEach(this::storeValue);
     }
 
     @SafeVarargs
     public ValueStore(T ... initialValues){
-        Collections.addAll(values, initialValues);
+        this();
+        //Stored one at a time rather than passed on as a list, so the array does not escape this constructor.
+        for (T initialValue : initialValues) {
+            storeValue(initialValue);
+        }
+    }
+
+    /**
+     * Create a store that holds at most the given number of values.
+     * @param capacity the maximum number of values held.
+     * @param eviction how values are chosen for eviction once the store is full.
+     */
+    public ValueStore(int capacity, Eviction eviction){
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be at least 1 but was " + capacity);
+        }
+        this.capacity = capacity;
+        this.eviction = Objects.requireNonNull(eviction, "eviction");
+        this.slots = new AtomicReferenceArray<>(Math.min(capacity, INITIAL_SLOTS));
     }
 
     /**
      * Create a supplier that decorates the naked supplier to store the values that it supplies. You need to use the
      * newly created supplier to get the values and store them. The naked supplier if used on its own will just create
-     * the values and not store them.
+     * the values and not store them. Null values are passed on but not stored.
      * @param valueSupplier The Supplier that will generate the values to be stored.
      * @return a Supplier that uses the passed in supplier to generate the values that will then store them in this
      * ValueStore.
@@ -41,17 +102,79 @@ public class ValueStore<T> {
     }
 
     private void storeValue(T value){
-        values.add(value);
+        if (value == null || members.contains(value)) {
+            return;
+        }
+        synchronized (lock) {
+            if (!members.add(value)) {
+                return;
+            }
+            offered++;
+            int heldValues = size;
+            if (heldValues < capacity) {
+                AtomicReferenceArray<T> slots = this.slots;
+                if (heldValues == slots.length()) {
+                    slots = grow(slots);
+                }
+                slots.set(heldValues, value);
+                size = heldValues + 1;
+            } else {
+                long slot = eviction == Eviction.RESERVOIR_SAMPLING
+                        ? randomSource.current().nextLong(offered)
+                        : randomSource.current().nextInt(capacity);
+                if (slot < capacity) {
+                    members.remove(slots.getAndSet((int) slot, value));
+                } else {
+                    members.remove(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Publish a larger copy of the slots before the size grows past the end of the current ones, so that a reader
+     * that sees the new size also sees the new slots.
+     */
+    private AtomicReferenceArray<T> grow(AtomicReferenceArray<T> slots) {
+        int length = slots.length();
+        AtomicReferenceArray<T> grown = new AtomicReferenceArray<>((int) Math.min((long) capacity, length * 2L));
+        for (int i = 0; i < length; i++) {
+            grown.set(i, slots.get(i));
+        }
+        this.slots = grown;
+        return grown;
     }
 
     /**
-     * Create a Supplier that will randomly draw on the values held within this store. The Supplier created will
-     * only draw on the values held at the time that this method is called. If new values are added then a new
-     * Supplier will need to be created to add them.
+     * Create a Supplier that will randomly draw on the values held within this store. The Supplier is live: each value
+     * is drawn from whatever the store holds at the time, so values stored after the Supplier was created will be
+     * supplied too.
      * @return A Supplier that will draw on the values held within this store.
+     * @throws IllegalStateException from the Supplier if the store is empty when a value is asked for.
      */
     public StreamableSupplier<T> supplierOfValues(){
-        return SupplierHelper.fromCollection(values);
+        return () -> {
+            int heldValues = size;
+            if (heldValues == 0) {
+                throw new IllegalStateException("The ValueStore is empty.");
+            }
+            return slots.get(randomSource.current().nextInt(heldValues));
+        };
+    }
+
+    /**
+     * @return the number of values currently held.
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * @param value the value to look for.
+     * @return true if the value is currently held.
+     */
+    public boolean contains(Object value){
+        return value != null && members.contains(value);
     }
 
     /**
@@ -84,6 +207,32 @@ public class ValueStore<T> {
      */
     @SafeVarargs
     public static <T> ValueStore<T> valueStore(T ... initialValues){
-        return new ValueStore<>(initialValues);
+        ValueStore<T> valueStore = new ValueStore<>();
+        for (T initialValue : initialValues) {
+            valueStore.storeValue(initialValue);
+        }
+        return valueStore;
+    }
+
+    /**
+     * Initiate an instance of ValueStore that keeps a uniform random sample of at most the given number of the values
+     * stored in it.
+     * @param capacity The maximum number of values held.
+     * @param <T> The type of the values to be stored.
+     * @return An empty, bounded value store.
+     */
+    public static <T> ValueStore<T> boundedValueStore(int capacity){
+        return new ValueStore<>(capacity, Eviction.RESERVOIR_SAMPLING);
+    }
+
+    /**
+     * Initiate an instance of ValueStore that holds at most the given number of values.
+     * @param capacity The maximum number of values held.
+     * @param eviction How values are chosen for eviction once the store is full.
+     * @param <T> The type of the values to be stored.
+     * @return An empty, bounded value store.
+     */
+    public static <T> ValueStore<T> boundedValueStore(int capacity, Eviction eviction){
+        return new ValueStore<>(capacity, eviction);
     }
 }
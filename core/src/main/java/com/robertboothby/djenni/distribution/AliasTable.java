@@ -0,0 +1,113 @@
+package com.robertboothby.djenni.distribution;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * A precomputed table for drawing indices from a fixed, discrete set of weights in constant time using Vose's alias
+ * method. Building the table is {@code O(n)}; each draw then needs one uniform random number, one or two array reads
+ * and no allocation, however many weights there are.
+ * <p>
+ * Each of the {@code n} columns of the table holds a probability and an alias. A uniform value {@code u} in
+ * {@code [0, n)} selects the column {@code floor(u)} and the fractional part of {@code u} is compared with the column's
+ * probability to choose between the column's own index and its alias.
+ * <p>
+ * Instances are immutable and thread safe.
+ */
+public final class AliasTable {
+
+    private final double[] probabilities;
+    private final int[] aliases;
+
+    private AliasTable(double[] probabilities, int[] aliases) {
+        this.probabilities = probabilities;
+        this.aliases = aliases;
+    }
+
+    /**
+     * Build a table for the passed in weights. The weights need not sum to one; only their relative sizes matter.
+     * @param weights the weights, all of which must be finite and non-negative with at least one positive weight.
+     * @return the table.
+     * @throws IllegalArgumentException if the weights are empty, negative, not finite or all zero.
+     */
+    public static AliasTable of(double[] weights) {
+        int n = weights.length;
+        double total = 0.0D;
+        for (double weight : weights) {
+            if (!(weight >= 0.0D) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weights must be finite and non-negative: " + weight);
+            }
+            total += weight;
+        }
+        if (!(total > 0.0D)) {
+            throw new IllegalArgumentException("There must be at least one positive weight.");
+        }
+
+        double[] probabilities = new double[n];
+        int[] aliases = new int[n];
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1.0D) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0D;
+            if (scaled[more] < 1.0D) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        //Anything left over is, up to rounding error, exactly full.
+        while (largeCount > 0) {
+            int index = large[--largeCount];
+            probabilities[index] = 1.0D;
+            aliases[index] = index;
+        }
+        while (smallCount > 0) {
+            int index = small[--smallCount];
+            probabilities[index] = 1.0D;
+            aliases[index] = index;
+        }
+        return new AliasTable(probabilities, aliases);
+    }
+
+    /**
+     * Get the number of columns in the table, which is also the exclusive upper bound on the indices drawn.
+     * @return the number of weights the table was built from.
+     */
+    public int size() {
+        return probabilities.length;
+    }
+
+    /**
+     * Draw an index using a uniformly distributed value in {@code [0, size())}, for example from
+     * {@code distribution.generate(table.size())}.
+     * @param uniform a uniformly distributed value in {@code [0, size())}.
+     * @return an index in {@code [0, size())} drawn according to the weights.
+     */
+    public int sample(double uniform) {
+        int column = Math.min((int) uniform, probabilities.length - 1);
+        return uniform - column < probabilities[column] ? column : aliases[column];
+    }
+
+    /**
+     * Draw an index using the passed in generator.
+     * @param random the generator to draw on.
+     * @return an index in {@code [0, size())} drawn according to the weights.
+     */
+    public int sample(RandomGenerator random) {
+        return sample(random.nextDouble() * probabilities.length);
+    }
+}
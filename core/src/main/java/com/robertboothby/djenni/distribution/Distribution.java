@@ -17,4 +17,18 @@ public interface Distribution<T  extends Number, U extends Number> {
      * @return the next generated value
      */
     T generate(U bound);
+
+    /**
+     * Get an equivalent distribution that draws its randomness from the given source. Distributions that draw on a
+     * {@link RandomSource} must override this method; a distribution that does not use randomness at all may return
+     * itself. The default throws rather than returning this distribution unchanged, so that asking for a seeded source
+     * never silently produces values that cannot be reproduced.
+     * @param randomSource the source of randomness to use.
+     * @return a distribution with the same shape drawing on the given source.
+     * @throws UnsupportedOperationException if the distribution does not support being given a source.
+     */
+    default Distribution<T, U> withRandomSource(RandomSource randomSource) {
+        throw new UnsupportedOperationException(getClass().getName()
+                + " does not support withRandomSource, so it cannot be given a source of randomness.");
+    }
 }
@@ -0,0 +1,38 @@
+package com.robertboothby.djenni.distribution;
+
+/**
+ * Primitive specialisation of {@link Distribution} for {@code double} bounds and values. Builders that detect an
+ * {@code DoubleDistribution} call {@link #generate(double)} directly, so neither the bound nor the result is boxed on each
+ * selection. The boxed {@link #generate(Double)} delegates to the primitive method so implementations remain usable
+ * wherever a {@code Distribution<Double, Double>} is expected.
+ */
+public interface DoubleDistribution extends Distribution<Double, Double> {
+
+    /**
+     * Produce the next value constrained to {@code [0, bound)}.
+     * @param bound exclusive upper bound on the value to produce, must be positive.
+     * @return the next generated value.
+     * @throws IllegalArgumentException if the bound is zero or negative.
+     */
+    double generate(double bound);
+
+    /**
+     * Boxed equivalent of {@link #generate(double)}.
+     * @param bound exclusive upper bound on the value to produce, must be positive and not {@code null}.
+     * @return the next generated value.
+     * @throws IllegalArgumentException if the bound is {@code null}, zero or negative.
+     */
+    @Override
+    default Double generate(Double bound) {
+        if (bound == null) {
+            throw new IllegalArgumentException("Bound must be positive");
+        }
+        return generate(bound.doubleValue());
+    }
+
+    @Override
+    default DoubleDistribution withRandomSource(RandomSource randomSource) {
+        throw new UnsupportedOperationException(getClass().getName()
+                + " does not support withRandomSource, so it cannot be given a source of randomness.");
+    }
+}
@@ -0,0 +1,51 @@
+package com.robertboothby.djenni.distribution;
+
+/**
+ * Primitive specialisation of {@link Distribution} for {@code int} bounds and values. Builders that detect an
+ * {@code IntDistribution} call {@link #generate(int)} directly, so neither the bound nor the result is boxed on each
+ * selection. The boxed {@link #generate(Integer)} delegates to the primitive method so implementations remain usable
+ * wherever a {@code Distribution<Integer, Integer>} is expected.
+ */
+public interface IntDistribution extends Distribution<Integer, Integer> {
+
+    /**
+     * Produce the next value constrained to {@code [0, bound)}.
+     * @param bound exclusive upper bound on the value to produce, must be positive.
+     * @return the next generated value.
+     * @throws IllegalArgumentException if the bound is zero or negative.
+     */
+    int generate(int bound);
+
+    /**
+     * Fill the target array with values constrained to {@code [0, bound)}. Implementations should override this to
+     * hoist any per-call setup, such as looking up the current generator, out of the loop.
+     * @param bound exclusive upper bound on the values to produce, must be positive.
+     * @param target the array to fill.
+     * @throws IllegalArgumentException if the bound is zero or negative.
+     */
+    default void generate(int bound, int[] target) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] = generate(bound);
+        }
+    }
+
+    /**
+     * Boxed equivalent of {@link #generate(int)}.
+     * @param bound exclusive upper bound on the value to produce, must be positive and not {@code null}.
+     * @return the next generated value.
+     * @throws IllegalArgumentException if the bound is {@code null}, zero or negative.
+     */
+    @Override
+    default Integer generate(Integer bound) {
+        if (bound == null) {
+            throw new IllegalArgumentException("Bound must be positive");
+        }
+        return generate(bound.intValue());
+    }
+
+    @Override
+    default IntDistribution withRandomSource(RandomSource randomSource) {
+        throw new UnsupportedOperationException(getClass().getName()
+                + " does not support withRandomSource, so it cannot be given a source of randomness.");
+    }
+}
@@ -0,0 +1,38 @@
+package com.robertboothby.djenni.distribution;
+
+/**
+ * Primitive specialisation of {@link Distribution} for {@code long} bounds and values. Builders that detect an
+ * {@code LongDistribution} call {@link #generate(long)} directly, so neither the bound nor the result is boxed on each
+ * selection. The boxed {@link #generate(Long)} delegates to the primitive method so implementations remain usable
+ * wherever a {@code Distribution<Long, Long>} is expected.
+ */
+public interface LongDistribution extends Distribution<Long, Long> {
+
+    /**
+     * Produce the next value constrained to {@code [0, bound)}.
+     * @param bound exclusive upper bound on the value to produce, must be positive.
+     * @return the next generated value.
+     * @throws IllegalArgumentException if the bound is zero or negative.
+     */
+    long generate(long bound);
+
+    /**
+     * Boxed equivalent of {@link #generate(long)}.
+     * @param bound exclusive upper bound on the value to produce, must be positive and not {@code null}.
+     * @return the next generated value.
+     * @throws IllegalArgumentException if the bound is {@code null}, zero or negative.
+     */
+    @Override
+    default Long generate(Long bound) {
+        if (bound == null) {
+            throw new IllegalArgumentException("Bound must be positive");
+        }
+        return generate(bound.longValue());
+    }
+
+    @Override
+    default LongDistribution withRandomSource(RandomSource randomSource) {
+        throw new UnsupportedOperationException(getClass().getName()
+                + " does not support withRandomSource, so it cannot be given a source of randomness.");
+    }
+}
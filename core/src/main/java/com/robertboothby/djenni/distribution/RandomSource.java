@@ -0,0 +1,23 @@
+package com.robertboothby.djenni.distribution;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Service provider interface for the source of randomness that all distributions draw upon. A RandomSource hands out
+ * the {@link RandomGenerator} to be used by the calling thread; implementations must make sure that the generator they
+ * return is safe for that thread to use, typically by keeping one generator per thread.
+ * <p>
+ * The default source is {@link java.util.concurrent.ThreadLocalRandom}, but faster or seedable generators can be
+ * selected globally through {@link RandomSources#setDefaultSource(RandomSource)} or per builder / distribution through
+ * {@link Distribution#withRandomSource(RandomSource)}. See {@link RandomSources} for the standard implementations.
+ */
+@FunctionalInterface
+public interface RandomSource {
+
+    /**
+     * Get the generator that the calling thread should use for its next random values. Callers should not cache the
+     * returned generator across threads.
+     * @return the generator for the calling thread.
+     */
+    RandomGenerator current();
+}
@@ -0,0 +1,260 @@
+package com.robertboothby.djenni.distribution;
+
+import org.apache.commons.rng.UniformRandomProvider;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Factory methods for the standard {@link RandomSource} implementations and the holder of the global default source.
+ * <p>
+ * Seeded sources give each thread its own generator. The first thread to draw from a seeded source gets the stream
+ * derived from stream index 0, the second thread stream index 1 and so on, so a single threaded run against a freshly
+ * created seeded source is always reproducible. The seeds for each stream are derived using
+ * {@link #deriveSeed(long, long)} so that neighbouring streams are statistically independent.
+ */
+public final class RandomSources {
+
+    private static final RandomSource THREAD_LOCAL_RANDOM = ThreadLocalRandom::current;
+
+    private static volatile RandomSource defaultSource = THREAD_LOCAL_RANDOM;
+
+    /**
+     * Generator temporarily installed on the current thread by {@link #callWith(RandomGenerator, Supplier)}.
+     */
+    private static final ThreadLocal<RandomGenerator> SCOPED = new ThreadLocal<>();
+
+    /**
+     * Delegates to the scoped generator of the current thread if there is one, otherwise to whatever the default
+     * source is at the time of each call so that distributions created before the default is changed still pick up
+     * the change. Whether a scope is active is decided from the state of the current thread alone, so scopes opened
+     * on other threads cost this thread nothing.
+     */
+    private static final RandomSource GLOBAL = () -> {
+        RandomGenerator scoped = SCOPED.get();
+        return scoped != null ? scoped : defaultSource.current();
+    };
+
+    private RandomSources() {
+    }
+
+    /**
+     * Get the global source used by all distributions that have not been given an explicit source. Changes made with
+     * {@link #setDefaultSource(RandomSource)} are visible through the returned source immediately.
+     * @return the global source.
+     */
+    public static RandomSource defaultSource() {
+        return GLOBAL;
+    }
+
+    /**
+     * Replace the global source of randomness used by all distributions that have not been given an explicit source.
+     * @param randomSource the new default source.
+     */
+    public static void setDefaultSource(RandomSource randomSource) {
+        defaultSource = Objects.requireNonNull(randomSource, "randomSource");
+    }
+
+    /**
+     * Restore the global source of randomness to {@link #threadLocalRandom()}.
+     */
+    public static void resetDefaultSource() {
+        defaultSource = THREAD_LOCAL_RANDOM;
+    }
+
+    /**
+     * The original, unseeded source backed by {@link ThreadLocalRandom}.
+     * @return a source backed by {@link ThreadLocalRandom}.
+     */
+    public static RandomSource threadLocalRandom() {
+        return THREAD_LOCAL_RANDOM;
+    }
+
+    /**
+     * A seeded source backed by the XoShiRo256++ generator from commons-rng.
+     * @param seed the seed for the source.
+     * @return a new seeded source.
+     */
+    public static RandomSource xoShiRo256PlusPlus(long seed) {
+        return seeded(org.apache.commons.rng.simple.RandomSource.XO_SHI_RO_256_PP, seed);
+    }
+
+    /**
+     * A seeded source backed by the SplitMix64 generator from commons-rng.
+     * @param seed the seed for the source.
+     * @return a new seeded source.
+     */
+    public static RandomSource splitMix64(long seed) {
+        return seeded(org.apache.commons.rng.simple.RandomSource.SPLIT_MIX_64, seed);
+    }
+
+    /**
+     * A seeded source backed by the JDK's L64X128MixRandom generator.
+     * @param seed the seed for the source.
+     * @return a new seeded source.
+     */
+    public static RandomSource l64x128(long seed) {
+        return seeded("L64X128MixRandom", seed);
+    }
+
+    /**
+     * A seeded source backed by any algorithm available through {@link RandomGeneratorFactory}.
+     * @param algorithm the name of the algorithm, for example {@code "Xoshiro256PlusPlus"}.
+     * @param seed the seed for the source.
+     * @return a new seeded source.
+     * @throws IllegalArgumentException if the algorithm is not available.
+     */
+    public static RandomSource seeded(String algorithm, long seed) {
+        RandomGeneratorFactory<RandomGenerator> factory = RandomGeneratorFactory.of(algorithm);
+        return new PerThreadSource(seed, factory::create);
+    }
+
+    /**
+     * A seeded source backed by any algorithm available from commons-rng.
+     * @param algorithm the commons-rng algorithm to use.
+     * @param seed the seed for the source.
+     * @return a new seeded source.
+     */
+    public static RandomSource seeded(org.apache.commons.rng.simple.RandomSource algorithm, long seed) {
+        Objects.requireNonNull(algorithm, "algorithm");
+        return new PerThreadSource(seed, streamSeed -> asRandomGenerator(algorithm.create(streamSeed)));
+    }
+
+    /**
+     * Get a value from the supplier with the given generator standing in for the default source on the current thread.
+     * Any distribution drawing from {@link #defaultSource()} during the call will use the generator, which is how
+     * parallel streams give each split its own deterministic stream of random numbers. Calls may be nested; the
+     * previous generator is restored when the call completes.
+     * @param generator the generator to use for the duration of the call.
+     * @param supplier the supplier to call.
+     * @param <T> the type of value supplied.
+     * @return the value from the supplier.
+     */
+    public static <T> T callWith(RandomGenerator generator, Supplier<T> supplier) {
+        Objects.requireNonNull(generator, "generator");
+        RandomGenerator previous = SCOPED.get();
+        SCOPED.set(generator);
+        try {
+            return supplier.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Run the action with the given generator standing in for the default source on the current thread, as with
+     * {@link #callWith(RandomGenerator, Supplier)}.
+     * @param generator the generator to use for the duration of the call.
+     * @param action the action to run.
+     */
+    public static void runWith(RandomGenerator generator, Runnable action) {
+        Objects.requireNonNull(generator, "generator");
+        RandomGenerator previous = SCOPED.get();
+        SCOPED.set(generator);
+        try {
+            action.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    private static void restore(RandomGenerator previous) {
+        if (previous == null) {
+            SCOPED.remove();
+        } else {
+            SCOPED.set(previous);
+        }
+    }
+
+    /**
+     * Create a new XoShiRo256++ generator for the independent stream identified by the base seed and stream index.
+     * @param seed the base seed.
+     * @param streamIndex the index of the stream.
+     * @return a new generator seeded with {@link #deriveSeed(long, long)}.
+     */
+    public static RandomGenerator streamGenerator(long seed, long streamIndex) {
+        return asRandomGenerator(
+                org.apache.commons.rng.simple.RandomSource.XO_SHI_RO_256_PP.create(deriveSeed(seed, streamIndex)));
+    }
+
+    /**
+     * Derive the seed of an independent stream from a base seed using the SplitMix64 finalizer. Streams derived from
+     * the same base seed with different indices are statistically independent.
+     * @param seed the base seed.
+     * @param streamIndex the index of the stream.
+     * @return the seed to use for the stream.
+     */
+    public static long deriveSeed(long seed, long streamIndex) {
+        long z = seed + (streamIndex + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Adapt a commons-rng provider to the JDK {@link RandomGenerator} interface, delegating the methods that the
+     * distributions use so that the provider's own implementations are used.
+     */
+    static RandomGenerator asRandomGenerator(UniformRandomProvider provider) {
+        return new RandomGenerator() {
+            @Override
+            public long nextLong() {
+                return provider.nextLong();
+            }
+
+            @Override
+            public int nextInt() {
+                return provider.nextInt();
+            }
+
+            @Override
+            public int nextInt(int bound) {
+                return provider.nextInt(bound);
+            }
+
+            @Override
+            public long nextLong(long bound) {
+                return provider.nextLong(bound);
+            }
+
+            @Override
+            public double nextDouble() {
+                return provider.nextDouble();
+            }
+
+            @Override
+            public boolean nextBoolean() {
+                return provider.nextBoolean();
+            }
+
+            @Override
+            public void nextBytes(byte[] bytes) {
+                provider.nextBytes(bytes);
+            }
+        };
+    }
+
+    /**
+     * Seeded source that lazily creates one generator per thread, each seeded from its own derived stream.
+     */
+    private static final class PerThreadSource implements RandomSource {
+
+        private final AtomicLong nextStreamIndex = new AtomicLong();
+        private final ThreadLocal<RandomGenerator> perThread;
+
+        private PerThreadSource(long seed, LongFunction<RandomGenerator> generatorFactory) {
+            this.perThread = ThreadLocal.withInitial(
+                    () -> generatorFactory.apply(deriveSeed(seed, nextStreamIndex.getAndIncrement())));
+        }
+
+        @Override
+        public RandomGenerator current() {
+            return perThread.get();
+        }
+    }
+}
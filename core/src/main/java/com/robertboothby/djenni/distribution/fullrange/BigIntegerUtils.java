@@ -1,21 +1,36 @@
 package com.robertboothby.djenni.distribution.fullrange;
 
+import com.robertboothby.djenni.distribution.RandomSources;
+
 import java.math.BigInteger;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 final class BigIntegerUtils {
 
     private BigIntegerUtils() {}
 
     /**
-     * Generates a uniform random {@link BigInteger} in {@code [0, bound)} using rejection sampling.
+     * Generates a uniform random {@link BigInteger} in {@code [0, bound)} using rejection sampling, drawing on the
+     * global {@link RandomSources#defaultSource()}.
      */
     static BigInteger random(BigInteger bound) {
+        return random(bound, RandomSources.defaultSource().current());
+    }
+
+    /**
+     * Generates a uniform random {@link BigInteger} in {@code [0, bound)} using rejection sampling.
+     */
+    static BigInteger random(BigInteger bound, RandomGenerator random) {
         int bitLength = bound.bitLength();
+        byte[] magnitude = new byte[(bitLength + 7) / 8];
+        int excessBits = magnitude.length * 8 - bitLength;
         BigInteger candidate;
-        ThreadLocalRandom random = ThreadLocalRandom.current();
         do {
-            candidate = new BigInteger(bitLength, random);
+            random.nextBytes(magnitude);
+            if (magnitude.length > 0) {
+                magnitude[0] &= (byte) (0xFF >>> excessBits);
+            }
+            candidate = new BigInteger(1, magnitude);
         } while (candidate.compareTo(bound) >= 0);
         return candidate;
     }
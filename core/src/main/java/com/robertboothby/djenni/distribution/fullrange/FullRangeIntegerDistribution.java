@@ -2,6 +2,7 @@ package com.robertboothby.djenni.distribution.fullrange;
 
 import com.robertboothby.djenni.core.StreamableSupplier;
 import com.robertboothby.djenni.distribution.Distribution;
+import com.robertboothby.djenni.distribution.LongDistribution;
 import com.robertboothby.djenni.distribution.simple.SimpleRandomLongDistribution;
 import com.robertboothby.djenni.sugar.And;
 
@@ -55,7 +56,9 @@ public final class FullRangeIntegerDistribution {
     public int between(long lowerInclusive, long upperExclusive) {
         validateRange(lowerInclusive, upperExclusive);
         long span = upperExclusive - lowerInclusive;
-        long offset = delegate.generate(span);
+        long offset = delegate instanceof LongDistribution longDistribution
+                ? longDistribution.generate(span)
+                : delegate.generate(span);
         return (int) (lowerInclusive + offset);
     }
 
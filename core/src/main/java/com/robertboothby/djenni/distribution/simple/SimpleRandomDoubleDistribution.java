@@ -1,10 +1,12 @@
 package com.robertboothby.djenni.distribution.simple;
 
-import com.robertboothby.djenni.distribution.Distribution;
+import com.robertboothby.djenni.distribution.DoubleDistribution;
+import com.robertboothby.djenni.distribution.RandomSource;
+import com.robertboothby.djenni.distribution.RandomSources;
 
 import java.io.Serializable;
-
-import static java.util.concurrent.ThreadLocalRandom.current;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
 
 /**
  * This Distribution is intended to provide intentionally biased or unbiased sources of randomness for testing.
@@ -12,15 +14,15 @@ import static java.util.concurrent.ThreadLocalRandom.current;
  * other unexpected behaviours more likely. The biases are intended to to be close but not exact approximations of the
  * defined distributions.
  * <p>
- * This class is currently thread safe because at core it uses the {@link java.util.concurrent.ThreadLocalRandom} class
- * which removes any inter-dependencies. Overriding the seed is not supported and would make little sense in a multi-
- * threaded environment anyway. If generated values are needed for repeatable testing then they must be
- * stored independently after generation.
+ * This class is thread safe because it draws on a {@link RandomSource} that hands out a generator per thread. By
+ * default that is the global {@link RandomSources#defaultSource()}, which is backed by
+ * {@link java.util.concurrent.ThreadLocalRandom} unless overridden. Use {@link #withRandomSource(RandomSource)} with one
+ * of the seeded sources from {@link RandomSources} when repeatable values are needed.
  *
  * @author robertboothby
  * {@link java.util.concurrent.ThreadLocalRandom#nextLong(long)}
  */
-public abstract class SimpleRandomDoubleDistribution implements Serializable, Distribution<Double, Double> {
+public abstract class SimpleRandomDoubleDistribution implements Serializable, DoubleDistribution {
 
     /**
      * This constant represents the adjustment needed to the standard normal distribution to produce a reasonable
@@ -34,19 +36,104 @@ public abstract class SimpleRandomDoubleDistribution implements Serializable, Di
     private static final int CORE_DISTRIBUTION_SIGMA = 4;
 
     /**
-     * For the given distribution get the next double value with a range between 0.0 (inclusive) and 1.0 (exclusive).
-     * This method is used as the source method for all other random generation methods.
+     * The source of randomness. Transient as sources hold per-thread state, deserialized instances are resolved back
+     * to the global default source.
+     */
+    private final transient RandomSource randomSource;
+
+    SimpleRandomDoubleDistribution() {
+        this(RandomSources.defaultSource());
+    }
+
+    SimpleRandomDoubleDistribution(RandomSource randomSource) {
+        this.randomSource = Objects.requireNonNull(randomSource, "randomSource");
+    }
+
+    /**
+     * For the given distribution get the next double value with a range between 0.0 (inclusive) and 1.0 (exclusive)
+     * using the passed in generator. This method defines the shape of the distribution and is used as the source
+     * method for all other random generation methods.
+     * @param random the generator to draw on.
      * @return the next double value between 0.0 (inclusive) and 1.0 (exclusive).
      */
-    abstract double nextDouble();
+    abstract double nextDouble(RandomGenerator random);
+
+    /**
+     * Get the probability that {@link #nextDouble(RandomGenerator)} returns a value less than {@code x}. This allows
+     * the probability of each bucket of a fixed, discrete range to be computed up front rather than sampled.
+     * @param x a value between 0.0 and 1.0 (both inclusive).
+     * @return the cumulative probability of values below {@code x}.
+     */
+    abstract double cumulativeProbability(double x);
+
+    /**
+     * Whether this distribution has the same shape as {@link #UNIFORM}, in which case tabulating it gains nothing.
+     * @return true if the distribution is uniform.
+     */
+    boolean isUniform() {
+        return false;
+    }
+
+    /**
+     * For the given distribution get the next double value with a range between 0.0 (inclusive) and 1.0 (exclusive)
+     * drawing on the configured {@link RandomSource}.
+     * @return the next double value between 0.0 (inclusive) and 1.0 (exclusive).
+     */
+    double nextDouble() {
+        return nextDouble(randomSource.current());
+    }
+
+    /**
+     * Get the generator that the configured {@link RandomSource} currently hands out, so that bulk generation can
+     * look it up once rather than once per value.
+     * @return the current generator.
+     */
+    RandomGenerator currentGenerator() {
+        return randomSource.current();
+    }
+
+    /**
+     * Get a distribution with the same shape as this one that draws on the passed in source of randomness.
+     * @param randomSource the source of randomness to use.
+     * @return the new distribution.
+     */
+    @Override
+    public SimpleRandomDoubleDistribution withRandomSource(RandomSource randomSource) {
+        SimpleRandomDoubleDistribution shape = this;
+        return new SimpleRandomDoubleDistribution(randomSource) {
+            @Override
+            double nextDouble(RandomGenerator random) {
+                return shape.nextDouble(random);
+            }
+
+            @Override
+            double cumulativeProbability(double x) {
+                return shape.cumulativeProbability(x);
+            }
+
+            @Override
+            boolean isUniform() {
+                return shape.isUniform();
+            }
+        };
+    }
+
+    /**
+     * Resolve deserialized instances to an equivalent distribution using the global default source.
+     * @return an equivalent distribution.
+     */
+    protected Object readResolve() {
+        return withRandomSource(RandomSources.defaultSource());
+    }
 
     /**
       * Get the next double value within the range between 0.0 (inclusive) and the bound (exclusive).
       * @param bound the strictly positive upper bound (exclusive) on the values that can be generated.
       * @return next double value within the between 0.0 (inclusive) and the bound (exclusive).
       */
-    public Double generate(Double bound){
-        if (bound == null || bound <= 0.0D) {
+    @Override
+    public double generate(double bound){
+        if (bound <= 0.0D) {
             throw new IllegalArgumentException("Bound must be positive");
         }
         return bound * nextDouble();
@@ -57,8 +144,18 @@ public abstract class SimpleRandomDoubleDistribution implements Serializable, Di
      */
     public static final SimpleRandomDoubleDistribution UNIFORM = new SimpleRandomDoubleDistribution(){
         @Override
-        public double nextDouble() {
-            return current().nextDouble();
+        double nextDouble(RandomGenerator random) {
+            return random.nextDouble();
+        }
+
+        @Override
+        double cumulativeProbability(double x) {
+            return x;
+        }
+
+        @Override
+        boolean isUniform() {
+            return true;
         }
     };
 
@@ -69,8 +166,13 @@ public abstract class SimpleRandomDoubleDistribution implements Serializable, Di
     private static final SimpleRandomDoubleDistribution CORE_NORMAL = new SimpleRandomDoubleDistribution() {
 
         @Override
-        public double nextDouble() {
-            return (current().nextGaussian() % CORE_DISTRIBUTION_SIGMA) / CORE_DISTRIBUTION_SIGMA;
+        double nextDouble(RandomGenerator random) {
+            return (random.nextGaussian() % CORE_DISTRIBUTION_SIGMA) / CORE_DISTRIBUTION_SIGMA;
+        }
+
+        @Override
+        double cumulativeProbability(double x) {
+            return x >= 0.0D ? 0.5D + coreNormalMass(x) : 0.5D - coreNormalMass(-x);
         }
     };
 
@@ -80,8 +182,13 @@ public abstract class SimpleRandomDoubleDistribution implements Serializable, Di
      */
     public static final SimpleRandomDoubleDistribution NORMAL = new SimpleRandomDoubleDistribution() {
         @Override
-        public double nextDouble() {
-            return (CORE_NORMAL.nextDouble() + 1.0D) / 2.0D;
+        double nextDouble(RandomGenerator random) {
+            return (CORE_NORMAL.nextDouble(random) + 1.0D) / 2.0D;
+        }
+
+        @Override
+        double cumulativeProbability(double x) {
+            return CORE_NORMAL.cumulativeProbability(2.0D * x - 1.0D);
         }
     };
 
@@ -91,8 +198,13 @@ public abstract class SimpleRandomDoubleDistribution implements Serializable, Di
      */
     public static final SimpleRandomDoubleDistribution RIGHT_NORMAL = new SimpleRandomDoubleDistribution() {
         @Override
-        public double nextDouble() {
-            return Math.abs(CORE_NORMAL.nextDouble());
+        double nextDouble(RandomGenerator random) {
+            return Math.abs(CORE_NORMAL.nextDouble(random));
+        }
+
+        @Override
+        double cumulativeProbability(double x) {
+            return 2.0D * coreNormalMass(x);
         }
     };
 
@@ -102,8 +214,13 @@ public abstract class SimpleRandomDoubleDistribution implements Serializable, Di
      */
     public static final SimpleRandomDoubleDistribution LEFT_NORMAL = new SimpleRandomDoubleDistribution() {
         @Override
-        public double nextDouble() {
-            return 1.0D - RIGHT_NORMAL.nextDouble();
+        double nextDouble(RandomGenerator random) {
+            return 1.0D - RIGHT_NORMAL.nextDouble(random);
+        }
+
+        @Override
+        double cumulativeProbability(double x) {
+            return 1.0D - RIGHT_NORMAL.cumulativeProbability(1.0D - x);
         }
     };
 
@@ -116,10 +233,15 @@ public abstract class SimpleRandomDoubleDistribution implements Serializable, Di
      */
     private static final SimpleRandomDoubleDistribution CORE_INVERTED_NORMAL = new SimpleRandomDoubleDistribution() {
         @Override
-        public double nextDouble() {
-            double workingCopy = CORE_NORMAL.nextDouble();
+        double nextDouble(RandomGenerator random) {
+            double workingCopy = CORE_NORMAL.nextDouble(random);
             return workingCopy < 0 ? workingCopy + 1.0D : workingCopy -1.0D;
         }
+
+        @Override
+        double cumulativeProbability(double x) {
+            return x <= 0.0D ? coreNormalMass(x + 1.0D) : 1.0D - coreNormalMass(1.0D - x);
+        }
     };
 
     /**
@@ -128,10 +250,15 @@ public abstract class SimpleRandomDoubleDistribution implements Serializable, Di
      */
     public static final SimpleRandomDoubleDistribution INVERTED_NORMAL = new SimpleRandomDoubleDistribution() {
         @Override
-        public double nextDouble() {
-            return (CORE_INVERTED_NORMAL.nextDouble() + 1.0D) / 2.0D;
-         }
-     };
+        double nextDouble(RandomGenerator random) {
+            return (CORE_INVERTED_NORMAL.nextDouble(random) + 1.0D) / 2.0D;
+        }
+
+        @Override
+        double cumulativeProbability(double x) {
+            return CORE_INVERTED_NORMAL.cumulativeProbability(2.0D * x - 1.0D);
+        }
+    };
 
     /**
      * This distribution generates values that are distributed in a manner that roughly approximates the right hand side
@@ -139,8 +266,14 @@ public abstract class SimpleRandomDoubleDistribution implements Serializable, Di
      */
     public static final SimpleRandomDoubleDistribution RIGHT_INVERTED_NORMAL = new SimpleRandomDoubleDistribution() {
         @Override
-        public double nextDouble() {
-            return Math.abs(CORE_INVERTED_NORMAL.nextDouble());
+        double nextDouble(RandomGenerator random) {
+            return Math.abs(CORE_INVERTED_NORMAL.nextDouble(random));
+        }
+
+        @Override
+        double cumulativeProbability(double x) {
+            //|CORE_INVERTED_NORMAL| is 1 - |CORE_NORMAL|.
+            return 1.0D - RIGHT_NORMAL.cumulativeProbability(1.0D - x);
         }
     };
 
@@ -150,10 +283,45 @@ public abstract class SimpleRandomDoubleDistribution implements Serializable, Di
      */
     public static final SimpleRandomDoubleDistribution LEFT_INVERTED_NORMAL = new SimpleRandomDoubleDistribution() {
         @Override
-        public double nextDouble() {
-            return 1.0D - RIGHT_INVERTED_NORMAL.nextDouble();
+        double nextDouble(RandomGenerator random) {
+            return 1.0D - RIGHT_INVERTED_NORMAL.nextDouble(random);
+        }
+
+        @Override
+        double cumulativeProbability(double x) {
+            return 1.0D - RIGHT_INVERTED_NORMAL.cumulativeProbability(1.0D - x);
         }
     };
 
+    /**
+     * The probability that {@link #CORE_NORMAL} generates a value in {@code [0, a)}, which by symmetry is also the
+     * probability of a value in {@code (-a, 0]}. The modulo operation folds every interval
+     * {@code [k * sigma, (k + 1) * sigma)} of the standard normal back onto {@code [0, 1)}, so the mass is the sum over
+     * those intervals, computed with upper tail probabilities to keep the precision far out in the tail.
+     * @param a a value between 0.0 and 1.0.
+     * @return the probability mass.
+     */
+    private static double coreNormalMass(double a) {
+        double mass = 0.0D;
+        for (int k = 0; k * CORE_DISTRIBUTION_SIGMA < 40; k++) {
+            double start = k * CORE_DISTRIBUTION_SIGMA;
+            mass += standardNormalUpperTail(start) - standardNormalUpperTail(start + a * CORE_DISTRIBUTION_SIGMA);
+        }
+        return mass;
+    }
 
+    /**
+     * The probability that a standard normal value is greater than {@code x}, using the Chebyshev approximation to
+     * {@code erfc} from Numerical Recipes, which has a fractional error of less than 1.2e-7 everywhere.
+     * @param x the value.
+     * @return the upper tail probability.
+     */
+    private static double standardNormalUpperTail(double x) {
+        double z = Math.abs(x) / Math.sqrt(2.0D);
+        double t = 1.0D / (1.0D + 0.5D * z);
+        double erfc = t * Math.exp(-z * z - 1.26551223D + t * (1.00002368D + t * (0.37409196D + t * (0.09678418D
+                + t * (-0.18628806D + t * (0.27886807D + t * (-1.13520398D + t * (1.48851587D
+                + t * (-0.82215223D + t * 0.17087277D)))))))));
+        return x >= 0.0D ? erfc / 2.0D : 1.0D - erfc / 2.0D;
+    }
 }
@@ -1,6 +1,10 @@
 package com.robertboothby.djenni.distribution.simple;
 
-import com.robertboothby.djenni.distribution.Distribution;
+import com.robertboothby.djenni.distribution.AliasTable;
+import com.robertboothby.djenni.distribution.IntDistribution;
+import com.robertboothby.djenni.distribution.RandomSource;
+
+import java.util.random.RandomGenerator;
 
 /**
  * Integer-specialised façade for the {@link SimpleRandomDoubleDistribution} family. Each predefined constant wraps a
@@ -8,7 +12,19 @@ import com.robertboothby.djenni.distribution.Distribution;
  * bound is exclusive, so passing {@code 10} yields values {@code 0..9}. These helpers are intentionally simple and are
  * primarily meant for exercising edge-biased paths in tests rather than cryptographic scenarios.
  */
-public class SimpleRandomIntegerDistribution implements Distribution<Integer, Integer> {
+public class SimpleRandomIntegerDistribution implements IntDistribution {
+
+    /**
+     * The largest bound for which {@link #forBound(int)} will build a table of probabilities.
+     */
+    public static final int TABULATION_LIMIT = 16_384;
+
+    /**
+     * The number of values per possible value that a distribution returned by {@link #forBound(int)} draws before it
+     * builds its table. Building the table costs roughly as much as drawing twenty values per possible value without
+     * it, so suppliers that are built and only drawn from briefly never pay for a table.
+     */
+    public static final int TABULATION_DRAWS_PER_VALUE = 32;
 
     private final SimpleRandomDoubleDistribution underlyingDistribution;
 
@@ -64,12 +80,147 @@ public class SimpleRandomIntegerDistribution implements Distribution<Integer, In
 
     /**
      * Generate the next integer in {@code [0, bound)}. A {@link IllegalArgumentException} will be thrown if the bound
-     * is {@code null} or not positive.
+     * is not positive.
      */
-    public Integer generate(Integer bound) {
-        if (bound == null || bound <= 0) {
+    @Override
+    public int generate(int bound) {
+        if (bound <= 0) {
             throw new IllegalArgumentException("Bound must be positive");
         }
         return (int) Math.floor(underlyingDistribution.nextDouble() * bound);
     }
+
+    /**
+     * Fill the target array with integers in {@code [0, bound)}, checking the bound and looking up the generator once
+     * for the whole array.
+     */
+    @Override
+    public void generate(int bound, int[] target) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Bound must be positive");
+        }
+        RandomGenerator random = underlyingDistribution.currentGenerator();
+        for (int i = 0; i < target.length; i++) {
+            target[i] = (int) Math.floor(underlyingDistribution.nextDouble(random) * bound);
+        }
+    }
+
+    /**
+     * Get a distribution equivalent to this one that has been optimised for repeated use with a single bound, as when
+     * choosing positions in a fixed array of values. For non-uniform shapes and bounds up to {@link #TABULATION_LIMIT}
+     * the probability of every value is computed and stored in an {@link AliasTable}, so each value then costs a
+     * single uniform random number and an array read rather than a chain of transformations of a Gaussian. The table
+     * is only built once {@link #TABULATION_DRAWS_PER_VALUE} values per possible value have been drawn with the bound;
+     * until then values are generated as normal. Other bounds passed to the returned distribution are always generated
+     * as normal.
+     * @param bound the bound that the distribution will be used with.
+     * @return an equivalent distribution optimised for the bound, or this distribution if there is nothing to gain.
+     */
+    public IntDistribution forBound(int bound) {
+        if (bound <= 1 || bound > TABULATION_LIMIT || underlyingDistribution.isUniform()) {
+            return this;
+        }
+        return new TabulatedDistribution(this, bound);
+    }
+
+    /**
+     * Compute the probability of each value below the bound and build the table to draw them from.
+     */
+    private AliasTable tabulate(int bound) {
+        double[] probabilities = new double[bound];
+        double previous = 0.0D;
+        for (int i = 0; i < bound; i++) {
+            double next = i + 1 == bound ? 1.0D : underlyingDistribution.cumulativeProbability((double) (i + 1) / bound);
+            probabilities[i] = Math.max(0.0D, next - previous);
+            previous = Math.max(previous, next);
+        }
+        return AliasTable.of(probabilities);
+    }
+
+    /**
+     * Get a distribution with the same shape as this one that draws on the passed in source of randomness.
+     * @param randomSource the source of randomness to use.
+     * @return the new distribution.
+     */
+    @Override
+    public SimpleRandomIntegerDistribution withRandomSource(RandomSource randomSource) {
+        return new SimpleRandomIntegerDistribution(underlyingDistribution.withRandomSource(randomSource));
+    }
+
+    /**
+     * A distribution for a single bound that switches to a precomputed alias table once enough values have been drawn.
+     * It draws its uniform random numbers from the same source as the distribution it was derived from.
+     */
+    static final class TabulatedDistribution implements IntDistribution {
+
+        private final SimpleRandomIntegerDistribution original;
+        private final int bound;
+        private final long drawsBeforeTabulation;
+        //Counted without synchronisation; an increment lost to another thread only delays building the table.
+        private long draws;
+        private volatile AliasTable table;
+
+        private TabulatedDistribution(SimpleRandomIntegerDistribution original, int bound) {
+            this.original = original;
+            this.bound = bound;
+            this.drawsBeforeTabulation = (long) bound * TABULATION_DRAWS_PER_VALUE;
+        }
+
+        @Override
+        public int generate(int bound) {
+            if (bound != this.bound) {
+                return original.generate(bound);
+            }
+            AliasTable table = tableAfter(1);
+            if (table == null) {
+                return original.generate(bound);
+            }
+            return table.sample(original.underlyingDistribution.currentGenerator());
+        }
+
+        @Override
+        public void generate(int bound, int[] target) {
+            if (bound != this.bound) {
+                original.generate(bound, target);
+                return;
+            }
+            AliasTable table = tableAfter(target.length);
+            if (table == null) {
+                original.generate(bound, target);
+                return;
+            }
+            RandomGenerator random = original.underlyingDistribution.currentGenerator();
+            for (int i = 0; i < target.length; i++) {
+                target[i] = table.sample(random);
+            }
+        }
+
+        /**
+         * Count the values about to be drawn and build the table once enough have been.
+         * @return the table, or null if values should still be generated without it.
+         */
+        private AliasTable tableAfter(int values) {
+            AliasTable table = this.table;
+            if (table == null) {
+                draws += values;
+                if (draws >= drawsBeforeTabulation) {
+                    table = original.tabulate(bound);
+                    this.table = table;
+                }
+            }
+            return table;
+        }
+
+        /**
+         * @return whether the table has been built.
+         */
+        boolean isTabulated() {
+            return table != null;
+        }
+
+        @Override
+        public IntDistribution withRandomSource(RandomSource randomSource) {
+            return original.withRandomSource(randomSource).forBound(bound);
+        }
+    }
 }
@@ -1,13 +1,14 @@
 package com.robertboothby.djenni.distribution.simple;
 
-import com.robertboothby.djenni.distribution.Distribution;
+import com.robertboothby.djenni.distribution.LongDistribution;
+import com.robertboothby.djenni.distribution.RandomSource;
 
 /**
  * Equivalent to {@link SimpleRandomIntegerDistribution} but for {@link Long} bounds/values. Long distributions reuse the
  * double-based implementations, giving us normal/left/right/inverted curves without duplicating the maths. Their main
  * usage is in builders that need positive long ranges (for example epoch milliseconds).
  */
-public class SimpleRandomLongDistribution implements Distribution<Long, Long> {
+public class SimpleRandomLongDistribution implements LongDistribution {
 
     private final SimpleRandomDoubleDistribution underlyingDistribution;
 
@@ -66,11 +67,20 @@ public class SimpleRandomLongDistribution implements Distribution<Long, Long> {
     }
 
     @Override
-    public Long generate(Long bound) {
-        if (bound == null || bound <= 0L) {
+    public long generate(long bound) {
+        if (bound <= 0L) {
             throw new IllegalArgumentException("Bound must be positive");
         }
         return (long) Math.floor(underlyingDistribution.nextDouble() * bound);
     }
 
+    /**
+     * Get a distribution with the same shape as this one that draws on the passed in source of randomness.
+     * @param randomSource the source of randomness to use.
+     * @return the new distribution.
+     */
+    @Override
+    public SimpleRandomLongDistribution withRandomSource(RandomSource randomSource) {
+        return new SimpleRandomLongDistribution(underlyingDistribution.withRandomSource(randomSource));
+    }
 }
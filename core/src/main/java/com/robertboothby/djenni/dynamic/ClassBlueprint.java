@@ -0,0 +1,212 @@
+package com.robertboothby.djenni.dynamic;
+
+import com.robertboothby.djenni.dynamic.parameters.Parameter;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static java.util.Arrays.stream;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Comparator.comparingInt;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * The introspected metadata of a class that {@link DynamicSupplierBuilder} needs: the default constructor and the names
+ * and types of its parameters, the writable JavaBean properties with their setters and the property names of the
+ * accessor methods. Introspection is done once per class and the blueprint is shared by all the builders for the class.
+ * <p>
+ * Blueprints are held in a {@link ClassValue}, so they are looked up without locking and do not prevent the class from
+ * being unloaded.
+ * @param <C> The type of the class described by the blueprint.
+ */
+final class ClassBlueprint<C> {
+
+    private static final ClassValue<ClassBlueprint<?>> BLUEPRINTS = new ClassValue<>() {
+        @Override
+        protected ClassBlueprint<?> computeValue(Class<?> type) {
+            try {
+                return new ClassBlueprint<>(type);
+            } catch (IntrospectionException e) {
+                throw new UncheckedIntrospectionException(e);
+            }
+        }
+    };
+
+    private final Class<C> type;
+    private final Function<Object[], C> constructorInvoker;
+    private final String[] constructorParameterNames;
+    private final Class<?>[] constructorParameterTypes;
+    private final List<Property<C>> setterProperties;
+    private final Map<String, Property<C>> writablePropertiesByName;
+    private final Map<String, String> propertyNamesByReadMethod;
+    private final Map<String, String> propertyNamesByWriteMethod;
+
+    /**
+     * Get the blueprint of the class, introspecting the class if this is the first time it has been asked for.
+     * @param type the class.
+     * @param <C> the type of the class.
+     * @return the shared blueprint of the class.
+     * @throws IntrospectionException if the class cannot be introspected.
+     */
+    @SuppressWarnings("unchecked")
+    static <C> ClassBlueprint<C> of(Class<C> type) throws IntrospectionException {
+        try {
+            return (ClassBlueprint<C>) BLUEPRINTS.get(type);
+        } catch (UncheckedIntrospectionException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ClassBlueprint(Class<C> type) throws IntrospectionException {
+        this.type = type;
+
+        Constructor<C> constructor = null;
+        if (type.isRecord()) {
+            RecordComponent[] recordComponents = type.getRecordComponents();
+            constructorParameterNames = stream(recordComponents).map(RecordComponent::getName).toArray(String[]::new);
+            constructorParameterTypes = stream(recordComponents).map(RecordComponent::getType).toArray(Class[]::new);
+            try {
+                constructor = type.getDeclaredConstructor(constructorParameterTypes);
+            } catch (NoSuchMethodException e) {
+                throw new RuntimeException(e);
+            }
+        } else {
+            constructor = (Constructor<C>) stream(type.getConstructors())
+                    .filter($ -> Modifier.isPublic($.getModifiers()))
+                    .max(comparingInt(Constructor::getParameterCount)) // Get the constructor with the most parameters.
+                    .orElse(null);
+            constructorParameterNames = constructor == null
+                    ? new String[0]
+                    : stream(constructor.getParameters()).map(java.lang.reflect.Parameter::getName).toArray(String[]::new);
+            constructorParameterTypes = constructor == null ? new Class<?>[0] : constructor.getParameterTypes();
+        }
+        try {
+            constructorInvoker = constructor == null ? null : Instantiators.constructorInvoker(constructor);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+
+        BeanInfo beanInfo = Introspector.getBeanInfo(type);
+        Set<String> constructorParameterNameSet = stream(constructorParameterNames).collect(toSet());
+        List<Property<C>> setterProperties = new ArrayList<>();
+        Map<String, Property<C>> writablePropertiesByName = new HashMap<>();
+        Map<String, String> propertyNamesByReadMethod = new HashMap<>();
+        Map<String, String> propertyNamesByWriteMethod = new HashMap<>();
+        for (PropertyDescriptor descriptor : beanInfo.getPropertyDescriptors()) {
+            if (descriptor.getReadMethod() != null) {
+                propertyNamesByReadMethod.putIfAbsent(descriptor.getReadMethod().getName(), descriptor.getName());
+            }
+            if (descriptor.getWriteMethod() != null) {
+                Property<C> property = new Property<>(
+                        descriptor.getName(),
+                        descriptor.getPropertyType(),
+                        Instantiators.setterInvoker(descriptor.getWriteMethod()));
+                writablePropertiesByName.put(property.name(), property);
+                propertyNamesByWriteMethod.putIfAbsent(descriptor.getWriteMethod().getName(), descriptor.getName());
+                if (!constructorParameterNameSet.contains(property.name())) {
+                    setterProperties.add(property);
+                }
+            }
+        }
+        if (type.isRecord()) {
+            for (RecordComponent component : type.getRecordComponents()) {
+                propertyNamesByReadMethod.putIfAbsent(component.getAccessor().getName(), component.getName());
+            }
+        }
+        this.setterProperties = unmodifiableList(setterProperties);
+        this.writablePropertiesByName = unmodifiableMap(writablePropertiesByName);
+        this.propertyNamesByReadMethod = unmodifiableMap(propertyNamesByReadMethod);
+        this.propertyNamesByWriteMethod = unmodifiableMap(propertyNamesByWriteMethod);
+    }
+
+    Class<C> type() {
+        return type;
+    }
+
+    /**
+     * @return the invoker of the record constructor or of the public constructor with the most parameters, if there
+     * is one.
+     */
+    Optional<Function<Object[], C>> constructorInvoker() {
+        return Optional.ofNullable(constructorInvoker);
+    }
+
+    /**
+     * @return new parameters for the arguments of the default constructor, with the suppliers currently configured in
+     * {@link DefaultSuppliers}.
+     */
+    @SuppressWarnings("unchecked")
+    List<Parameter<?>> newConstructorParameters() {
+        List<Parameter<?>> parameters = new ArrayList<>(constructorParameterNames.length);
+        for (int i = 0; i < constructorParameterNames.length; i++) {
+            parameters.add(new Parameter<>(constructorParameterNames[i], (Class<Object>) constructorParameterTypes[i]));
+        }
+        return parameters;
+    }
+
+    /**
+     * @return the writable properties that are not set through the default constructor, in introspection order.
+     */
+    List<Property<C>> setterProperties() {
+        return setterProperties;
+    }
+
+    Optional<Property<C>> writableProperty(String propertyName) {
+        return Optional.ofNullable(writablePropertiesByName.get(propertyName));
+    }
+
+    /**
+     * @param readMethodName the name of a JavaBean getter or record accessor.
+     * @return the name of the property read by the method, if there is one.
+     */
+    Optional<String> propertyNameForReadMethod(String readMethodName) {
+        return Optional.ofNullable(propertyNamesByReadMethod.get(readMethodName));
+    }
+
+    /**
+     * @param writeMethodName the name of a JavaBean setter.
+     * @return the name of the property written by the method, if there is one.
+     */
+    Optional<String> propertyNameForWriteMethod(String writeMethodName) {
+        return Optional.ofNullable(propertyNamesByWriteMethod.get(writeMethodName));
+    }
+
+    /**
+     * A writable property and the invoker of its setter.
+     * @param name the name of the property.
+     * @param type the type of the property.
+     * @param setter the invoker of the setter.
+     * @param <C> the type of the class that has the property.
+     */
+    record Property<C>(String name, Class<?> type, BiConsumer<C, Object> setter) {
+    }
+
+    /**
+     * Carries an {@link IntrospectionException} out of {@link ClassValue#computeValue(Class)}.
+     */
+    private static final class UncheckedIntrospectionException extends RuntimeException {
+        private UncheckedIntrospectionException(IntrospectionException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IntrospectionException getCause() {
+            return (IntrospectionException) super.getCause();
+        }
+    }
+}
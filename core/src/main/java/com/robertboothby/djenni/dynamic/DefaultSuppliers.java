@@ -10,6 +10,9 @@ import java.util.function.Supplier;
  * isolation or a supplier of nulls if no other default supplier can be found.
  *
  * Be careful with instantiating
+ * <p>
+ * Implementations must be safe for concurrent use: builders look up their defaults whenever they are created, which
+ * may be on many threads at once, for example in parallel test runs.
  */
 public abstract class DefaultSuppliers {
 
@@ -23,17 +26,21 @@ public abstract class DefaultSuppliers {
     public static final String NO_PROPERTY = "";
 
     /**
-     * Get the singleton instance of DefaultSuppliers
+     * Get the singleton instance of DefaultSuppliers. Once the instance has been created this takes no locks.
      *
      * @return the singleton instance of DefaultSuppliers
      */
     public static DefaultSuppliers defaultSuppliers() {
-        if(instance == null) {
+        DefaultSuppliers current = instance;
+        if(current == null) {
             synchronized (instanceMutex) {
-                instance = new DefaultSuppliersImpl();
+                current = instance;
+                if (current == null) {
+                    instance = current = new DefaultSuppliersImpl();
+                }
             }
         }
-        return instance;
+        return current;
     }
 
     /**
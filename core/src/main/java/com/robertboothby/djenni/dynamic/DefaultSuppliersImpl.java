@@ -3,32 +3,35 @@ package com.robertboothby.djenni.dynamic;
 import com.robertboothby.djenni.core.StreamableSupplier;
 import com.robertboothby.djenni.core.SupplierHelper;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Standard implementation of {@link DefaultSuppliers}, will be the one used if no override is supplied
  * {@link DefaultSuppliers#overrideInstance(DefaultSuppliers)}.
+ * <p>
+ * The defaults are held in concurrent maps so that they can be read and changed from any thread. Reads take no locks
+ * and allocate nothing, and {@link #reset()} swaps in a complete new set of defaults so that a concurrent reader never
+ * sees the primitive defaults missing.
  */
 public class DefaultSuppliersImpl extends DefaultSuppliers {
 
-    private final Map<Class<?>, Map<String, StreamableSupplier<?>>> classAndPropertyDefaults = new HashMap<>();
+    private volatile Map<Class<?>, Map<String, StreamableSupplier<?>>> classAndPropertyDefaults = primitiveDefaults();
 
     public static final StreamableSupplier<?> defaultObjectSupplier = SupplierHelper.nullSupplier();
 
-    { // set up defaults for the primitive types... nulls will break things.
-        setPrimitiveDefaults();
-    }
-
-    private void setPrimitiveDefaults() {
-        this.setClassSupplier(byte.class, () -> (byte) 0);
-        this.setClassSupplier(short.class, () -> (short) 0);
-        this.setClassSupplier(int.class, () -> 0);
-        this.setClassSupplier(long.class, () -> 0L);
-        this.setClassSupplier(float.class, () -> 0.0f);
-        this.setClassSupplier(double.class, () -> 0.0d);
-        this.setClassSupplier(boolean.class, () -> false);
-        this.setClassSupplier(char.class, () -> '\u0000');
+    // set up defaults for the primitive types... nulls will break things.
+    private static Map<Class<?>, Map<String, StreamableSupplier<?>>> primitiveDefaults() {
+        Map<Class<?>, Map<String, StreamableSupplier<?>>> defaults = new ConcurrentHashMap<>();
+        setClassAndPropertySupplier(defaults, byte.class, NO_PROPERTY, () -> (byte) 0);
+        setClassAndPropertySupplier(defaults, short.class, NO_PROPERTY, () -> (short) 0);
+        setClassAndPropertySupplier(defaults, int.class, NO_PROPERTY, () -> 0);
+        setClassAndPropertySupplier(defaults, long.class, NO_PROPERTY, () -> 0L);
+        setClassAndPropertySupplier(defaults, float.class, NO_PROPERTY, () -> 0.0f);
+        setClassAndPropertySupplier(defaults, double.class, NO_PROPERTY, () -> 0.0d);
+        setClassAndPropertySupplier(defaults, boolean.class, NO_PROPERTY, () -> false);
+        setClassAndPropertySupplier(defaults, char.class, NO_PROPERTY, () -> '\u0000');
+        return defaults;
     }
 
     @Override
@@ -39,11 +42,15 @@ public class DefaultSuppliersImpl extends DefaultSuppliers {
     @Override
     @SuppressWarnings("unchecked")
     public <T> StreamableSupplier<T> getSupplierForClassAndProperty(Class<T> clazz, String property) {
-        return (StreamableSupplier<T>) classAndPropertyDefaults
-                .computeIfAbsent(clazz, $ -> new HashMap<>())
-                .getOrDefault(property, classAndPropertyDefaults
-                        .computeIfAbsent(clazz, $1 -> new HashMap<>())
-                        .getOrDefault(NO_PROPERTY, defaultObjectSupplier));
+        Map<String, StreamableSupplier<?>> defaultsForClass = classAndPropertyDefaults.get(clazz);
+        if (defaultsForClass == null) {
+            return (StreamableSupplier<T>) defaultObjectSupplier;
+        }
+        StreamableSupplier<?> supplier = property == null ? null : defaultsForClass.get(property);
+        if (supplier == null) {
+            supplier = defaultsForClass.get(NO_PROPERTY);
+        }
+        return (StreamableSupplier<T>) (supplier == null ? defaultObjectSupplier : supplier);
     }
 
     @Override
@@ -53,12 +60,23 @@ public class DefaultSuppliersImpl extends DefaultSuppliers {
 
     @Override
     public <T> void setClassAndPropertySupplier(Class<T> clazz, String propertyName, StreamableSupplier<? extends T> supplier) {
-        classAndPropertyDefaults.computeIfAbsent(clazz, $ -> new HashMap<>()).put(propertyName, supplier);
+        setClassAndPropertySupplier(classAndPropertyDefaults, clazz, propertyName, supplier);
+    }
+
+    private static void setClassAndPropertySupplier(Map<Class<?>, Map<String, StreamableSupplier<?>>> defaults,
+                                                    Class<?> clazz, String propertyName,
+                                                    StreamableSupplier<?> supplier) {
+        Map<String, StreamableSupplier<?>> defaultsForClass = defaults.computeIfAbsent(clazz, $ -> new ConcurrentHashMap<>());
+        String key = propertyName == null ? NO_PROPERTY : propertyName;
+        if (supplier == null) {
+            defaultsForClass.remove(key);
+        } else {
+            defaultsForClass.put(key, supplier);
+        }
     }
 
     @Override
     public void reset() {
-        classAndPropertyDefaults.clear();
-        setPrimitiveDefaults();
+        classAndPropertyDefaults = primitiveDefaults();
     }
 }
@@ -7,26 +7,19 @@ import com.robertboothby.djenni.core.SupplierHelper;
 import com.robertboothby.djenni.dynamic.parameters.IntrospectionParameterContext;
 import com.robertboothby.djenni.dynamic.parameters.Parameter;
 import com.robertboothby.djenni.dynamic.parameters.ParameterContext;
-import com.robertboothby.djenni.dynamic.parameters.RuntimeParameterContext;
 import com.robertboothby.djenni.util.lambda.introspectable.IntrospectableBiConsumer;
 import com.robertboothby.djenni.util.lambda.introspectable.IntrospectableFunction;
 
-import java.beans.*;
-import java.lang.invoke.MethodHandle;
-import java.lang.invoke.MethodHandles;
-import java.lang.invoke.MethodType;
+import java.beans.IntrospectionException;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.lang.reflect.RecordComponent;
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static java.util.Arrays.stream;
-import static java.util.Comparator.comparingInt;
-import static java.util.stream.Collectors.toSet;
 
 /**
  * This is a dynamic supplier builder that will use reasonable defaults based on the JavaBeans method and constructor parameter naming conventions, but can be massively extended.
@@ -37,13 +30,15 @@ import static java.util.stream.Collectors.toSet;
 public class DynamicSupplierBuilder<C> implements ConfigurableSupplierBuilder<C, DynamicSupplierBuilder<C>> {
 
     private final Class<C> suppliedClass;
+    private final ClassBlueprint<C> blueprint;
     private final List<Parameter<?>> parameterList = new ArrayList<>();
-    private final BeanInfo beanInfo;
-    private Function<ParameterContext, C> functionThatBuildsTheInstance = $ -> null;
+    private final Map<String, Parameter<?>> parametersByName = new HashMap<>();
+    //The parameter list holds the arguments of the instantiator followed by one parameter per setter.
+    private Function<Object[], C> instantiator = $ -> null;
+    private int instantiatorParameterCount;
+    private final List<BiConsumer<C, Object>> setters = new ArrayList<>();
     private Map<String, Function<ParameterContext, ?>> instantiationParameterSupplierOverrides = new HashMap<>();
     private Map<String, Function<ParameterContext, ?>> setterParameters = new HashMap<>();
-    //Dummy object used for introspection;
-    private C dummy;
 
 
     /**
@@ -55,57 +50,43 @@ public class DynamicSupplierBuilder<C> implements ConfigurableSupplierBuilder<C,
      *                      it is recommended that the constructor be selected explicitly.
      * @throws IntrospectionException An exception if we are unable to introspect the constructor.
      */
-    @SuppressWarnings("unchecked")
     public DynamicSupplierBuilder(Class<C> suppliedClass) throws IntrospectionException {
         this.suppliedClass = suppliedClass;
+        this.blueprint = ClassBlueprint.of(suppliedClass);
 
-        if (suppliedClass.isRecord()) {
-            useRecordConstructor();
-        } else {
-            stream(suppliedClass.getConstructors())
-                    .filter($ -> Modifier.isPublic($.getModifiers()))
-                    .max(comparingInt(Constructor::getParameterCount)) // Get the constructor with the most parameters.
-                    .ifPresent(constructor -> useDefaultedConstructor((Constructor<C>) constructor));
-        }
-
-        beanInfo = Introspector.getBeanInfo(suppliedClass);
+        blueprint.constructorInvoker()
+                .ifPresent(constructorInvoker -> useInstantiator(constructorInvoker, blueprint.newConstructorParameters()));
 
         //Add all the setters to set of parameters.
-        stream(beanInfo.getPropertyDescriptors())
-                .filter($ -> $.getWriteMethod() != null)
-                .filter($ -> !parameterList.stream().map(Parameter::getMappedName).collect(toSet()).contains($.getName()))
-                .forEach($ -> {
-                    Parameter<Object> parameter = new Parameter<>($.getName(), (Class<Object>) $.getPropertyType());
-                    if(parameter.getParameterSupplier() == DefaultSuppliersImpl.defaultObjectSupplier) {
-                        parameter.setParameterSupplier(UseDefaultValueSupplier.useDefaultValueSupplier(), false);
-                    }
-                    parameterList.add(parameter);
-                    Function<ParameterContext, C> oldFunction = functionThatBuildsTheInstance;
-                    functionThatBuildsTheInstance = bc -> {
-                        C result = oldFunction.apply(bc);
-                        try {
-                            Object p = bc.p($.getName(), $.getPropertyType());
-                            boolean skipSetter = bc instanceof RuntimeParameterContext
-                                    && ((RuntimeParameterContext) bc).lastValueWasUseDefaultValueSupplier();
-                            if (!skipSetter) {
-                                $.getWriteMethod().invoke(result, p);
-                            }
-                        } catch (Exception e) {
-                            if (e instanceof RuntimeException) {
-                                throw (RuntimeException) e;
-                            } else {
-                                throw new RuntimeException(e);
-                            }
-                        }
-                        return result;
-                    };
-                });
+        blueprint.setterProperties().forEach(this::addSetter);
     }
 
+    /**
+     * Build a supplier from a snapshot of the current configuration. The parameters are compiled into a flat plan of
+     * suppliers and setters; setters whose parameter uses the {@link UseDefaultValueSupplier} are left out of the plan
+     * altogether so that the bean's own default value is preserved.
+     * @return a new supplier that is not affected by any further configuration of this builder.
+     */
     @Override
+    @SuppressWarnings("unchecked")
     public StreamableSupplier<C> build() {
-        List<? extends Parameter<?>> parameterList = this.parameterList.stream().map(Parameter::new).collect(Collectors.toList());
-        return () -> functionThatBuildsTheInstance.apply(new RuntimeParameterContext(parameterList));
+        Supplier<?>[] argumentSuppliers = parameterList.subList(0, instantiatorParameterCount).stream()
+                .map(Parameter::getParameterSupplier)
+                .toArray(Supplier[]::new);
+        List<BiConsumer<C, Object>> activeSetters = new ArrayList<>();
+        List<Supplier<?>> setterSuppliers = new ArrayList<>();
+        for (int i = 0; i < setters.size(); i++) {
+            Parameter<?> parameter = parameterList.get(instantiatorParameterCount + i);
+            if (!parameter.isUseDefaultValueSupplier()) {
+                activeSetters.add(setters.get(i));
+                setterSuppliers.add(parameter.getParameterSupplier());
+            }
+        }
+        return new InstancePlan<>(
+                instantiator,
+                argumentSuppliers,
+                activeSetters.toArray(BiConsumer[]::new),
+                setterSuppliers.toArray(Supplier[]::new));
     }
 
     /**
@@ -117,10 +98,7 @@ public class DynamicSupplierBuilder<C> implements ConfigurableSupplierBuilder<C,
      *                              the parameters.
      */
     public DynamicSupplierBuilder<C> useConstructor(Function<ParameterContext, C> constructorToBeMapped) {
-        IntrospectionParameterContext introspectionBuildContext = new IntrospectionParameterContext();
-        constructorToBeMapped.apply(introspectionBuildContext);
-        this.parameterList.clear();
-        this.parameterList.addAll(introspectionBuildContext.getParameterList());
+        useFunction(constructorToBeMapped);
         if (parameterList.stream().anyMatch($ -> $.getMappedName() == null)) { //try to derive the underlying parameter name from a matching constructor.
             try {
                 Class<?>[] constructorParameterClasses = parameterList.stream().map(Parameter::getParameterClass).toArray(Class[]::new);
@@ -131,6 +109,7 @@ public class DynamicSupplierBuilder<C> implements ConfigurableSupplierBuilder<C,
                         for (int i = 0; i < recordComponents.length; i++) {
                             parameterList.get(i).setParameterName(recordComponents[i].getName());
                         }
+                        indexParameters();
                         return this;
                     }
                 }
@@ -138,71 +117,52 @@ public class DynamicSupplierBuilder<C> implements ConfigurableSupplierBuilder<C,
                 for (int i = 0; i < parameters.length; i++) {
                     parameterList.get(i).setParameterName(parameters[i].getName());
                 }
+                indexParameters();
             } catch (NoSuchMethodException e) {
                 throw new RuntimeException("No constructor was identifiable from the parameters called on the supplier," +
                         "did you call additional methods with parameters not in the constructor?", e);
             }
         }
-        this.functionThatBuildsTheInstance = constructorToBeMapped;
         return this;
     }
 
-    @SuppressWarnings("unchecked")
-    private void useDefaultedConstructor(Constructor<C> constructor) {
-        MethodType constructorMethodType = MethodType.methodType(void.class, constructor.getParameterTypes());
-        try {
-            MethodHandle constructorMethodHandle = MethodHandles.publicLookup().findConstructor(constructor.getDeclaringClass(), constructorMethodType);
-            useFunction($ -> {
-                try {
-                    dummy = (C) constructorMethodHandle.invokeWithArguments(stream(constructor.getParameters()).map(parameter -> $.p(parameter.getName(), parameter.getType())).toArray());
-                    return dummy;
-                } catch (Throwable throwable) {
-                    //Try and avoid unnecessary wrapping.
-                    if (throwable instanceof Error) {
-                        throw (Error) throwable;
-                    } else if (throwable instanceof RuntimeException) {
-                        throw (RuntimeException) throwable;
-                    } else {
-                        throw new RuntimeException(throwable);
-                    }
-                }
-            });
-        } catch (NoSuchMethodException | IllegalAccessException e) {
-            throw new RuntimeException(e);
-        }
+    /**
+     * Replace the instantiator and its parameters. Any setters configured so far are discarded along with their
+     * parameters.
+     */
+    private void useInstantiator(Function<Object[], C> instantiator, List<Parameter<?>> instantiatorParameters) {
+        this.parameterList.clear();
+        this.parameterList.addAll(instantiatorParameters);
+        this.setters.clear();
+        this.instantiator = instantiator;
+        this.instantiatorParameterCount = instantiatorParameters.size();
+        indexParameters();
     }
 
+    /**
+     * Add a parameter for the property that is set on each new instance using the setter.
+     */
     @SuppressWarnings("unchecked")
-    private void useRecordConstructor() {
-        RecordComponent[] recordComponents = suppliedClass.getRecordComponents();
-        if (recordComponents == null) {
-            return;
+    private <T> Parameter<T> addSetter(ClassBlueprint.Property<C> property) {
+        Parameter<T> parameter = new Parameter<>(property.name(), (Class<T>) property.type());
+        if(parameter.getParameterSupplier() == DefaultSuppliersImpl.defaultObjectSupplier) {
+            parameter.setParameterSupplier(UseDefaultValueSupplier.useDefaultValueSupplier(), false);
         }
-        Class<?>[] parameterTypes = stream(recordComponents)
-                .map(RecordComponent::getType)
-                .toArray(Class[]::new);
-        try {
-            Constructor<C> constructor = suppliedClass.getDeclaredConstructor(parameterTypes);
-            MethodType constructorMethodType = MethodType.methodType(void.class, constructor.getParameterTypes());
-            MethodHandle constructorMethodHandle = MethodHandles.publicLookup().findConstructor(constructor.getDeclaringClass(), constructorMethodType);
-            useFunction($ -> {
-                try {
-                    dummy = (C) constructorMethodHandle.invokeWithArguments(stream(recordComponents)
-                            .map(component -> $.p(component.getName(), (Class<Object>) component.getType()))
-                            .toArray());
-                    return dummy;
-                } catch (Throwable throwable) {
-                    if (throwable instanceof Error) {
-                        throw (Error) throwable;
-                    } else if (throwable instanceof RuntimeException) {
-                        throw (RuntimeException) throwable;
-                    } else {
-                        throw new RuntimeException(throwable);
-                    }
-                }
-            });
-        } catch (NoSuchMethodException | IllegalAccessException e) {
-            throw new RuntimeException(e);
+        parameterList.add(parameter);
+        parametersByName.putIfAbsent(parameter.getMappedName(), parameter);
+        setters.add(property.setter());
+        return parameter;
+    }
+
+    /**
+     * Rebuild the index of the parameters by name. Where more than one parameter has the same name the first wins.
+     */
+    private void indexParameters() {
+        parametersByName.clear();
+        for (Parameter<?> parameter : parameterList) {
+            if (parameter.getMappedName() != null) {
+                parametersByName.putIfAbsent(parameter.getMappedName(), parameter);
+            }
         }
     }
 
@@ -229,9 +189,7 @@ public class DynamicSupplierBuilder<C> implements ConfigurableSupplierBuilder<C,
     public DynamicSupplierBuilder<C> useFunction(Function<ParameterContext, C> functionToBeUsed) {
         IntrospectionParameterContext introspectionBuildContext = new IntrospectionParameterContext();
         functionToBeUsed.apply(introspectionBuildContext);
-        this.parameterList.clear();
-        this.parameterList.addAll(introspectionBuildContext.getParameterList());
-        this.functionThatBuildsTheInstance = functionToBeUsed;
+        useInstantiator(InstancePlan.replaying(functionToBeUsed), introspectionBuildContext.getParameterList());
         return this;
     }
 
@@ -262,9 +220,10 @@ public class DynamicSupplierBuilder<C> implements ConfigurableSupplierBuilder<C,
 
     @SuppressWarnings("unchecked")
     public <P> DynamicSupplierBuilder<C> property(String propertyName, Supplier<P> propertySupplier) {
-        parameterList.stream().filter($ -> $.getMappedName().equals(propertyName)).findFirst().ifPresent($ -> {
-            ((Parameter<P>)$).setParameterSupplier(propertySupplier);
-        });
+        Parameter<P> parameter = (Parameter<P>) parametersByName.get(propertyName);
+        if (parameter != null) {
+            parameter.setParameterSupplier(propertySupplier);
+        }
         return this;
     }
 
@@ -274,27 +233,10 @@ public class DynamicSupplierBuilder<C> implements ConfigurableSupplierBuilder<C,
     }
 
     private <T> Parameter<T> getter(IntrospectableFunction<? super C, T> getter) {
-        Optional<String> beanPropertyName = stream(beanInfo.getPropertyDescriptors())
-                .filter($ -> $.getReadMethod() != null)
-                .filter($ -> $.getReadMethod().getName().equals(getter.getMethodName()))
-                .findFirst()
-                .map(FeatureDescriptor::getName);
-        String propertyName = beanPropertyName.orElseGet(() -> {
-            if (suppliedClass.isRecord()) {
-                RecordComponent[] recordComponents = suppliedClass.getRecordComponents();
-                if (recordComponents != null) {
-                    return stream(recordComponents)
-                            .filter(component -> component.getAccessor().getName().equals(getter.getMethodName()))
-                            .map(RecordComponent::getName)
-                            .findFirst()
-                            .orElseThrow();
-                }
-            }
-            return beanPropertyName.orElseThrow();
-        });
-
-        Optional<Parameter<?>> first = parameterList.stream().filter($ -> $.getMappedName().equals(propertyName)).findFirst();
-        if(first.isEmpty()){
+        String propertyName = blueprint.propertyNameForReadMethod(getter.getMethodName()).orElseThrow();
+        @SuppressWarnings("unchecked")
+        Parameter<T> parameter = (Parameter<T>) parametersByName.get(propertyName);
+        if (parameter == null) {
             if (suppliedClass.isRecord()) {
                 RecordComponent[] recordComponents = suppliedClass.getRecordComponents();
                 String components = recordComponents == null ? "" : stream(recordComponents)
@@ -304,72 +246,24 @@ public class DynamicSupplierBuilder<C> implements ConfigurableSupplierBuilder<C,
                         " on " + suppliedClass.getName() +
                         (components.isEmpty() ? "" : " (components: " + components + ")"));
             }
-            Parameter<T> parameter = new Parameter<>(propertyName, (Class<T>) getter.getReturnType());
-            if(parameter.getParameterSupplier() == DefaultSuppliersImpl.defaultObjectSupplier) {
-                parameter.setParameterSupplier(UseDefaultValueSupplier.useDefaultValueSupplier(), false);
-            }
-            parameterList.add(parameter);
-            Method setterMethod = stream(beanInfo.getPropertyDescriptors())
-                    .filter($ -> $.getWriteMethod() != null)
-                    .filter($ -> $.getName().equals(propertyName))
-                    .findFirst()
-                    .map(PropertyDescriptor::getWriteMethod).orElseThrow(() -> new RuntimeException("No setter found for property " + propertyName));
-            functionThatBuildsTheInstance = bc -> {
-                C result = functionThatBuildsTheInstance.apply(bc);
-                try {
-                    setterMethod.invoke(result, bc.p(propertyName, (Class<T>) getter.getReturnType()));
-                } catch (Exception e) {
-                    if (e instanceof RuntimeException) {
-                        throw (RuntimeException) e;
-                    } else {
-                        throw new RuntimeException(e);
-                    }
-                }
-                return result;
-            };
-
-            return parameter;
-        } else {
-            return (Parameter<T>) first.get();
+            return addSetter(propertyWithSetter(propertyName));
         }
+        return parameter;
     }
 
     private <T> Parameter<T> setter(IntrospectableBiConsumer<? super C, ? extends T> setter) {
-        String propertyName = stream(beanInfo.getPropertyDescriptors())
-                .filter($ -> $.getWriteMethod() != null)
-                .filter($ -> $.getWriteMethod().getName().equals(setter.getMethodName()))
-                .findFirst()
-                .map(FeatureDescriptor::getName).orElseThrow();
-
-        Optional<Parameter<?>> first = parameterList.stream().filter($ -> $.getMappedName().equals(propertyName)).findFirst();
-        if(first.isEmpty()){
-            Parameter<T> parameter = new Parameter<>(propertyName, (Class<T>) setter.getParameterType());
-            if(parameter.getParameterSupplier() == DefaultSuppliersImpl.defaultObjectSupplier) {
-                parameter.setParameterSupplier(UseDefaultValueSupplier.useDefaultValueSupplier(), false);
-            }
-            parameterList.add(parameter);
-            Method setterMethod = stream(beanInfo.getPropertyDescriptors())
-                    .filter($ -> $.getWriteMethod() != null)
-                    .filter($ -> $.getName().equals(propertyName))
-                    .findFirst()
-                    .map(PropertyDescriptor::getWriteMethod).orElseThrow(() -> new RuntimeException("No setter found for property " + propertyName));
-            functionThatBuildsTheInstance = bc -> {
-                C result = functionThatBuildsTheInstance.apply(bc);
-                try {
-                    setterMethod.invoke(result, bc.p(propertyName, (Class<T>) setter.getParameterType()));
-                } catch (Exception e) {
-                    if (e instanceof RuntimeException) {
-                        throw (RuntimeException) e;
-                    } else {
-                        throw new RuntimeException(e);
-                    }
-                }
-                return result;
-            };
-            return parameter;
-        } else {
-            return (Parameter<T>) first.get();
+        String propertyName = blueprint.propertyNameForWriteMethod(setter.getMethodName()).orElseThrow();
+        @SuppressWarnings("unchecked")
+        Parameter<T> parameter = (Parameter<T>) parametersByName.get(propertyName);
+        if (parameter == null) {
+            return addSetter(propertyWithSetter(propertyName));
         }
+        return parameter;
+    }
+
+    private ClassBlueprint.Property<C> propertyWithSetter(String propertyName) {
+        return blueprint.writableProperty(propertyName)
+                .orElseThrow(() -> new RuntimeException("No setter found for property " + propertyName));
     }
 
     public static <T> DynamicSupplierBuilder<T> supplierFor(Class<T> tClass) {
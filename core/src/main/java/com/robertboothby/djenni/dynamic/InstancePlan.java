@@ -0,0 +1,113 @@
+package com.robertboothby.djenni.dynamic;
+
+import com.robertboothby.djenni.core.StreamableSupplier;
+import com.robertboothby.djenni.dynamic.parameters.ParameterContext;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The immutable supplier built by {@link DynamicSupplierBuilder}. The configuration of the builder is compiled into a
+ * flat plan: the suppliers of the arguments passed to the instantiator, indexed by parameter slot, followed by the
+ * setters and the suppliers of their values. Each instance is created by filling the argument array, calling the
+ * instantiator and then running the setters in a single loop, so the cost of an instance does not depend on how deeply
+ * the builder was configured.
+ * @param <C> The type of the instances supplied.
+ */
+final class InstancePlan<C> implements StreamableSupplier<C> {
+
+    private final Function<Object[], C> instantiator;
+    private final Supplier<?>[] argumentSuppliers;
+    private final BiConsumer<C, Object>[] setters;
+    private final Supplier<?>[] setterSuppliers;
+
+    /**
+     * @param instantiator the function creating an instance from its arguments.
+     * @param argumentSuppliers the suppliers of the arguments, by parameter slot.
+     * @param setters the setters to call on each new instance.
+     * @param setterSuppliers the suppliers of the values passed to the setters, in the same order as the setters.
+     */
+    InstancePlan(Function<Object[], C> instantiator, Supplier<?>[] argumentSuppliers,
+                 BiConsumer<C, Object>[] setters, Supplier<?>[] setterSuppliers) {
+        this.instantiator = instantiator;
+        this.argumentSuppliers = argumentSuppliers;
+        this.setters = setters;
+        this.setterSuppliers = setterSuppliers;
+    }
+
+    @Override
+    public C get() {
+        Supplier<?>[] argumentSuppliers = this.argumentSuppliers;
+        Object[] arguments = new Object[argumentSuppliers.length];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = argumentSuppliers[i].get();
+        }
+        C instance = instantiator.apply(arguments);
+        BiConsumer<C, Object>[] setters = this.setters;
+        Supplier<?>[] setterSuppliers = this.setterSuppliers;
+        for (int i = 0; i < setters.length; i++) {
+            setters[i].accept(instance, setterSuppliers[i].get());
+        }
+        return instance;
+    }
+
+    /**
+     * Adapt a function that builds instances from a {@link ParameterContext}, as passed to
+     * {@link DynamicSupplierBuilder#useFunction(Function)}, into an instantiator that replays the arguments in order.
+     * @param functionToBeUsed the function that builds the instances.
+     * @param <C> The type of the instances built.
+     * @return an instantiator calling the function.
+     */
+    static <C> Function<Object[], C> replaying(Function<ParameterContext, C> functionToBeUsed) {
+        return arguments -> functionToBeUsed.apply(new ReplayingParameterContext(arguments));
+    }
+
+    /**
+     * Parameter context that hands out the arguments that have already been supplied, in order.
+     */
+    @SuppressWarnings("unchecked")
+    private static final class ReplayingParameterContext implements ParameterContext {
+
+        private final Object[] arguments;
+        private int position;
+
+        private ReplayingParameterContext(Object[] arguments) {
+            this.arguments = arguments;
+        }
+
+        private <P> P next() {
+            return (P) arguments[position++];
+        }
+
+        @Override
+        public <P> P p(Class<P> parameterClass) {
+            return next();
+        }
+
+        @Override
+        public <P> P p(String name, Class<P> parameterClass) {
+            return next();
+        }
+
+        @Override
+        public <P> P p(P fixedParameter) {
+            return next();
+        }
+
+        @Override
+        public <P> P p(String name, P fixedParameter) {
+            return next();
+        }
+
+        @Override
+        public <P> P p(StreamableSupplier<P> defaultSupplier) {
+            return next();
+        }
+
+        @Override
+        public <P> P p(String name, StreamableSupplier<P> defaultSupplier) {
+            return next();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.robertboothby.djenni.dynamic;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Creates the typed invokers that the suppliers built by {@link DynamicSupplierBuilder} use to create instances and set
+ * their properties, so that the work of resolving and adapting the constructor and setters is done once when the
+ * builder is created rather than on every value supplied.
+ * <p>
+ * Setters are bound with {@link LambdaMetafactory}, which spins a hidden class that calls the setter directly with a
+ * typed argument. This needs a full privilege lookup in the declaring class of the setter; where that is not available,
+ * for example because the class is in a named module that does not open its package, the setter falls back to
+ * reflection. Constructors are called through a method handle that has been adapted once to take its arguments as an
+ * array and is then called with {@link MethodHandle#invokeExact(Object...)}. Its exact type means each call goes
+ * straight to the adapted handle without the argument list, boxing and type checks that
+ * {@link MethodHandle#invokeWithArguments(Object...)} repeats on every call. The handle is held per builder rather than
+ * as a constant, so the JIT does not inline through it.
+ */
+final class Instantiators {
+
+    private Instantiators() {
+    }
+
+    /**
+     * Create a function that calls the constructor with the arguments in the array passed to it.
+     * @param constructor the constructor to call.
+     * @param <C> the type of the class being instantiated.
+     * @return a function calling the constructor.
+     * @throws IllegalAccessException if the constructor is not publicly accessible.
+     */
+    static <C> Function<Object[], C> constructorInvoker(Constructor<C> constructor) throws IllegalAccessException {
+        MethodHandle constructorHandle = MethodHandles.publicLookup().unreflectConstructor(constructor);
+        MethodHandle spreadConstructor = constructorHandle
+                .asType(constructorHandle.type().generic())
+                .asSpreader(Object[].class, constructor.getParameterCount())
+                .asType(methodType(Object.class, Object[].class));
+        Class<C> instanceClass = constructor.getDeclaringClass();
+        return arguments -> {
+            try {
+                Object instance = spreadConstructor.invokeExact(arguments);
+                return instanceClass.cast(instance);
+            } catch (Throwable throwable) {
+                throw rethrow(throwable);
+            }
+        };
+    }
+
+    /**
+     * Create a consumer that calls the setter on the instance passed to it with the value passed to it. The setter is
+     * bound with {@link LambdaMetafactory} where a full privilege lookup in its declaring class is available; if the
+     * lookup or the binding is refused the setter is called through reflection instead. Any other failure, including
+     * an {@link Error}, is not a reason to fall back and is propagated.
+     * @param setter the setter method to call.
+     * @param <C> the type of the class on which the setter is called.
+     * @return a consumer calling the setter.
+     */
+    @SuppressWarnings("unchecked")
+    static <C> BiConsumer<C, Object> setterInvoker(Method setter) {
+        MethodHandle consumerFactory;
+        try {
+            consumerFactory = setterConsumerFactory(setter);
+        } catch (ReflectiveOperationException | LambdaConversionException e) {
+            return (instance, value) -> {
+                try {
+                    setter.invoke(instance, value);
+                } catch (Exception exception) {
+                    throw rethrow(exception);
+                }
+            };
+        }
+        try {
+            return (BiConsumer<C, Object>) consumerFactory.invoke();
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    /**
+     * Spin the hidden class calling the setter and return the handle that creates instances of it.
+     */
+    private static MethodHandle setterConsumerFactory(Method setter)
+            throws ReflectiveOperationException, LambdaConversionException {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(setter.getDeclaringClass(), MethodHandles.lookup());
+        MethodHandle setterHandle = lookup.unreflect(setter);
+        CallSite callSite = LambdaMetafactory.metafactory(
+                lookup,
+                "accept",
+                methodType(BiConsumer.class),
+                methodType(void.class, Object.class, Object.class),
+                setterHandle,
+                setterHandle.type().wrap().changeReturnType(void.class));
+        return callSite.getTarget();
+    }
+
+    /**
+     * Try and avoid unnecessary wrapping of exceptions thrown by the constructors and setters.
+     */
+    private static RuntimeException rethrow(Throwable throwable) {
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        } else if (throwable instanceof RuntimeException) {
+            return (RuntimeException) throwable;
+        } else {
+            return new RuntimeException(throwable);
+        }
+    }
+}
@@ -3,7 +3,10 @@ package com.robertboothby.djenni.lang;
 import com.robertboothby.djenni.ConfigurableSupplierBuilder;
 import com.robertboothby.djenni.core.StreamableSupplier;
 
-import java.util.concurrent.ThreadLocalRandom;
+import com.robertboothby.djenni.distribution.RandomSource;
+import com.robertboothby.djenni.distribution.RandomSources;
+
+import java.util.Objects;
 
 /**
  * Trivial supplier builder that simply supplies a random byte. No fancy distributions or anything else.
@@ -11,13 +14,22 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class ByteSupplierBuilder implements ConfigurableSupplierBuilder<Byte, ByteSupplierBuilder> {
 
+    private RandomSource randomSource = RandomSources.defaultSource();
+
     @Override
     public StreamableSupplier<Byte> build() {
-        return () -> {
-            byte[] single = new byte[1];
-            ThreadLocalRandom.current().nextBytes(single);
-            return single[0];
-        };
+        RandomSource randomSource = this.randomSource;
+        return () -> (byte) randomSource.current().nextInt();
+    }
+
+    /**
+     * Configure the source of randomness to use. Defaults to {@link RandomSources#defaultSource()}.
+     * @param randomSource the source of randomness.
+     * @return this builder for further configuration.
+     */
+    public ByteSupplierBuilder withRandomSource(RandomSource randomSource) {
+        this.randomSource = Objects.requireNonNull(randomSource, "randomSource");
+        return this;
     }
 
     public static ByteSupplierBuilder byteSupplier() {
@@ -5,15 +5,14 @@ import com.robertboothby.djenni.core.CharacterStrings;
 import com.robertboothby.djenni.core.StreamableSupplier;
 import com.robertboothby.djenni.core.SupplierHelper;
 import com.robertboothby.djenni.distribution.Distribution;
+import com.robertboothby.djenni.distribution.RandomSource;
+import com.robertboothby.djenni.distribution.RandomSources;
 import com.robertboothby.djenni.distribution.simple.SimpleRandomIntegerDistribution;
 
-import java.util.Arrays;
+import java.util.Objects;
 import java.util.function.Consumer;
-import java.util.function.Supplier;
 
-import static com.robertboothby.djenni.core.SupplierHelper.buildAn;
 import static com.robertboothby.djenni.core.SupplierHelper.fix;
-import static com.robertboothby.djenni.lang.IntegerSupplierBuilder.integerSupplier;
 import static java.util.Arrays.copyOf;
 
 /**
@@ -28,19 +27,17 @@ public class CharacterSupplierBuilder implements ConfigurableSupplierBuilder<Cha
 
     private char[] characters = DEFAULT_AVAILABLE_CHARACTERS .toCharArray();
     private Distribution<Integer, Integer> distribution = DEFAULT_CHARACTER_SELECTION_DISTRIBUTION;
+    private RandomSource randomSource;
 
     public StreamableSupplier<Character> build() {
         char[] characters = SupplierHelper.copy(this.characters);
+        Distribution<Integer, Integer> distribution = randomSource == null
+                ? this.distribution
+                : this.distribution.withRandomSource(randomSource);
         if(characters.length == 1){
             return fix(characters[0]);
         } else if (characters.length > 1) {
-            char[] charactersCopy = Arrays.copyOf(characters, characters.length);
-            Supplier<Integer> positionGenerator = buildAn(
-                    integerSupplier()
-                            .between(0)
-                            .and(characters.length)
-                            .withDistribution(distribution));
-            return () -> charactersCopy[positionGenerator.get()];
+            return SupplierHelper.fromValues(distribution, characters);
         } else {
             throw new IllegalArgumentException("There must be some characters to generate.");
         }
@@ -61,6 +58,21 @@ public class CharacterSupplierBuilder implements ConfigurableSupplierBuilder<Cha
         return this;
     }
 
+    /**
+     * Configure the source of randomness that the distribution will draw on, for example a seeded source from
+     * {@link RandomSources} for reproducible runs. By default each distribution uses its own source, normally the global
+     * {@link RandomSources#defaultSource()}.
+     * The configured distribution must support {@link Distribution#withRandomSource(RandomSource)}; a custom
+     * distribution that does not makes {@code build()} fail with an {@link UnsupportedOperationException} rather than
+     * ignore the source.
+     * @param randomSource the source of randomness.
+     * @return this builder for further configuration.
+     */
+    public CharacterSupplierBuilder withRandomSource(RandomSource randomSource) {
+        this.randomSource = Objects.requireNonNull(randomSource, "randomSource");
+        return this;
+    }
+
     public static CharacterSupplierBuilder characterSupplier(){
         return new CharacterSupplierBuilder();
     }
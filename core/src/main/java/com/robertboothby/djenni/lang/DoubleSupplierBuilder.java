@@ -1,11 +1,16 @@
 package com.robertboothby.djenni.lang;
 
 import com.robertboothby.djenni.ConfigurableSupplierBuilder;
+import com.robertboothby.djenni.core.DoubleStreamableSupplier;
 import com.robertboothby.djenni.core.StreamableSupplier;
 import com.robertboothby.djenni.distribution.Distribution;
+import com.robertboothby.djenni.distribution.DoubleDistribution;
+import com.robertboothby.djenni.distribution.RandomSource;
+import com.robertboothby.djenni.distribution.RandomSources;
 import com.robertboothby.djenni.distribution.simple.SimpleRandomDoubleDistribution;
 import com.robertboothby.djenni.sugar.And;
 
+import java.util.Objects;
 import java.util.function.Consumer;
 
 
@@ -21,11 +26,27 @@ public class DoubleSupplierBuilder implements ConfigurableSupplierBuilder<Double
 
     private Double range = 0.0D;
 
+    private RandomSource randomSource;
+
     @Override
     public StreamableSupplier<Double> build() {
-        Double minimumValue = this.minimumValue;
-        Double range = this.range;
-        Distribution<Double, Double> distribution = this.distribution;
+        return buildDouble();
+    }
+
+    /**
+     * Build a primitive specialised supplier based on the current configuration state. The supplier avoids boxing when
+     * used through {@link DoubleStreamableSupplier#getAsDouble()}.
+     * @return an instance of the supplier.
+     */
+    public DoubleStreamableSupplier buildDouble() {
+        double minimumValue = this.minimumValue;
+        double range = this.range;
+        Distribution<Double, Double> distribution = randomSource == null
+                ? this.distribution
+                : this.distribution.withRandomSource(randomSource);
+        if (distribution instanceof DoubleDistribution doubleDistribution) {
+            return () -> minimumValue + doubleDistribution.generate(range);
+        }
         return () -> minimumValue + distribution.generate(range);
     }
 
@@ -39,6 +60,21 @@ public class DoubleSupplierBuilder implements ConfigurableSupplierBuilder<Double
         return this;
     }
 
+    /**
+     * Configure the source of randomness that the distribution will draw on, for example a seeded source from
+     * {@link RandomSources} for reproducible runs. By default each distribution uses its own source, normally the global
+     * {@link RandomSources#defaultSource()}.
+     * The configured distribution must support {@link Distribution#withRandomSource(RandomSource)}; a custom
+     * distribution that does not makes {@code build()} fail with an {@link UnsupportedOperationException} rather than
+     * ignore the source.
+     * @param randomSource the source of randomness.
+     * @return this builder for further configuration.
+     */
+    public DoubleSupplierBuilder withRandomSource(RandomSource randomSource) {
+        this.randomSource = Objects.requireNonNull(randomSource, "randomSource");
+        return this;
+    }
+
     /**
      * Define the range of values to be supplied between minimum value (inclusive) and maximum valuee exclusive.
      * @param minimumValue The minimum value to use.
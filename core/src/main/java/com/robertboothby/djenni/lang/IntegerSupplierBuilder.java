@@ -1,14 +1,23 @@
 package com.robertboothby.djenni.lang;
 
 import com.robertboothby.djenni.ConfigurableSupplierBuilder;
+import com.robertboothby.djenni.core.BlockSequence;
+import com.robertboothby.djenni.core.BlockSequence.Exhaustion;
+import com.robertboothby.djenni.core.GenerationContext;
+import com.robertboothby.djenni.core.IntStreamableSupplier;
 import com.robertboothby.djenni.core.StreamableSupplier;
 import com.robertboothby.djenni.distribution.Distribution;
+import com.robertboothby.djenni.distribution.IntDistribution;
+import com.robertboothby.djenni.distribution.RandomSource;
+import com.robertboothby.djenni.distribution.RandomSources;
 import com.robertboothby.djenni.distribution.simple.SimpleRandomIntegerDistribution;
 import com.robertboothby.djenni.sugar.And;
 
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
-import static com.robertboothby.djenni.core.SupplierHelper.fix;
+import static com.robertboothby.djenni.core.BlockSequence.blockSequence;
 
 /**
  * Builder designed to make it easy and expressive to configure a supplier of Integer values.
@@ -25,29 +34,81 @@ public class IntegerSupplierBuilder implements ConfigurableSupplierBuilder<Integ
     private int maxExclusiveValue = MAX_EXCLUSIVE_VALUE_DEFAULT;
     private Distribution<Integer, Integer> distribution = DISTRIBUTION_DEFAULT;
     private boolean sequential = false;
+    private boolean uniqueSequential = false;
+    private int step = 1;
+    private int blockSize = BlockSequence.DEFAULT_BLOCK_SIZE;
+    private Exhaustion exhaustion = Exhaustion.WRAP;
+    private RandomSource randomSource;
 
     public StreamableSupplier<Integer> build() {
+        return buildInt();
+    }
+
+    /**
+     * Build a primitive specialised supplier based on the current configuration state. The supplier avoids boxing when
+     * used through {@link IntStreamableSupplier#getAsInt()}.
+     * @return an instance of the supplier.
+     */
+    public IntStreamableSupplier buildInt() {
         int minInclusiveValue = this.minInclusiveValue;
         int maxExclusiveValue = this.maxExclusiveValue;
-        Distribution<Integer, Integer> distribution = this.distribution;
+        Distribution<Integer, Integer> distribution = randomSource == null
+                ? this.distribution
+                : this.distribution.withRandomSource(randomSource);
         boolean sequential = this.sequential;
 
-        if(maxExclusiveValue - minInclusiveValue == 1){
-            return fix(minInclusiveValue);
+        //A unique sequence must still be exhausted after its single value, so it is checked before the constant case.
+        if (uniqueSequential){
+            BlockSequence sequence = blockSequence(minInclusiveValue, maxExclusiveValue, step, blockSize, exhaustion);
+            return () -> (int) sequence.getAsLong();
+        } else if(maxExclusiveValue - minInclusiveValue == 1){
+            return () -> minInclusiveValue;
         } else if (sequential){
-            ThreadLocal<Integer> perThread = ThreadLocal.withInitial(() -> minInclusiveValue);
+            //A single element array per thread to hold the counter without boxing.
+            ThreadLocal<int[]> perThread = ThreadLocal.withInitial(() -> new int[]{minInclusiveValue});
+            //Within a generation context the sequence belongs to the context and may be advanced from several threads.
+            Object contextKey = new Object();
             return () -> {
-                int value = perThread.get();
+                GenerationContext context = GenerationContext.current();
+                if (context != null) {
+                    AtomicInteger sequence = context.state(contextKey, () -> new AtomicInteger(minInclusiveValue));
+                    return sequence.getAndUpdate($ -> $ + 1 >= maxExclusiveValue ? minInclusiveValue : $ + 1);
+                }
+                int[] counter = perThread.get();
+                int value = counter[0];
                 int newValue = value + 1;
                 if(newValue >= maxExclusiveValue){
                     newValue = minInclusiveValue;
                 }
-                perThread.set(newValue);
+                counter[0] = newValue;
                 return value;
             };
         } else {
             int range = maxExclusiveValue - minInclusiveValue;
-            return () -> minInclusiveValue + distribution.generate(range);
+            //Fixed ranges of non-uniform simple distributions are cheaper to draw from a precomputed table.
+            Distribution<Integer, Integer> rangeDistribution =
+                    distribution instanceof SimpleRandomIntegerDistribution simpleDistribution
+                            ? simpleDistribution.forBound(range)
+                            : distribution;
+            if (rangeDistribution instanceof IntDistribution intDistribution) {
+                return new IntStreamableSupplier() {
+                    @Override
+                    public int getAsInt() {
+                        return minInclusiveValue + intDistribution.generate(range);
+                    }
+
+                    @Override
+                    public void fill(int[] target) {
+                        intDistribution.generate(range, target);
+                        if (minInclusiveValue != 0) {
+                            for (int i = 0; i < target.length; i++) {
+                                target[i] += minInclusiveValue;
+                            }
+                        }
+                    }
+                };
+            }
+            return () -> minInclusiveValue + rangeDistribution.generate(range);
         }
     }
 
@@ -74,13 +135,74 @@ public class IntegerSupplierBuilder implements ConfigurableSupplierBuilder<Integ
         return this;
     }
 
+    /**
+     * Configure the source of randomness that the distribution will draw on, for example a seeded source from
+     * {@link RandomSources} for reproducible runs. By default each distribution uses its own source, normally the global
+     * {@link RandomSources#defaultSource()}.
+     * The configured distribution must support {@link Distribution#withRandomSource(RandomSource)}; a custom
+     * distribution that does not makes {@code build()} fail with an {@link UnsupportedOperationException} rather than
+     * ignore the source.
+     * @param randomSource the source of randomness.
+     * @return this builder for further configuration.
+     */
+    public IntegerSupplierBuilder withRandomSource(RandomSource randomSource) {
+        this.randomSource = Objects.requireNonNull(randomSource, "randomSource");
+        return this;
+    }
+
     /**
      * Configure the supplier being built to supply the range sequentially within the range of values rolling over to
-     * the beginning when the range is exhausted.
+     * the beginning when the range is exhausted. Each thread has its own sequence unless it is running work in a
+     * {@link GenerationContext}, in which case the sequence belongs to the context.
      * @return this builder for further configuration.
      */
     public IntegerSupplierBuilder sequential() {
         this.sequential = true;
+        this.uniqueSequential = false;
+        return this;
+    }
+
+    /**
+     * Configure the supplier being built to supply a single sequence through the range that is shared by all threads,
+     * so that every value is unique until the range is exhausted, for example to generate surrogate keys. Each thread
+     * reserves a block of values at a time from a shared counter; see {@link BlockSequence} for the trade offs.
+     * @return this builder for further configuration.
+     */
+    public IntegerSupplierBuilder uniqueSequential() {
+        this.uniqueSequential = true;
+        this.sequential = false;
+        return this;
+    }
+
+    /**
+     * Configure the difference between successive values of a unique sequence. Defaults to 1.
+     * @param step the difference between successive values.
+     * @return this builder for further configuration.
+     */
+    public IntegerSupplierBuilder step(int step) {
+        this.step = step;
+        return this;
+    }
+
+    /**
+     * Configure the number of values of a unique sequence that each thread reserves at a time. Defaults to
+     * {@link BlockSequence#DEFAULT_BLOCK_SIZE}.
+     * @param blockSize the number of values reserved at a time.
+     * @return this builder for further configuration.
+     */
+    public IntegerSupplierBuilder blockSize(int blockSize) {
+        this.blockSize = blockSize;
+        return this;
+    }
+
+    /**
+     * Configure what a unique sequence does once every value in the range has been supplied. Defaults to
+     * {@link Exhaustion#WRAP}.
+     * @param exhaustion what to do when the range is exhausted.
+     * @return this builder for further configuration.
+     */
+    public IntegerSupplierBuilder whenExhausted(Exhaustion exhaustion) {
+        this.exhaustion = Objects.requireNonNull(exhaustion, "exhaustion");
         return this;
     }
 
@@ -90,6 +212,7 @@ public class IntegerSupplierBuilder implements ConfigurableSupplierBuilder<Integ
      */
     public IntegerSupplierBuilder random() {
         this.sequential = false;
+        this.uniqueSequential = false;
         return this;
     }
 
@@ -1,12 +1,20 @@
 package com.robertboothby.djenni.lang;
 
 import com.robertboothby.djenni.ConfigurableSupplierBuilder;
+import com.robertboothby.djenni.core.BlockSequence;
+import com.robertboothby.djenni.core.BlockSequence.Exhaustion;
+import com.robertboothby.djenni.core.LongStreamableSupplier;
 import com.robertboothby.djenni.core.StreamableSupplier;
-import com.robertboothby.djenni.core.SupplierHelper;
 import com.robertboothby.djenni.distribution.Distribution;
+import com.robertboothby.djenni.distribution.LongDistribution;
+import com.robertboothby.djenni.distribution.RandomSource;
+import com.robertboothby.djenni.distribution.RandomSources;
 import com.robertboothby.djenni.distribution.simple.SimpleRandomLongDistribution;
 import com.robertboothby.djenni.sugar.And;
 
+import java.util.Objects;
+
+import static com.robertboothby.djenni.core.BlockSequence.blockSequence;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
@@ -25,21 +33,42 @@ public class LongSupplierBuilder implements ConfigurableSupplierBuilder<Long, Lo
     private long minInclusiveValue = MIN_INCLUSIVE_VALUE_DEFAULT;
     private long maxExclusiveValue = MAX_EXCLUSIVE_VALUE_DEFAULT;
     private Distribution<Long, Long> distribution = DISTRIBUTION_DEFAULT;
+    private boolean uniqueSequential = false;
+    private long step = 1;
+    private int blockSize = BlockSequence.DEFAULT_BLOCK_SIZE;
+    private Exhaustion exhaustion = Exhaustion.WRAP;
+    private RandomSource randomSource;
 
     public StreamableSupplier<Long> build() {
+        return buildLong();
+    }
+
+    /**
+     * Build a primitive specialised supplier based on the current configuration state. The supplier avoids boxing when
+     * used through {@link LongStreamableSupplier#getAsLong()}.
+     * @return an instance of the supplier.
+     */
+    public LongStreamableSupplier buildLong() {
         long minInclusiveValue = this.minInclusiveValue;
         long maxExclusiveValue = this.maxExclusiveValue;
-        Distribution<Long, Long> distribution = this.distribution;
-        if(maxExclusiveValue - minInclusiveValue == 1){
-            return SupplierHelper.fix(minInclusiveValue);
+        Distribution<Long, Long> distribution = randomSource == null
+                ? this.distribution
+                : this.distribution.withRandomSource(randomSource);
+        //A unique sequence must still be exhausted after its single value, so it is checked before the constant case.
+        if (uniqueSequential) {
+            return blockSequence(minInclusiveValue, maxExclusiveValue, step, blockSize, exhaustion);
+        } else if(maxExclusiveValue - minInclusiveValue == 1){
+            return () -> minInclusiveValue;
         } else {
-            Long range = maxExclusiveValue - minInclusiveValue;
+            long range = maxExclusiveValue - minInclusiveValue;
             assertThat("Range should be greater than 0 but less than " + Long.MAX_VALUE, range, is(greaterThan(0L)));
+            if (distribution instanceof LongDistribution longDistribution) {
+                return () -> minInclusiveValue + longDistribution.generate(range);
+            }
             return () -> minInclusiveValue + distribution.generate(range);
         }
     }
 
-
     /**
      * Set the minimum and maximum inclusive values.
      * @param minInclusiveValue The minimum inclusive value.
@@ -65,6 +94,73 @@ public class LongSupplierBuilder implements ConfigurableSupplierBuilder<Long, Lo
         return this;
     }
 
+    /**
+     * Configure the source of randomness that the distribution will draw on, for example a seeded source from
+     * {@link RandomSources} for reproducible runs. By default each distribution uses its own source, normally the global
+     * {@link RandomSources#defaultSource()}.
+     * The configured distribution must support {@link Distribution#withRandomSource(RandomSource)}; a custom
+     * distribution that does not makes {@code build()} fail with an {@link UnsupportedOperationException} rather than
+     * ignore the source.
+     * @param randomSource the source of randomness.
+     * @return this builder for further configuration.
+     */
+    public LongSupplierBuilder withRandomSource(RandomSource randomSource) {
+        this.randomSource = Objects.requireNonNull(randomSource, "randomSource");
+        return this;
+    }
+
+    /**
+     * Configure the supplier being built to supply a single sequence through the range that is shared by all threads,
+     * so that every value is unique until the range is exhausted, for example to generate surrogate keys. Each thread
+     * reserves a block of values at a time from a shared counter; see {@link BlockSequence} for the trade offs.
+     * @return this builder for further configuration.
+     */
+    public LongSupplierBuilder uniqueSequential() {
+        this.uniqueSequential = true;
+        return this;
+    }
+
+    /**
+     * Configure the difference between successive values of a unique sequence. Defaults to 1.
+     * @param step the difference between successive values.
+     * @return this builder for further configuration.
+     */
+    public LongSupplierBuilder step(long step) {
+        this.step = step;
+        return this;
+    }
+
+    /**
+     * Configure the number of values of a unique sequence that each thread reserves at a time. Defaults to
+     * {@link BlockSequence#DEFAULT_BLOCK_SIZE}.
+     * @param blockSize the number of values reserved at a time.
+     * @return this builder for further configuration.
+     */
+    public LongSupplierBuilder blockSize(int blockSize) {
+        this.blockSize = blockSize;
+        return this;
+    }
+
+    /**
+     * Configure what a unique sequence does once every value in the range has been supplied. Defaults to
+     * {@link Exhaustion#WRAP}.
+     * @param exhaustion what to do when the range is exhausted.
+     * @return this builder for further configuration.
+     */
+    public LongSupplierBuilder whenExhausted(Exhaustion exhaustion) {
+        this.exhaustion = Objects.requireNonNull(exhaustion, "exhaustion");
+        return this;
+    }
+
+    /**
+     * Configure the supplier being built to be random within the range of values. This is the default configuration.
+     * @return this builder for further configuration.
+     */
+    public LongSupplierBuilder random() {
+        this.uniqueSequential = false;
+        return this;
+    }
+
     /**
      * Configure the integer generator to return a single, exact value;
      * @param onlyValue The only value that the integer generator will return.
@@ -2,16 +2,21 @@ package com.robertboothby.djenni.lang;
 
 import com.robertboothby.djenni.ConfigurableSupplierBuilder;
 import com.robertboothby.djenni.core.CharacterStrings;
+import com.robertboothby.djenni.core.IntStreamableSupplier;
 import com.robertboothby.djenni.core.StreamableSupplier;
 import com.robertboothby.djenni.distribution.Distribution;
+import com.robertboothby.djenni.distribution.RandomSource;
+import com.robertboothby.djenni.distribution.RandomSources;
 import com.robertboothby.djenni.distribution.simple.SimpleRandomDoubleDistribution;
 import com.robertboothby.djenni.distribution.simple.SimpleRandomIntegerDistribution;
 import com.robertboothby.djenni.sugar.And;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 import java.util.function.Consumer;
-import java.util.function.Supplier;
 
-import static com.robertboothby.djenni.lang.CharacterSupplierBuilder.characterSupplier;
 import static com.robertboothby.djenni.lang.IntegerSupplierBuilder.integerSupplier;
 
 /**
@@ -37,28 +42,114 @@ public class StringSupplierBuilder implements ConfigurableSupplierBuilder<String
     private String availableCharacters = DEFAULT_AVAILABLE_CHARACTERS;
     public static final Distribution<Integer, Integer> DEFAULT_CHARACTER_SELECTION_DISTRIBUTION = SimpleRandomIntegerDistribution.UNIFORM;
     private Distribution<Integer, Integer> characterSelectionDistribution = DEFAULT_CHARACTER_SELECTION_DISTRIBUTION;
+    private RandomSource randomSource;
+    //The most character positions drawn together when filling in bulk, unless a single string is longer.
+    private static final int MAX_POSITIONS_PER_DRAW = 8192;
 
     public StreamableSupplier<String> build() {
         int minimumLength = this.minimumLength;
         int maximumLength = this.maximumLength;
-        Distribution<Integer, Integer> lengthDistribution = this.lengthDistribution;
+        Distribution<Integer, Integer> lengthDistribution = randomSource == null
+                ? this.lengthDistribution
+                : this.lengthDistribution.withRandomSource(randomSource);
         String availableCharacters = this.availableCharacters;
-        Distribution<Integer, Integer> characterSelectionDistribution = this.characterSelectionDistribution;
+        Distribution<Integer, Integer> characterSelectionDistribution = randomSource == null
+                ? this.characterSelectionDistribution
+                : this.characterSelectionDistribution.withRandomSource(randomSource);
 
-        Supplier<Integer> lengths = integerSupplier(
-                builder -> builder
-                        .between(minimumLength)
-                        .and(maximumLength)
-                        .withDistribution(lengthDistribution)
-        );
+        IntStreamableSupplier lengths = integerSupplier()
+                .between(minimumLength)
+                .and(maximumLength)
+                .withDistribution(lengthDistribution)
+                .buildInt();
 
-        StreamableSupplier<Character> characters = characterSupplier(
-                builder -> builder
-                        .withCharacters(availableCharacters)
-                        .withDistribution(characterSelectionDistribution)
-        );
-        return () -> characters.stream(lengths.get())
-                .collect(StringBuilder::new, StringBuilder::append, StringBuilder::append).toString();
+        if (availableCharacters.isEmpty()) {
+            throw new IllegalArgumentException("There must be some characters to generate.");
+        }
+        char[] alphabet = availableCharacters.toCharArray();
+        //Latin-1 alphabets can be written straight into the compact byte representation used by String.
+        byte[] latin1Alphabet = isLatin1(alphabet) ? availableCharacters.getBytes(StandardCharsets.ISO_8859_1) : null;
+        IntStreamableSupplier positions = integerSupplier()
+                .between(0)
+                .and(alphabet.length)
+                .withDistribution(characterSelectionDistribution)
+                .buildInt();
+        return new StreamableSupplier<>() {
+            @Override
+            public String get() {
+                int length = lengths.getAsInt();
+                if (latin1Alphabet != null) {
+                    byte[] value = new byte[length];
+                    for (int i = 0; i < length; i++) {
+                        value[i] = latin1Alphabet[positions.getAsInt()];
+                    }
+                    return new String(value, StandardCharsets.ISO_8859_1);
+                }
+                char[] value = new char[length];
+                for (int i = 0; i < length; i++) {
+                    value[i] = alphabet[positions.getAsInt()];
+                }
+                return new String(value);
+            }
+
+            @Override
+            public void fill(String[] target) {
+                String[] batch = batch(target.length);
+                System.arraycopy(batch, 0, target, 0, batch.length);
+            }
+
+            @Override
+            public void fill(List<? super String> target, int numberOfValues) {
+                Collections.addAll(target, batch(numberOfValues));
+            }
+
+            /**
+             * Draw all of the lengths, then the character positions in bulk for groups of strings, so the positions
+             * held at once stay bounded however many strings are requested and however long they are.
+             */
+            private String[] batch(int numberOfValues) {
+                int[] stringLengths = new int[numberOfValues];
+                lengths.fill(stringLengths);
+                String[] batch = new String[numberOfValues];
+                int first = 0;
+                while (first < numberOfValues) {
+                    int end = first + 1;
+                    int groupLength = stringLengths[first];
+                    while (end < numberOfValues && stringLengths[end] <= MAX_POSITIONS_PER_DRAW - groupLength) {
+                        groupLength += stringLengths[end++];
+                    }
+                    int[] characterPositions = new int[groupLength];
+                    positions.fill(characterPositions);
+                    int position = 0;
+                    for (int i = first; i < end; i++) {
+                        if (latin1Alphabet != null) {
+                            byte[] value = new byte[stringLengths[i]];
+                            for (int j = 0; j < value.length; j++) {
+                                value[j] = latin1Alphabet[characterPositions[position++]];
+                            }
+                            batch[i] = new String(value, StandardCharsets.ISO_8859_1);
+                        } else {
+                            char[] value = new char[stringLengths[i]];
+                            for (int j = 0; j < value.length; j++) {
+                                value[j] = alphabet[characterPositions[position++]];
+                            }
+                            batch[i] = new String(value);
+                        }
+                    }
+                    first = end;
+                }
+                return batch;
+            }
+        };
+    }
+
+    private static boolean isLatin1(char[] characters) {
+        for (char character : characters) {
+            if (character > 0xFF) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -192,6 +283,21 @@ public class StringSupplierBuilder implements ConfigurableSupplierBuilder<String
         return this;
     }
 
+    /**
+     * Configure the source of randomness that the distributions for both length and character selection will draw on, for example a seeded source from
+     * {@link RandomSources} for reproducible runs. By default each distribution uses its own source, normally the global
+     * {@link RandomSources#defaultSource()}.
+     * The configured distributions must support {@link Distribution#withRandomSource(RandomSource)}; a custom
+     * distribution that does not makes {@code build()} fail with an {@link UnsupportedOperationException} rather than
+     * ignore the source.
+     * @param randomSource the source of randomness.
+     * @return this builder for further configuration.
+     */
+    public StringSupplierBuilder withRandomSource(RandomSource randomSource) {
+        this.randomSource = Objects.requireNonNull(randomSource, "randomSource");
+        return this;
+    }
+
     /**
      * Get an instance of the builder for usage.
      *
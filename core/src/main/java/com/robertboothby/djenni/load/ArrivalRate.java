@@ -0,0 +1,147 @@
+package com.robertboothby.djenni.load;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * The rate at which a {@link RateDrivenEmitter} starts emissions: constant, or ramping linearly from one rate to
+ * another and then holding, with arrivals either evenly spaced or forming a Poisson process.
+ * <p>
+ * The schedule is worked out from the expected number of arrivals since the start, {@code Λ(t)}, so that it never
+ * drifts. Evenly spaced arrival {@code k} is intended to start at the time when {@code Λ(t) = k}. Poisson arrivals
+ * start where {@code Λ(t)} reaches a running sum of exponentially distributed steps with a mean of 1, which gives a
+ * Poisson process of the same, possibly changing, rate.
+ */
+public final class ArrivalRate {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final double fromPerSecond;
+    private final double toPerSecond;
+    private final double rampSeconds;
+    private final boolean poisson;
+
+    private ArrivalRate(double fromPerSecond, double toPerSecond, double rampSeconds, boolean poisson) {
+        this.fromPerSecond = fromPerSecond;
+        this.toPerSecond = toPerSecond;
+        this.rampSeconds = rampSeconds;
+        this.poisson = poisson;
+    }
+
+    /**
+     * Arrive at a constant rate.
+     * @param perSecond the number of arrivals per second.
+     * @return the arrival rate.
+     */
+    public static ArrivalRate constant(double perSecond) {
+        if (!(perSecond > 0) || Double.isInfinite(perSecond)) {
+            throw new IllegalArgumentException("The rate must be positive but was " + perSecond);
+        }
+        return new ArrivalRate(perSecond, perSecond, 0, false);
+    }
+
+    /**
+     * Arrive at a rate that changes linearly from one rate to another over a period and then holds.
+     * @param fromPerSecond the number of arrivals per second at the start, which may be 0.
+     * @param toPerSecond the number of arrivals per second at the end of the ramp and afterwards.
+     * @param over the duration of the ramp.
+     * @return the arrival rate.
+     */
+    public static ArrivalRate ramp(double fromPerSecond, double toPerSecond, Duration over) {
+        if (!(fromPerSecond >= 0) || Double.isInfinite(fromPerSecond)) {
+            throw new IllegalArgumentException("The starting rate cannot be negative but was " + fromPerSecond);
+        }
+        if (!(toPerSecond > 0) || Double.isInfinite(toPerSecond)) {
+            throw new IllegalArgumentException("The final rate must be positive but was " + toPerSecond);
+        }
+        if (over.isNegative()) {
+            throw new IllegalArgumentException("The duration of the ramp cannot be negative but was " + over);
+        }
+        return new ArrivalRate(fromPerSecond, toPerSecond, over.toNanos() / NANOS_PER_SECOND, false);
+    }
+
+    /**
+     * @return a copy of this arrival rate whose arrivals form a Poisson process of the same rate, with exponentially
+     * distributed gaps between them, rather than being evenly spaced.
+     */
+    public ArrivalRate poisson() {
+        return new ArrivalRate(fromPerSecond, toPerSecond, rampSeconds, true);
+    }
+
+    /**
+     * @return true if the arrivals form a Poisson process.
+     */
+    public boolean isPoisson() {
+        return poisson;
+    }
+
+    /**
+     * @param elapsed the time since the start.
+     * @return the number of arrivals per second at the time.
+     */
+    public double perSecond(Duration elapsed) {
+        double seconds = elapsed.toNanos() / NANOS_PER_SECOND;
+        return seconds < rampSeconds
+                ? fromPerSecond + (toPerSecond - fromPerSecond) * seconds / rampSeconds
+                : toPerSecond;
+    }
+
+    /**
+     * @param elapsed the time since the start.
+     * @return the number of arrivals expected between the start and the time.
+     */
+    public double expectedArrivals(Duration elapsed) {
+        return expectedArrivals(elapsed.toNanos() / NANOS_PER_SECOND);
+    }
+
+    private double expectedArrivals(double seconds) {
+        if (seconds < rampSeconds) {
+            return fromPerSecond * seconds + (toPerSecond - fromPerSecond) * seconds * seconds / (2 * rampSeconds);
+        }
+        return (fromPerSecond + toPerSecond) * rampSeconds / 2 + toPerSecond * (seconds - rampSeconds);
+    }
+
+    /**
+     * @param arrivals a number of expected arrivals.
+     * @return the time in nanoseconds since the start at which that number of arrivals is expected.
+     */
+    long nanosAt(double arrivals) {
+        double arrivalsDuringRamp = expectedArrivals(rampSeconds);
+        double seconds;
+        if (arrivals >= arrivalsDuringRamp) {
+            seconds = rampSeconds + (arrivals - arrivalsDuringRamp) / toPerSecond;
+        } else {
+            //Solve fromPerSecond * t + slope * t^2 / 2 = arrivals for t.
+            double slope = (toPerSecond - fromPerSecond) / rampSeconds;
+            seconds = slope == 0
+                    ? arrivals / fromPerSecond
+                    : (Math.sqrt(Math.max(0, fromPerSecond * fromPerSecond + 2 * slope * arrivals)) - fromPerSecond) / slope;
+        }
+        return (long) (seconds * NANOS_PER_SECOND);
+    }
+
+    /**
+     * @param random the source of randomness for Poisson arrivals.
+     * @return the expected arrivals at which the first arrival is intended to start.
+     */
+    double firstArrival(RandomGenerator random) {
+        return poisson ? random.nextExponential() : 0;
+    }
+
+    /**
+     * @param arrivals the expected arrivals at which the last arrival was intended to start.
+     * @param random the source of randomness for Poisson arrivals.
+     * @return the expected arrivals at which the next arrival is intended to start.
+     */
+    double nextArrival(double arrivals, RandomGenerator random) {
+        return poisson ? arrivals + random.nextExponential() : arrivals + 1;
+    }
+
+    @Override
+    public String toString() {
+        String rate = rampSeconds == 0
+                ? toPerSecond + "/s"
+                : fromPerSecond + "/s to " + toPerSecond + "/s over " + rampSeconds + "s";
+        return poisson ? rate + " (Poisson)" : rate;
+    }
+}
@@ -0,0 +1,62 @@
+package com.robertboothby.djenni.load;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * What a {@link RateDrivenEmitter} emitted, how closely it kept to its target rate and the latencies it recorded.
+ * @param arrivalRate the target arrival rate.
+ * @param duration the duration that emissions were started for.
+ * @param emitted the number of emissions started.
+ * @param failed the number of emissions whose consumer threw an exception.
+ * @param elapsed the time from the start until the last emission was started, or the duration if that is longer.
+ * @param latency the time from the intended start of each successful emission until its consumer returned, which
+ *                includes any delay in starting it and so is corrected for coordinated omission.
+ * @param serviceTime the time taken by the consumer of each successful emission alone.
+ * @param maxStartDelay the longest time that an emission was started after its intended start.
+ */
+public record EmissionReport(ArrivalRate arrivalRate, Duration duration, long emitted, long failed, Duration elapsed,
+                             LatencyHistogram latency, LatencyHistogram serviceTime, Duration maxStartDelay) {
+
+    /**
+     * @return the number of emissions that the arrival rate called for over the duration.
+     */
+    public double targetEmissions() {
+        return arrivalRate.expectedArrivals(duration);
+    }
+
+    /**
+     * @return the mean number of emissions per second that the arrival rate called for.
+     */
+    public double targetPerSecond() {
+        return targetEmissions() / seconds(duration);
+    }
+
+    /**
+     * @return the mean number of emissions started per second.
+     */
+    public double achievedPerSecond() {
+        return emitted / seconds(elapsed);
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toNanos() / 1_000_000_000d;
+    }
+
+    /**
+     * @return a one line summary of the rates and the latency percentiles in milliseconds.
+     */
+    public String summary() {
+        return String.format(Locale.ROOT,
+                "target %.1f/s, achieved %.1f/s (%d emitted, %d failed); latency ms p50=%.3f p90=%.3f p99=%.3f "
+                        + "p99.9=%.3f max=%.3f; max start delay %.3f ms",
+                targetPerSecond(), achievedPerSecond(), emitted, failed,
+                millis(latency.valueAtPercentile(50)), millis(latency.valueAtPercentile(90)),
+                millis(latency.valueAtPercentile(99)), millis(latency.valueAtPercentile(99.9)),
+                millis(latency.max()), millis(maxStartDelay.toNanos()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000d;
+    }
+}
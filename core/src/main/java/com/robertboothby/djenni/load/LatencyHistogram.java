@@ -0,0 +1,189 @@
+package com.robertboothby.djenni.load;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of latencies in nanoseconds with log-linear buckets, in the style of HdrHistogram. Values are grouped
+ * into buckets that double in width, each divided into enough linear sub-buckets to keep the given number of
+ * significant decimal digits, so any value up to the highest trackable value is recorded with a fixed relative
+ * precision in a fixed, small amount of memory. Recording is lock free and may be done from any number of threads.
+ * <p>
+ * {@link #recordWithExpectedInterval(long, long)} corrects for coordinated omission where a load generator only issues
+ * a request once the previous one has completed, back-filling the samples that a stall prevented from being taken.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The default highest trackable value, one hour in nanoseconds.
+     */
+    public static final long DEFAULT_HIGHEST_TRACKABLE_VALUE = 3_600_000_000_000L;
+
+    /**
+     * The default number of significant decimal digits.
+     */
+    public static final int DEFAULT_SIGNIFICANT_DIGITS = 3;
+
+    private final long highestTrackableValue;
+    private final int subBucketHalfCountMagnitude;
+    private final int subBucketHalfCount;
+    private final long subBucketMask;
+    private final int leadingZeroCountBase;
+    private final AtomicLongArray counts;
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+    private final LongAccumulator min = new LongAccumulator(Long::min, Long.MAX_VALUE);
+
+    private LatencyHistogram(long highestTrackableValue, int significantDigits) {
+        if (highestTrackableValue < 2) {
+            throw new IllegalArgumentException("The highest trackable value must be at least 2 but was " + highestTrackableValue);
+        }
+        if (significantDigits < 1 || significantDigits > 5) {
+            throw new IllegalArgumentException("The significant digits must be between 1 and 5 but was " + significantDigits);
+        }
+        this.highestTrackableValue = highestTrackableValue;
+        long largestValueWithSingleUnitResolution = 2 * (long) Math.pow(10, significantDigits);
+        int subBucketCountMagnitude = (int) Math.ceil(Math.log(largestValueWithSingleUnitResolution) / Math.log(2));
+        this.subBucketHalfCountMagnitude = subBucketCountMagnitude - 1;
+        int subBucketCount = 1 << subBucketCountMagnitude;
+        this.subBucketHalfCount = subBucketCount / 2;
+        this.subBucketMask = subBucketCount - 1;
+        this.leadingZeroCountBase = 64 - subBucketHalfCountMagnitude - 1;
+        //Enough buckets, each twice as wide as the last, to reach the highest trackable value.
+        long smallestUntrackableValue = subBucketCount;
+        int bucketCount = 1;
+        while (smallestUntrackableValue <= highestTrackableValue) {
+            if (smallestUntrackableValue > Long.MAX_VALUE / 2) {
+                bucketCount++;
+                break;
+            }
+            smallestUntrackableValue <<= 1;
+            bucketCount++;
+        }
+        this.counts = new AtomicLongArray((bucketCount + 1) * subBucketHalfCount);
+    }
+
+    /**
+     * Create a histogram tracking values up to {@link #DEFAULT_HIGHEST_TRACKABLE_VALUE} with
+     * {@link #DEFAULT_SIGNIFICANT_DIGITS} significant digits, which takes about 270KB.
+     * @return a new, empty histogram.
+     */
+    public static LatencyHistogram latencyHistogram() {
+        return new LatencyHistogram(DEFAULT_HIGHEST_TRACKABLE_VALUE, DEFAULT_SIGNIFICANT_DIGITS);
+    }
+
+    /**
+     * Create a histogram.
+     * @param highestTrackableValue the highest value recorded precisely; higher values are recorded as this value.
+     * @param significantDigits the number of significant decimal digits kept, from 1 to 5.
+     * @return a new, empty histogram.
+     */
+    public static LatencyHistogram latencyHistogram(long highestTrackableValue, int significantDigits) {
+        return new LatencyHistogram(highestTrackableValue, significantDigits);
+    }
+
+    /**
+     * Record a value.
+     * @param value the value, in nanoseconds. Negative values are recorded as 0.
+     */
+    public void record(long value) {
+        long clamped = Math.min(Math.max(0, value), highestTrackableValue);
+        counts.incrementAndGet(countsIndex(clamped));
+        totalCount.increment();
+        total.add(clamped);
+        max.accumulate(clamped);
+        min.accumulate(clamped);
+    }
+
+    /**
+     * Record a value, correcting for coordinated omission. When the value is larger than the interval at which
+     * values are expected, the samples that would have been taken during it had the recorder not been held up are
+     * recorded as well, with values decreasing by the interval down to the interval itself.
+     * @param value the value, in nanoseconds.
+     * @param expectedInterval the expected interval between values, in nanoseconds, or 0 for no correction.
+     */
+    public void recordWithExpectedInterval(long value, long expectedInterval) {
+        record(value);
+        if (expectedInterval <= 0) {
+            return;
+        }
+        for (long missing = value - expectedInterval; missing >= expectedInterval; missing -= expectedInterval) {
+            record(missing);
+        }
+    }
+
+    private int countsIndex(long value) {
+        int bucketIndex = leadingZeroCountBase - Long.numberOfLeadingZeros(value | subBucketMask);
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        return ((bucketIndex + 1) << subBucketHalfCountMagnitude) + (subBucketIndex - subBucketHalfCount);
+    }
+
+    /**
+     * The highest value that is recorded in the same place as the value at the index.
+     */
+    private long highestEquivalentValue(int index) {
+        int bucketIndex = (index >> subBucketHalfCountMagnitude) - 1;
+        int subBucketIndex = (index & (subBucketHalfCount - 1)) + subBucketHalfCount;
+        if (bucketIndex < 0) {
+            subBucketIndex -= subBucketHalfCount;
+            bucketIndex = 0;
+        }
+        return ((long) subBucketIndex << bucketIndex) + (1L << bucketIndex) - 1;
+    }
+
+    /**
+     * @return the number of values recorded.
+     */
+    public long count() {
+        return totalCount.sum();
+    }
+
+    /**
+     * @return the largest value recorded, or 0 if there are none.
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * @return the smallest value recorded, or 0 if there are none.
+     */
+    public long min() {
+        return count() == 0 ? 0 : min.get();
+    }
+
+    /**
+     * @return the mean of the values recorded, or 0 if there are none.
+     */
+    public double mean() {
+        long count = count();
+        return count == 0 ? 0 : total.sum() / (double) count;
+    }
+
+    /**
+     * Get the value at a percentile, to within the precision of the histogram.
+     * @param percentile the percentile, from 0 to 100.
+     * @return the highest value equivalent to the value at or below which the percentile of values fall, or 0 if
+     * there are none.
+     */
+    public long valueAtPercentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("The percentile must be between 0 and 100 but was " + percentile);
+        }
+        long count = count();
+        if (count == 0) {
+            return 0;
+        }
+        long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= countAtPercentile) {
+                return Math.min(highestEquivalentValue(i), max());
+            }
+        }
+        return max();
+    }
+}
@@ -0,0 +1,202 @@
+package com.robertboothby.djenni.load;
+
+import com.robertboothby.djenni.distribution.RandomSources;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+import static com.robertboothby.djenni.load.LatencyHistogram.latencyHistogram;
+
+/**
+ * Drives a consumer, such as a client of the system under test, with values drawn from a supplier at a target rate,
+ * for example
+ * <pre>{@code
+ * EmissionReport report = RateDrivenEmitter.emitting(orders, client::submit)
+ *         .at(ArrivalRate.ramp(0, 5_000, Duration.ofSeconds(30)))
+ *         .forDuration(Duration.ofMinutes(5))
+ *         .run();
+ * }</pre>
+ * This is an open model: every emission is started at its intended start time on a virtual thread of its own, whether
+ * or not earlier emissions have completed, so a slow system under test does not slow the load down. If the system
+ * cannot keep up, emissions in flight accumulate rather than being held back.
+ * <p>
+ * The intended start times are laid out in advance by the {@link ArrivalRate}, so the schedule never drifts, and each
+ * latency is measured from the intended start rather than the actual one. Any delay in starting an emission, whether
+ * the emitter itself fell behind or virtual threads were slow to be scheduled, is therefore counted in the latency
+ * instead of being silently omitted; a {@link Thread#sleep(long)} loop that measures from the actual start hides
+ * exactly the stalls that matter. The time taken by the consumer alone is recorded separately as the service time.
+ * <p>
+ * Each value is drawn from the supplier on the thread of its emission, so the supplier must be thread safe. When a seed
+ * is configured the Poisson arrivals and each emission's value are drawn from generators derived from the seed, so
+ * the values and their intended start times are reproducible.
+ * @param <T> the type of the values emitted.
+ */
+public final class RateDrivenEmitter<T> {
+
+    /**
+     * Intended start times closer than this are waited for by spinning rather than parking, since parking is not
+     * precise enough for short waits.
+     */
+    private static final long SPIN_NANOS = 50_000;
+
+    private final Supplier<? extends T> supplier;
+    private final Consumer<? super T> consumer;
+    private ArrivalRate arrivalRate;
+    private Duration duration;
+    private Long seed;
+
+    private RateDrivenEmitter(Supplier<? extends T> supplier, Consumer<? super T> consumer) {
+        this.supplier = Objects.requireNonNull(supplier, "supplier");
+        this.consumer = Objects.requireNonNull(consumer, "consumer");
+    }
+
+    /**
+     * Create an emitter, which must be configured with an arrival rate and a duration before it is run.
+     * @param supplier the thread safe supplier of the values.
+     * @param consumer the consumer of the values, called on a virtual thread for each emission.
+     * @param <T> the type of the values emitted.
+     * @return the emitter for further configuration.
+     */
+    public static <T> RateDrivenEmitter<T> emitting(Supplier<? extends T> supplier, Consumer<? super T> consumer) {
+        return new RateDrivenEmitter<>(supplier, consumer);
+    }
+
+    /**
+     * @param arrivalRate the rate at which to start emissions.
+     * @return this emitter for further configuration.
+     */
+    public RateDrivenEmitter<T> at(ArrivalRate arrivalRate) {
+        this.arrivalRate = Objects.requireNonNull(arrivalRate, "arrivalRate");
+        return this;
+    }
+
+    /**
+     * @param duration the time for which to start emissions.
+     * @return this emitter for further configuration.
+     */
+    public RateDrivenEmitter<T> forDuration(Duration duration) {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("The duration must be positive but was " + duration);
+        }
+        this.duration = duration;
+        return this;
+    }
+
+    /**
+     * Draw the Poisson arrivals and the values of the emissions from generators derived from the seed and, for the
+     * values, the index of the emission, so that they are reproducible.
+     * @param seed the base seed.
+     * @return this emitter for further configuration.
+     */
+    public RateDrivenEmitter<T> seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Start emissions at the configured rate for the configured duration and wait for all of them to complete.
+     * @return the report of the run.
+     * @throws InterruptedException if the calling thread is interrupted while emitting; emissions already started
+     * are left to complete.
+     * @throws IllegalStateException if the arrival rate or the duration has not been configured.
+     */
+    public EmissionReport run() throws InterruptedException {
+        if (arrivalRate == null || duration == null) {
+            throw new IllegalStateException("Both the arrival rate and the duration must be configured before running.");
+        }
+        return new Run(arrivalRate, duration, seed).execute();
+    }
+
+    /**
+     * The state of one run, taking a snapshot of the configuration.
+     */
+    private final class Run {
+        private final ArrivalRate arrivalRate;
+        private final Duration duration;
+        private final Long seed;
+        private final LatencyHistogram latency = latencyHistogram();
+        private final LatencyHistogram serviceTime = latencyHistogram();
+        private final LongAdder failed = new LongAdder();
+        private final LongAccumulator maxStartDelay = new LongAccumulator(Long::max, 0);
+
+        private Run(ArrivalRate arrivalRate, Duration duration, Long seed) {
+            this.arrivalRate = arrivalRate;
+            this.duration = duration;
+            this.seed = seed;
+        }
+
+        private EmissionReport execute() throws InterruptedException {
+            long durationNanos = duration.toNanos();
+            RandomGenerator arrivals = seed == null
+                    ? RandomSources.defaultSource().current()
+                    : RandomSources.streamGenerator(seed, -1);
+            long emitted = 0;
+            long lastStart = 0;
+            long start = System.nanoTime();
+            try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("djenni-emitter-", 0).factory())) {
+                for (double arrival = arrivalRate.firstArrival(arrivals); ;
+                     arrival = arrivalRate.nextArrival(arrival, arrivals)) {
+                    long intendedOffset = arrivalRate.nanosAt(arrival);
+                    if (intendedOffset >= durationNanos) {
+                        break;
+                    }
+                    long intendedStart = start + intendedOffset;
+                    lastStart = awaitUntil(intendedStart) - start;
+                    long index = emitted++;
+                    executor.execute(() -> emit(index, intendedStart));
+                }
+            }
+            return new EmissionReport(arrivalRate, duration, emitted, failed.sum(),
+                    Duration.ofNanos(Math.max(durationNanos, lastStart)), latency, serviceTime,
+                    Duration.ofNanos(maxStartDelay.get()));
+        }
+
+        private void emit(long index, long intendedStart) {
+            long started = System.nanoTime();
+            maxStartDelay.accumulate(started - intendedStart);
+            try {
+                T value = seed == null
+                        ? supplier.get()
+                        : RandomSources.callWith(RandomSources.streamGenerator(seed, index), supplier::get);
+                long consuming = System.nanoTime();
+                consumer.accept(value);
+                long completed = System.nanoTime();
+                latency.record(completed - intendedStart);
+                serviceTime.record(completed - consuming);
+            } catch (RuntimeException e) {
+                failed.increment();
+            }
+        }
+    }
+
+    /**
+     * Wait until the deadline, parking until shortly before it and then spinning.
+     * @return the time at which the wait ended.
+     */
+    private static long awaitUntil(long deadline) throws InterruptedException {
+        while (true) {
+            long now = System.nanoTime();
+            long remaining = deadline - now;
+            if (remaining <= 0) {
+                return now;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException("Interrupted while emitting");
+            }
+            if (remaining > SPIN_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -22,7 +22,7 @@ public class ListSupplierHelper {
      */
     public static <T> StreamableSupplier<List<T>> fromRandomSuppliers(Supplier<Integer> sizes, Supplier<T> ... suppliers){
         StreamableSupplier<T> randomSuppliers = SupplierHelper.fromRandomSuppliers(suppliers);
-        return () -> randomSuppliers.stream(sizes.get()).collect(toList());
+        return () -> randomSuppliers.getBatch(sizes.get());
     }
 
     /**
@@ -35,7 +35,7 @@ public class ListSupplierHelper {
      */
     public static <T> StreamableSupplier<List<T>> fromRandomSuppliers(Supplier<Integer> sizes, Supplier<Integer> positions, Supplier<T>... suppliers){
         StreamableSupplier<T> randomSuppliers = SupplierHelper.fromRandomSuppliers(positions, suppliers);
-        return () -> randomSuppliers.stream(sizes.get()).collect(toList());
+        return () -> randomSuppliers.getBatch(sizes.get());
     }
 
     /**
@@ -2,18 +2,19 @@ package com.robertboothby.djenni.util;
 
 import com.robertboothby.djenni.ConfigurableSupplierBuilder;
 import com.robertboothby.djenni.SupplierBuilder;
+import com.robertboothby.djenni.core.IntStreamableSupplier;
 import com.robertboothby.djenni.core.StreamableSupplier;
 import com.robertboothby.djenni.sugar.And;
 import com.robertboothby.djenni.sugar.Range;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
-import static com.robertboothby.djenni.core.SupplierHelper.stream;
+import static com.robertboothby.djenni.core.SupplierHelper.fill;
 import static com.robertboothby.djenni.lang.IntegerSupplierBuilder.integerSupplier;
-import static java.util.stream.Collectors.toList;
 
 /**
  * Build a simple list of values from a supplier of entries and a supplier of integers that determines the number of
@@ -32,15 +33,16 @@ public class SimpleListSupplierBuilder<T> implements ConfigurableSupplierBuilder
         Supplier<? extends T> entrySupplier = Objects.requireNonNull(this.entries, "entries");
         int min = range.getMinimum();
         int max = range.getMaximum();
-        StreamableSupplier<Integer> sizes = integerSupplier(
-                builder -> builder
-                        .between(min)
-                        .and(max + 1)
-        );
+        IntStreamableSupplier sizes = integerSupplier()
+                .between(min)
+                .and(max + 1)
+                .buildInt();
 
         return () -> {
-            Integer numberOfValues = sizes.get();
-            return stream(entrySupplier, numberOfValues).collect(toList());
+            int numberOfValues = sizes.getAsInt();
+            List<T> list = new ArrayList<>(numberOfValues);
+            fill(entrySupplier, list, numberOfValues);
+            return list;
         };
     }
 
@@ -2,17 +2,22 @@ package com.robertboothby.djenni.util;
 
 import com.robertboothby.djenni.ConfigurableSupplierBuilder;
 import com.robertboothby.djenni.core.StreamableSupplier;
+import com.robertboothby.djenni.distribution.RandomSource;
+import com.robertboothby.djenni.distribution.RandomSources;
 
 import java.util.Objects;
 import java.util.UUID;
 import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 
 /**
- * Builds suppliers of {@link UUID}. By default {@link UUID#randomUUID()} is used for each generated value.
+ * Builds suppliers of {@link UUID}. By default each generated value is a version 4 (random) UUID whose bits are drawn
+ * from {@link RandomSources#defaultSource()}, so seeding the default source makes the UUIDs reproducible. Use
+ * {@link #withGenerator(Supplier)} with {@code UUID::randomUUID} if cryptographically strong values are required.
  */
 public class UUIDSupplierBuilder implements ConfigurableSupplierBuilder<UUID, UUIDSupplierBuilder> {
 
-    private Supplier<UUID> uuidGenerator = UUID::randomUUID;
+    private Supplier<UUID> uuidGenerator = randomUUIDs(RandomSources.defaultSource());
 
     public static UUIDSupplierBuilder uuidSupplier() {
         return new UUIDSupplierBuilder();
@@ -33,4 +38,22 @@ public class UUIDSupplierBuilder implements ConfigurableSupplierBuilder<UUID, UU
         this.uuidGenerator = Objects.requireNonNull(generator, "generator");
         return this;
     }
+
+    /**
+     * Generate version 4 (random) UUIDs drawing on the passed in source of randomness.
+     * @param randomSource the source of randomness.
+     * @return this builder for further configuration
+     */
+    public UUIDSupplierBuilder withRandomSource(RandomSource randomSource) {
+        return withGenerator(randomUUIDs(Objects.requireNonNull(randomSource, "randomSource")));
+    }
+
+    private static Supplier<UUID> randomUUIDs(RandomSource randomSource) {
+        return () -> {
+            RandomGenerator random = randomSource.current();
+            long mostSignificantBits = (random.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+            long leastSignificantBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+            return new UUID(mostSignificantBits, leastSignificantBits);
+        };
+    }
 }
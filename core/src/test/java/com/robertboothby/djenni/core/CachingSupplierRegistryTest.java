@@ -4,11 +4,16 @@ import org.junit.jupiter.api.Test;
 import org.mockito.BDDMockito;
 import org.mockito.Mockito;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import static com.robertboothby.djenni.core.CachingSupplier.cacheSuppliedValues;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
 
@@ -34,15 +39,25 @@ public class CachingSupplierRegistryTest {
         Supplier<?> mockSupplier1 = mock(Supplier.class);
         Supplier<?> mockSupplier2 = mock(Supplier.class);
         Supplier<?> mockSupplier3 = mock(Supplier.class);
-        registry.addCachingSupplier(cacheSuppliedValues(mockSupplier1));
-        registry.addCachingSupplier("test", cacheSuppliedValues(mockSupplier2));
-        registry.addCachingSupplier("test2", cacheSuppliedValues(mockSupplier3));
+        CachingSupplier<?> cachingSupplier1 = cacheSuppliedValues(mockSupplier1);
+        CachingSupplier<?> cachingSupplier2 = cacheSuppliedValues(mockSupplier2);
+        CachingSupplier<?> cachingSupplier3 = cacheSuppliedValues(mockSupplier3);
+        registry.addCachingSupplier(cachingSupplier1);
+        registry.addCachingSupplier("test", cachingSupplier2);
+        registry.addCachingSupplier("test2", cachingSupplier3);
+        readAll(cachingSupplier1, cachingSupplier2, cachingSupplier3);
         clearInvocations(mockSupplier1, mockSupplier2, mockSupplier3);
 
         //When
         registry.nextAll();
 
-        //Then - called again on nextAll
+        //Then - nothing is generated until the suppliers are read
+        BDDMockito.then(mockSupplier1).should(Mockito.times(0)).get();
+
+        //When
+        readAll(cachingSupplier1, cachingSupplier2, cachingSupplier3);
+
+        //Then - called again once on nextAll
         BDDMockito.then(mockSupplier1).should(Mockito.times(1)).get();
         BDDMockito.then(mockSupplier2).should(Mockito.times(1)).get();
         BDDMockito.then(mockSupplier3).should(Mockito.times(1)).get();
@@ -55,13 +70,18 @@ public class CachingSupplierRegistryTest {
         Supplier<?> mockSupplier1 = mock(Supplier.class);
         Supplier<?> mockSupplier2 = mock(Supplier.class);
         Supplier<?> mockSupplier3 = mock(Supplier.class);
-        registry.addCachingSupplier(cacheSuppliedValues(mockSupplier1));
-        registry.addCachingSupplier("test", cacheSuppliedValues(mockSupplier2));
-        registry.addCachingSupplier("test2", cacheSuppliedValues(mockSupplier3));
+        CachingSupplier<?> cachingSupplier1 = cacheSuppliedValues(mockSupplier1);
+        CachingSupplier<?> cachingSupplier2 = cacheSuppliedValues(mockSupplier2);
+        CachingSupplier<?> cachingSupplier3 = cacheSuppliedValues(mockSupplier3);
+        registry.addCachingSupplier(cachingSupplier1);
+        registry.addCachingSupplier("test", cachingSupplier2);
+        registry.addCachingSupplier("test2", cachingSupplier3);
+        readAll(cachingSupplier1, cachingSupplier2, cachingSupplier3);
         clearInvocations(mockSupplier1, mockSupplier2, mockSupplier3);
 
         //When
         registry.next();
+        readAll(cachingSupplier1, cachingSupplier2, cachingSupplier3);
 
         //Then
         BDDMockito.then(mockSupplier1).should(Mockito.times(1)).get();
@@ -77,18 +97,66 @@ public class CachingSupplierRegistryTest {
         Supplier<?> mockSupplier1 = mock(Supplier.class);
         Supplier<?> mockSupplier2 = mock(Supplier.class);
         Supplier<?> mockSupplier3 = mock(Supplier.class);
-        registry.addCachingSupplier(cacheSuppliedValues(mockSupplier1));
-        registry.addCachingSupplier("test", cacheSuppliedValues(mockSupplier2));
-        registry.addCachingSupplier("test2", cacheSuppliedValues(mockSupplier3));
+        CachingSupplier<?> cachingSupplier1 = cacheSuppliedValues(mockSupplier1);
+        CachingSupplier<?> cachingSupplier2 = cacheSuppliedValues(mockSupplier2);
+        CachingSupplier<?> cachingSupplier3 = cacheSuppliedValues(mockSupplier3);
+        registry.addCachingSupplier(cachingSupplier1);
+        registry.addCachingSupplier("test", cachingSupplier2);
+        registry.addCachingSupplier("test2", cachingSupplier3);
+        readAll(cachingSupplier1, cachingSupplier2, cachingSupplier3);
         clearInvocations(mockSupplier1, mockSupplier2, mockSupplier3);
 
         //When
         registry.next("test");
+        readAll(cachingSupplier1, cachingSupplier2, cachingSupplier3);
 
         //Then
         BDDMockito.then(mockSupplier1).should(Mockito.times(0)).get();
         BDDMockito.then(mockSupplier2).should(Mockito.times(1)).get();
         BDDMockito.then(mockSupplier3).should(Mockito.times(0)).get();
+        assertThat(registry.epoch("test"), is(1L));
+    }
+
+    @Test
+    public void shouldRenewEachSupplierOnlyOncePerEpoch() {
+        //Given
+        CachingSupplierRegistry registry = CachingSupplierRegistry.registry();
+        AtomicInteger counter = new AtomicInteger();
+        CachingSupplier<Integer> cachingSupplier = cacheSuppliedValues(counter::incrementAndGet);
+        registry.addCachingSupplier(cachingSupplier);
+
+        //When
+        registry.next().next().next();
+
+        //Then
+        assertThat(cachingSupplier.get(), is(1));
+        assertThat(cachingSupplier.get(), is(1));
+
+        //When
+        registry.next();
+
+        //Then
+        assertThat(cachingSupplier.get(), is(2));
+        assertThat(counter.get(), is(2));
+    }
+
+    @Test
+    public void shouldAdvanceTheGroupOnEveryThread() throws ExecutionException, InterruptedException {
+        //Given
+        CachingSupplierRegistry registry = CachingSupplierRegistry.registry();
+        AtomicInteger counter = new AtomicInteger();
+        CachingSupplier<Integer> cachingSupplier = cacheSuppliedValues(counter::incrementAndGet);
+        registry.addCachingSupplier(cachingSupplier);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        int onOtherThread = CompletableFuture.supplyAsync(cachingSupplier::get, executorService).get();
+
+        //When
+        registry.next();
+        int renewedOnOtherThread = CompletableFuture.supplyAsync(cachingSupplier::get, executorService).get();
+
+        //Then
+        assertThat(renewedOnOtherThread == onOtherThread, is(false));
+        executorService.shutdown();
     }
 
     @Test
@@ -106,4 +174,9 @@ public class CachingSupplierRegistryTest {
         //TODO multiple thread test with nextAll()
     }
 
+    private static void readAll(CachingSupplier<?>... cachingSuppliers) {
+        for (CachingSupplier<?> cachingSupplier : cachingSuppliers) {
+            cachingSupplier.get();
+        }
+    }
 }
@@ -3,10 +3,18 @@ package com.robertboothby.djenni.core;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static com.robertboothby.djenni.core.CachingSupplier.cacheSuppliedValues;
 import static com.robertboothby.djenni.lang.StringSupplierBuilder.arbitraryString;
@@ -69,4 +77,41 @@ public class CachingSupplierTest {
         assertThat(newActualOnOtherThread, is(not(sameInstance(expectedOnOtherThread))));
         assertThat(newActualOnThisThread, is(cachingSupplier.get()));
     }
+
+    @Test
+    public void shouldShareOneConsistentValueBetweenThreadsInTheSameContext() throws Exception {
+        //Given
+        AtomicInteger generated = new AtomicInteger();
+        CachingSupplier<String> cachingSupplier = cacheSuppliedValues(() -> "value-" + generated.incrementAndGet());
+        GenerationContext context = GenerationContext.generationContext();
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        //When
+        try {
+            List<Future<?>> futures = IntStream.range(0, 8)
+                    .mapToObj(i -> executorService.submit(() -> {
+                        start.await();
+                        context.run(() -> {
+                            for (int j = 0; j < 10_000; j++) {
+                                seen.add(String.valueOf(cachingSupplier.get()));
+                            }
+                        });
+                        return null;
+                    }))
+                    .collect(Collectors.toList());
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        //Then - every thread saw the single value that won the race to be cached, and never a half renewed one.
+        assertThat(seen.size(), is(1));
+        assertThat(seen.contains("null"), is(false));
+        assertThat(context.call(cachingSupplier::get), is(seen.iterator().next()));
+    }
 }
@@ -18,6 +18,7 @@ import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  *
@@ -55,4 +56,30 @@ public class ExplicitlyBiassedSupplierTest {
         assertThat(assessment.proportionGreaterThanOrEqualTo(Boolean.TRUE), is(both(greaterThan(0.85D)).and(lessThan(0.95D))));
         assertThat(assessment.proportionLessThanOrEqualTo(Boolean.FALSE), is(both(greaterThan(0.05D)).and(lessThan(0.15D))));
     }
+
+    @Test
+    public void shouldIgnoreNonPositiveWeights() {
+        //Given
+        List<ExplicitlyBiassedSupplier.BiasDetail<String>> biasList = new ArrayList<>();
+        biasList.add(biasDetail(fix("A"), 1.0D));
+        biasList.add(biasDetail(fix("B"), 0.0D));
+        biasList.add(biasDetail(fix("C"), -1.0D));
+        biasList.add(biasDetail(fix("D"), Double.NaN));
+
+        //When
+        final ExplicitlyBiassedSupplier<String> biasedSupplier = new ExplicitlyBiassedSupplier<String>(biasList);
+
+        //Then
+        assertThat(biasedSupplier.proportionsTotal, is(1.0D));
+        assertThat(biasedSupplier.stream(100).allMatch("A"::equals), is(true));
+    }
+
+    @Test
+    public void shouldFailWhenThereAreNoPositiveWeights() {
+        //Given
+        final ExplicitlyBiassedSupplier<String> biasedSupplier = new ExplicitlyBiassedSupplier<String>(new ArrayList<>());
+
+        //Then
+        assertThrows(IllegalStateException.class, biasedSupplier::get);
+    }
 }
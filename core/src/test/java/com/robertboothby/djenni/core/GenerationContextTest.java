@@ -0,0 +1,100 @@
+package com.robertboothby.djenni.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.robertboothby.djenni.core.CachingSupplier.cacheSuppliedValues;
+import static com.robertboothby.djenni.core.GenerationContext.generationContext;
+import static com.robertboothby.djenni.core.SupplierHelper.threadLocal;
+import static com.robertboothby.djenni.lang.IntegerSupplierBuilder.integerSupplier;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class GenerationContextTest {
+
+    @Test
+    public void shouldContinueSequencesAcrossThreadsWithinAContext() throws ExecutionException, InterruptedException {
+        //Given
+        IntStreamableSupplier sequence = integerSupplier().between(0).and(1000).sequential().buildInt();
+        GenerationContext context = generationContext();
+
+        //When
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 3; i++) {
+                CompletableFuture.runAsync(() -> context.run(sequence::getAsInt), executorService).get();
+            }
+        }
+
+        //Then
+        assertThat(context.call(sequence::getAsInt), is(3));
+        assertThat(generationContext().call(sequence::getAsInt), is(0));
+        assertThat(sequence.getAsInt(), is(0));
+    }
+
+    @Test
+    public void shouldCreateOneThreadLocalDelegatePerContext() throws ExecutionException, InterruptedException {
+        //Given
+        AtomicInteger delegatesCreated = new AtomicInteger();
+        ThreadLocalSupplier<Integer> supplier = threadLocal(() -> {
+            int delegate = delegatesCreated.incrementAndGet();
+            return () -> delegate;
+        });
+        GenerationContext context = generationContext();
+
+        //When
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10; i++) {
+                CompletableFuture.supplyAsync(() -> context.call(supplier), executorService).get();
+            }
+        }
+
+        //Then
+        assertThat(delegatesCreated.get(), is(1));
+        assertThat(supplier.get(), is(2));
+    }
+
+    @Test
+    public void shouldCacheValuesPerContext() {
+        //Given
+        AtomicInteger counter = new AtomicInteger();
+        CachingSupplier<Integer> cachingSupplier = cacheSuppliedValues(counter::incrementAndGet);
+        GenerationContext first = generationContext();
+        GenerationContext second = generationContext();
+
+        //When
+        int inFirst = first.call(cachingSupplier);
+        int inSecond = second.call(cachingSupplier);
+
+        //Then
+        assertThat(inFirst, is(not(inSecond)));
+        assertThat(first.call(cachingSupplier), is(inFirst));
+        assertThat(first.call(cachingSupplier::next), is(not(inFirst)));
+        assertThat(second.call(cachingSupplier), is(inSecond));
+    }
+
+    @Test
+    public void shouldRestoreThePreviousContext() {
+        //Given
+        GenerationContext outer = generationContext();
+        GenerationContext inner = generationContext();
+        Supplier<GenerationContext> current = GenerationContext::current;
+
+        //When
+        GenerationContext nested = outer.call(() -> inner.call(current));
+        GenerationContext restored = outer.call(() -> {
+            inner.run(() -> { });
+            return current.get();
+        });
+
+        //Then
+        assertThat(nested, is(sameInstance(inner)));
+        assertThat(restored, is(sameInstance(outer)));
+        assertThat(GenerationContext.current(), is(nullValue()));
+    }
+}
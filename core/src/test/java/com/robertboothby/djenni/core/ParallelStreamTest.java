@@ -0,0 +1,100 @@
+package com.robertboothby.djenni.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.robertboothby.djenni.lang.IntegerSupplierBuilder.integerSupplier;
+import static com.robertboothby.djenni.lang.StringSupplierBuilder.arbitraryString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Test the parallel, splittable streams from {@link StreamableSupplier}.
+ */
+public class ParallelStreamTest {
+
+    @Test
+    public void parallelAndSequentialTraversalShouldProduceTheSameValues() {
+        //Given
+        StreamableSupplier<String> strings = arbitraryString().build();
+
+        //When
+        List<String> parallel = strings.parallelStream(10_000, 42L).collect(Collectors.toList());
+        List<String> sequential = strings.parallelStream(10_000, 42L).sequential().collect(Collectors.toList());
+
+        //Then
+        assertThat(parallel.size(), is(10_000));
+        assertThat(parallel, is(equalTo(sequential)));
+    }
+
+    @Test
+    public void differentSeedsShouldProduceDifferentValues() {
+        //Given
+        StreamableSupplier<Integer> integers = integerSupplier().between(0).and(Integer.MAX_VALUE).build();
+
+        //When
+        List<Integer> first = integers.parallelStream(100, 1L).collect(Collectors.toList());
+        List<Integer> second = integers.parallelStream(100, 2L).collect(Collectors.toList());
+
+        //Then
+        assertThat(first, is(not(equalTo(second))));
+    }
+
+    @Test
+    public void adjacentRangesShouldConcatenateToTheWholeRange() {
+        //Given
+        StreamableSupplier<Integer> integers = integerSupplier().between(0).and(Integer.MAX_VALUE).build();
+
+        //When
+        List<Integer> whole = integers.parallelRange(0, 5_000, 7L).collect(Collectors.toList());
+        List<Integer> pieces = Stream.concat(
+                        integers.parallelRange(0, 1_500, 7L),
+                        integers.parallelRange(1_500, 5_000, 7L))
+                .collect(Collectors.toList());
+
+        //Then
+        assertThat(pieces, is(equalTo(whole)));
+    }
+
+    @Test
+    public void spliteratorShouldBeSizedAndSplitOnBlockBoundaries() {
+        //Given
+        Spliterator<Integer> spliterator = integerSupplier().build().parallelStream(4_000, 7L).spliterator();
+
+        //When
+        Spliterator<Integer> prefix = spliterator.trySplit();
+
+        //Then
+        assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED), is(true));
+        assertThat(prefix.getExactSizeIfKnown() % SeededBlockSpliterator.BLOCK_SIZE, is(0L));
+        assertThat(prefix.getExactSizeIfKnown() + spliterator.getExactSizeIfKnown(), is(4_000L));
+    }
+
+    @Test
+    public void valuesTakenOneAtATimeShouldMatchBulkTraversalAcrossASplit() {
+        //Given
+        StreamableSupplier<Integer> integers = integerSupplier().between(0).and(Integer.MAX_VALUE).build();
+        List<Integer> expected = integers.parallelStream(3_000, 11L).sequential().collect(Collectors.toList());
+        Spliterator<Integer> spliterator = integers.parallelStream(3_000, 11L).spliterator();
+        List<Integer> actual = new ArrayList<>();
+
+        //When - take a few values one at a time, leaving some generated ahead, then split and traverse the rest.
+        for (int i = 0; i < 10; i++) {
+            spliterator.tryAdvance(actual::add);
+        }
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        while (prefix.tryAdvance(actual::add)) {
+        }
+        spliterator.forEachRemaining(actual::add);
+
+        //Then
+        assertThat(actual, is(equalTo(expected)));
+    }
+}
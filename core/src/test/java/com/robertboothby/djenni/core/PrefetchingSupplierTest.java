@@ -0,0 +1,169 @@
+package com.robertboothby.djenni.core;
+
+import com.robertboothby.djenni.core.PrefetchingSupplier.WaitStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.robertboothby.djenni.core.PrefetchingSupplierBuilder.prefetching;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PrefetchingSupplierTest {
+
+    @Test
+    public void shouldSupplyTheValuesOfASingleProducerInOrder() {
+        //Given
+        AtomicInteger counter = new AtomicInteger();
+
+        //When
+        List<Integer> values;
+        try (PrefetchingSupplier<Integer> supplier = prefetching(counter::getAndIncrement).capacity(64).build()) {
+            values = supplier.getBatch(10_000);
+        }
+
+        //Then
+        assertThat(values, is(IntStream.range(0, 10_000).boxed().collect(Collectors.toList())));
+    }
+
+    @Test
+    public void shouldSupplyEachValueOnceToManyConsumersFromManyProducers() throws Exception {
+        //Given
+        AtomicInteger counter = new AtomicInteger();
+        Set<Integer> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService consumers = Executors.newFixedThreadPool(4);
+
+        //When
+        try (PrefetchingSupplier<Integer> supplier = prefetching(counter::getAndIncrement)
+                .producers(3).capacity(128).waitStrategy(WaitStrategy.YIELD).build()) {
+            List<Future<?>> futures = IntStream.range(0, 4)
+                    .mapToObj(i -> consumers.submit(() -> supplier.stream(5_000).forEach(seen::add)))
+                    .collect(Collectors.toList());
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            consumers.shutdown();
+        }
+
+        //Then
+        assertThat(seen, hasSize(20_000));
+    }
+
+    @Test
+    public void shouldFillTheBufferUpToItsCapacityRoundedToAPowerOfTwo() throws InterruptedException {
+        //Given
+        AtomicInteger counter = new AtomicInteger();
+
+        //When
+        try (PrefetchingSupplier<Integer> supplier = prefetching(counter::getAndIncrement).capacity(100).build()) {
+            for (int i = 0; i < 500 && supplier.fillLevel() < supplier.capacity(); i++) {
+                Thread.sleep(10);
+            }
+
+            //Then
+            assertThat(supplier.capacity(), is(128));
+            assertThat(supplier.fillLevel(), is(128));
+            assertThat(supplier.produced(), is(128L));
+            assertThat(supplier.emptyWaits(), is(0L));
+        }
+    }
+
+    @Test
+    public void shouldWakeTheProducersWhenAFullBufferIsDrained() throws InterruptedException {
+        //Given
+        AtomicInteger counter = new AtomicInteger();
+
+        try (PrefetchingSupplier<Integer> supplier = prefetching(counter::getAndIncrement).capacity(4).build()) {
+            for (int i = 0; i < 500 && supplier.fillLevel() < supplier.capacity(); i++) {
+                Thread.sleep(10);
+            }
+            //Long enough for the producer to have given up spinning and parked.
+            Thread.sleep(50);
+
+            //When
+            List<Integer> values = supplier.getBatch(1_000);
+
+            //Then
+            assertThat(values, is(IntStream.range(0, 1_000).boxed().collect(Collectors.toList())));
+            assertThat(counter.get(), is(lessThanOrEqualTo(1_000 + supplier.capacity() + 1)));
+        }
+    }
+
+    @Test
+    public void shouldGenerateOnTheCallingThreadWhenEmptyIfConfigured() throws InterruptedException {
+        //Given
+        CountDownLatch release = new CountDownLatch(1);
+        StreamableSupplier<String> source = () -> {
+            String name = Thread.currentThread().getName();
+            if (name.startsWith("djenni-prefetch-")) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return name;
+        };
+
+        //When
+        try (PrefetchingSupplier<String> supplier = prefetching(source).waitStrategy(WaitStrategy.GENERATE).build()) {
+            String value = supplier.get();
+
+            //Then
+            assertThat(value, is(Thread.currentThread().getName()));
+            assertThat(supplier.emptyWaits(), is(1L));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void shouldReportTheFailureOfTheProducers() {
+        //Given
+        AtomicInteger counter = new AtomicInteger();
+        StreamableSupplier<Integer> source = () -> {
+            int value = counter.getAndIncrement();
+            if (value == 10) {
+                throw new ArithmeticException("broken");
+            }
+            return value;
+        };
+
+        //When
+        try (PrefetchingSupplier<Integer> supplier = prefetching(source).virtualThreads().build()) {
+            List<Integer> values = supplier.getBatch(10);
+            IllegalStateException exception = assertThrows(IllegalStateException.class, supplier::get);
+
+            //Then
+            assertThat(values, is(IntStream.range(0, 10).boxed().collect(Collectors.toList())));
+            assertThat(exception.getCause(), is(instanceOf(ArithmeticException.class)));
+        }
+    }
+
+    @Test
+    public void shouldStopSupplyingOnceClosedAndDrained() {
+        //Given
+        PrefetchingSupplier<String> supplier = prefetching(() -> "value").capacity(4).build();
+
+        //When
+        supplier.close();
+        for (int i = 0; i < 4 && supplier.fillLevel() > 0; i++) {
+            supplier.get();
+        }
+
+        //Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class, supplier::get);
+        assertThat(exception.getMessage(), containsString("closed"));
+    }
+}
@@ -5,6 +5,8 @@ import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
 
 import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import static com.robertboothby.djenni.core.SupplierHelper.fix;
@@ -193,4 +195,28 @@ public class SupplierHelperTest {
         assertThat(second.getId(), is(in(ZoneId.getAvailableZoneIds())));
     }
 
+    @Test
+    public void batchFromValuesShouldOnlyContainTheValues(){
+        //Given
+        StreamableSupplier<String> values = SupplierHelper.fromValues("A", "B", "C");
+
+        //When
+        List<String> batch = values.getBatch(300);
+
+        //Then
+        assertThat(batch.size(), is(300));
+        assertThat(batch.stream().collect(toSet()), is(equalTo(Set.of("A", "B", "C"))));
+    }
+
+    @Test
+    public void arraysShouldBeFilledFromTheUnderlyingSupplier(){
+        //Given
+        StreamableSupplier<String[]> arrays = SupplierHelper.arrays(fix("X"), fix(4), String[]::new);
+
+        //When
+        String[] array = arrays.get();
+
+        //Then
+        assertThat(array, is(equalTo(new String[]{"X", "X", "X", "X"})));
+    }
 }
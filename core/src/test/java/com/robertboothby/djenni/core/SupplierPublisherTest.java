@@ -0,0 +1,235 @@
+package com.robertboothby.djenni.core;
+
+import com.robertboothby.djenni.core.SupplierPublisher.Sequence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.robertboothby.djenni.lang.IntegerSupplierBuilder.integerSupplier;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class SupplierPublisherTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Requests a fixed number of values at a time, asking for more once they have all arrived, and optionally cancels
+     * after a given number of values.
+     */
+    private static class TestSubscriber<T> implements Flow.Subscriber<T> {
+        private final long requestSize;
+        private final int cancelAfter;
+        private final List<T> values = new CopyOnWriteArrayList<>();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private Flow.Subscription subscription;
+        private volatile boolean completed;
+        private volatile Throwable error;
+        private long outstanding;
+
+        private TestSubscriber(long requestSize, int cancelAfter) {
+            this.requestSize = requestSize;
+            this.cancelAfter = cancelAfter;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            outstanding = requestSize;
+            subscription.request(requestSize);
+        }
+
+        @Override
+        public void onNext(T item) {
+            values.add(item);
+            if (values.size() == cancelAfter) {
+                subscription.cancel();
+                done.countDown();
+            } else if (--outstanding == 0) {
+                outstanding = requestSize;
+                subscription.request(requestSize);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            done.countDown();
+        }
+
+        private TestSubscriber<T> await() throws InterruptedException {
+            assertThat("Timed out waiting for the subscriber", done.await(10, TimeUnit.SECONDS), is(true));
+            return this;
+        }
+    }
+
+    @Test
+    public void shouldSendTheValuesAsTheyAreRequestedAndThenComplete() throws InterruptedException {
+        //Given
+        AtomicInteger generated = new AtomicInteger();
+        AtomicInteger mostGeneratedAhead = new AtomicInteger();
+        StreamableSupplier<Integer> supplier = generated::getAndIncrement;
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(3, Integer.MAX_VALUE) {
+            @Override
+            public void onNext(Integer item) {
+                mostGeneratedAhead.accumulateAndGet(generated.get() - super.values.size(), Math::max);
+                super.onNext(item);
+            }
+        };
+
+        //When
+        supplier.publisher(10, executor).subscribe(subscriber);
+
+        //Then
+        subscriber.await();
+        assertThat(subscriber.error, is(nullValue()));
+        assertThat(subscriber.completed, is(true));
+        assertThat(subscriber.values, is(IntStream.range(0, 10).boxed().collect(Collectors.toList())));
+        assertThat(generated.get(), is(10));
+        //Never more generated than the 3 values requested at a time.
+        assertThat(mostGeneratedAhead.get(), is(lessThanOrEqualTo(3)));
+    }
+
+    @Test
+    public void shouldStopSendingValuesWhenCancelled() throws InterruptedException {
+        //Given
+        StreamableSupplier<String> supplier = () -> "value";
+        TestSubscriber<String> subscriber = new TestSubscriber<>(Long.MAX_VALUE, 5);
+
+        //When
+        supplier.publisher(1_000_000, executor).subscribe(subscriber);
+
+        //Then
+        subscriber.await();
+        Thread.sleep(50);
+        assertThat(subscriber.values, hasSize(5));
+        assertThat(subscriber.completed, is(false));
+    }
+
+    @Test
+    public void shouldGiveEachSubscriberItsOwnSequenceByDefault() throws InterruptedException {
+        //Given
+        StreamableSupplier<Integer> sequence = integerSupplier().between(0).and(100).sequential().build();
+        Flow.Publisher<Integer> publisher = sequence.publisher(5, executor);
+        TestSubscriber<Integer> first = new TestSubscriber<>(2, Integer.MAX_VALUE);
+        TestSubscriber<Integer> second = new TestSubscriber<>(2, Integer.MAX_VALUE);
+
+        //When
+        publisher.subscribe(first);
+        publisher.subscribe(second);
+
+        //Then
+        assertThat(first.await().values, contains(0, 1, 2, 3, 4));
+        assertThat(second.await().values, contains(0, 1, 2, 3, 4));
+    }
+
+    @Test
+    public void shouldShareOneSequenceBetweenSubscribersIfConfigured() throws InterruptedException {
+        //Given
+        StreamableSupplier<Integer> sequence = integerSupplier().between(0).and(100).sequential().build();
+        Flow.Publisher<Integer> publisher = SupplierPublisher.publisher(sequence, 5, executor, Sequence.SHARED);
+        TestSubscriber<Integer> first = new TestSubscriber<>(2, Integer.MAX_VALUE);
+        TestSubscriber<Integer> second = new TestSubscriber<>(2, Integer.MAX_VALUE);
+
+        //When
+        publisher.subscribe(first);
+        first.await();
+        publisher.subscribe(second);
+
+        //Then
+        assertThat(first.values, contains(0, 1, 2, 3, 4));
+        assertThat(second.await().values, contains(5, 6, 7, 8, 9));
+    }
+
+    @Test
+    public void shouldNotGrowTheStackWithAnExecutorThatRunsOnTheCallingThread() {
+        //Given
+        StreamableSupplier<String> supplier = () -> "value";
+        AtomicInteger received = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        Flow.Subscriber<String> oneAtATime = new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(String item) {
+                received.incrementAndGet();
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                errors.add(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completed.incrementAndGet();
+            }
+        };
+
+        //When
+        supplier.publisher(1_000_000, Runnable::run).subscribe(oneAtATime);
+
+        //Then
+        assertThat(errors, is(empty()));
+        assertThat(received.get(), is(1_000_000));
+        assertThat(completed.get(), is(1));
+    }
+
+    @Test
+    public void shouldSignalAnErrorForANonPositiveRequest() throws InterruptedException {
+        //Given
+        StreamableSupplier<String> supplier = () -> "value";
+        TestSubscriber<String> subscriber = new TestSubscriber<>(0, Integer.MAX_VALUE);
+
+        //When
+        supplier.publisher(10, executor).subscribe(subscriber);
+
+        //Then
+        assertThat(subscriber.await().error, is(instanceOf(IllegalArgumentException.class)));
+        assertThat(subscriber.values, is(empty()));
+    }
+
+    @Test
+    public void shouldSignalTheFailureOfTheSupplier() throws InterruptedException {
+        //Given
+        StreamableSupplier<String> supplier = () -> {
+            throw new ArithmeticException("broken");
+        };
+        TestSubscriber<String> subscriber = new TestSubscriber<>(10, Integer.MAX_VALUE);
+
+        //When
+        supplier.publisher(10, executor).subscribe(subscriber);
+
+        //Then
+        assertThat(subscriber.await().error, is(instanceOf(ArithmeticException.class)));
+    }
+}
@@ -0,0 +1,90 @@
+package com.robertboothby.djenni.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.robertboothby.djenni.core.SupplierHelper.unique;
+import static com.robertboothby.djenni.lang.IntegerSupplierBuilder.integerSupplier;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class UniqueSupplierTest {
+
+    @Test
+    public void shouldSupplyEachValueOnlyOnceAcrossThreads() {
+        //Given
+        UniqueSupplier<Integer> uniqueSupplier = unique(integerSupplier().between(0).and(100_000).build());
+
+        //When
+        List<Integer> values = IntStream.range(0, 50_000).parallel()
+                .mapToObj($ -> uniqueSupplier.get())
+                .collect(Collectors.toList());
+
+        //Then
+        assertThat(values.stream().distinct().count(), is(50_000L));
+        assertThat(uniqueSupplier.supplied(), is(50_000L));
+        assertThat(uniqueSupplier.rejected(), is(greaterThan(0L)));
+        assertThat(uniqueSupplier.mostAttempts(), is(greaterThan(1L)));
+    }
+
+    @Test
+    public void shouldSupplyEachValueOnlyOnceWithABloomFilter() {
+        //Given
+        UniqueSupplier<String> uniqueSupplier = unique(
+                integerSupplier().between(0).and(1_000_000).build().derive(String::valueOf),
+                Uniqueness.bloomFilter(1_000, 0.01));
+
+        //When
+        List<String> values = uniqueSupplier.stream(20_000).collect(Collectors.toList());
+
+        //Then - the filter has grown well past its initial size without supplying a duplicate
+        assertThat(values.stream().distinct().count(), is(20_000L));
+        assertThat(uniqueSupplier.rejectionRate(), is(lessThan(0.1)));
+    }
+
+    @Test
+    public void shouldFailFastWhenTheValuesAreExhausted() {
+        //Given
+        UniqueSupplier<Integer> uniqueSupplier = unique(
+                integerSupplier().between(0).and(10).build(), Uniqueness.exact().maxAttempts(1_000));
+        uniqueSupplier.stream(10).forEach($ -> { });
+
+        //When
+        NoSuchElementException exception = assertThrows(NoSuchElementException.class, uniqueSupplier::get);
+
+        //Then
+        assertThat(exception.getMessage(), containsString("after supplying 10 unique values"));
+        assertThat(uniqueSupplier.rejected(), is(greaterThanOrEqualTo(1_000L)));
+    }
+
+    @Test
+    public void shouldUseTheConfiguredHashFunction() {
+        //Given - hashing by length makes all strings of the same length duplicates
+        UniqueSupplier<String> uniqueSupplier = unique(
+                integerSupplier().between(10).and(100).build().derive(String::valueOf),
+                Uniqueness.exact().hashedBy($ -> ((String) $).length()));
+
+        //When
+        uniqueSupplier.get();
+
+        //Then
+        assertThrows(NoSuchElementException.class, uniqueSupplier::get);
+    }
+
+    @Test
+    public void shouldHashDistinctValuesDifferently() {
+        UUID uuid = UUID.randomUUID();
+        assertThat(Uniqueness.hash64("ab"), is(not(Uniqueness.hash64("ba"))));
+        assertThat(Uniqueness.hash64(1L), is(not(Uniqueness.hash64(2L))));
+        assertThat(Uniqueness.hash64(1L), is(Uniqueness.hash64(1)));
+        assertThat(Uniqueness.hash64(uuid), is(Uniqueness.hash64(new UUID(uuid.getMostSignificantBits(),
+                uuid.getLeastSignificantBits()))));
+        assertThat(Uniqueness.hash64(null), is(not(Uniqueness.hash64(0L))));
+    }
+}
@@ -0,0 +1,131 @@
+package com.robertboothby.djenni.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static com.robertboothby.djenni.core.LongValueStore.boundedLongValueStore;
+import static com.robertboothby.djenni.core.LongValueStore.longValueStore;
+import static com.robertboothby.djenni.core.ValueStore.boundedValueStore;
+import static com.robertboothby.djenni.core.ValueStore.valueStore;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ValueStoreTest {
+
+    @Test
+    public void shouldSupplyValuesStoredAfterTheSupplierWasCreated() {
+        //Given
+        ValueStore<String> valueStore = valueStore("A");
+        StreamableSupplier<String> supplierOfValues = valueStore.supplierOfValues();
+        StreamableSupplier<String> storingSupplier = valueStore.storesValuesFromSupplier(() -> "B");
+
+        //When
+        storingSupplier.get();
+        Set<String> supplied = supplierOfValues.stream(1000).collect(Collectors.toSet());
+
+        //Then
+        assertThat(supplied, containsInAnyOrder("A", "B"));
+    }
+
+    @Test
+    public void shouldFailToSupplyFromAnEmptyStore() {
+        //Given
+        StreamableSupplier<String> supplierOfValues = valueStore(String.class).supplierOfValues();
+
+        //Then
+        assertThrows(IllegalStateException.class, supplierOfValues::get);
+    }
+
+    @Test
+    public void shouldStoreDistinctValuesFromManyThreads() {
+        //Given
+        ValueStore<Integer> valueStore = valueStore(Integer.class);
+        AtomicInteger counter = new AtomicInteger();
+        StreamableSupplier<Integer> storingSupplier =
+                valueStore.storesValuesFromSupplier(() -> counter.getAndIncrement() % 50_000);
+
+        //When
+        IntStream.range(0, 200_000).parallel().forEach($ -> storingSupplier.get());
+
+        //Then
+        assertThat(valueStore.size(), is(50_000));
+        assertThat(valueStore.supplierOfValues().stream(1000).allMatch(valueStore::contains), is(true));
+    }
+
+    @Test
+    public void shouldKeepAUniformSampleWhenBoundedWithReservoirSampling() {
+        //Given
+        ValueStore<Integer> valueStore = boundedValueStore(1000);
+        AtomicInteger counter = new AtomicInteger();
+        StreamableSupplier<Integer> storingSupplier = valueStore.storesValuesFromSupplier(counter::getAndIncrement);
+
+        //When
+        storingSupplier.stream(100_000).forEach($ -> { });
+
+        //Then
+        assertThat(valueStore.size(), is(1000));
+        long fromFirstHalf = valueStore.supplierOfValues().stream(10_000).filter($ -> $ < 50_000).count();
+        assertThat(fromFirstHalf, is(both(greaterThan(4000L)).and(lessThan(6000L))));
+    }
+
+    @Test
+    public void shouldAlwaysKeepTheNewestValueWhenBoundedWithRandomEviction() {
+        //Given
+        ValueStore<Integer> valueStore = boundedValueStore(10, ValueStore.Eviction.RANDOM_EVICTION);
+        AtomicInteger counter = new AtomicInteger();
+        StreamableSupplier<Integer> storingSupplier = valueStore.storesValuesFromSupplier(counter::getAndIncrement);
+
+        //When
+        storingSupplier.stream(1000).forEach($ -> { });
+
+        //Then
+        assertThat(valueStore.size(), is(10));
+        assertThat(valueStore.contains(999), is(true));
+    }
+
+    @Test
+    public void shouldStoreAndSupplyLongValues() {
+        //Given
+        LongValueStore valueStore = longValueStore();
+        AtomicLong counter = new AtomicLong();
+        LongStreamableSupplier storingSupplier = valueStore.storesValuesFromSupplier(() -> counter.getAndIncrement() % 5000);
+        LongStreamableSupplier supplierOfValues = valueStore.supplierOfValues();
+
+        //When
+        IntStream.range(0, 20_000).parallel().forEach($ -> storingSupplier.getAsLong());
+
+        //Then
+        assertThat(valueStore.size(), is(5000));
+        assertThat(supplierOfValues.longStream(1000).allMatch($ -> $ >= 0 && $ < 5000), is(true));
+    }
+
+    @Test
+    public void shouldEvictLongValuesWhenBounded() {
+        //Given
+        LongValueStore valueStore = boundedLongValueStore(100, ValueStore.Eviction.RANDOM_EVICTION);
+        AtomicLong counter = new AtomicLong();
+        LongStreamableSupplier storingSupplier = valueStore.storesValuesFromSupplier(counter::getAndIncrement);
+
+        //When
+        storingSupplier.longStream(100_000).forEach($ -> { });
+
+        //Then
+        assertThat(valueStore.size(), is(100));
+        assertThat(valueStore.contains(99_999), is(true));
+        assertThat(LongStream.range(0, 100_000).filter(valueStore::contains).count(), is(100L));
+    }
+
+    @Test
+    public void shouldRejectAMissingEvictionPolicy() {
+        //Then
+        assertThrows(NullPointerException.class, () -> boundedValueStore(100, null));
+        assertThrows(NullPointerException.class, () -> boundedLongValueStore(100, null));
+    }
+}
@@ -0,0 +1,61 @@
+package com.robertboothby.djenni.distribution;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for {@link AliasTable}.
+ */
+public class AliasTableTest {
+
+    private static final int GRID_POINTS = 1_000_000;
+
+    @Test
+    public void shouldReproduceTheWeightsExactlyAcrossTheUniformRange() {
+        //Given
+        double[] weights = {1.0D, 2.0D, 0.0D, 3.0D, 4.0D};
+        AliasTable table = AliasTable.of(weights);
+
+        //When
+        double[] proportions = sampleEvenlyAcrossTheRange(table);
+
+        //Then
+        assertThat(proportions[0], is(closeTo(0.1D, 1e-4)));
+        assertThat(proportions[1], is(closeTo(0.2D, 1e-4)));
+        assertThat(proportions[2], is(0.0D));
+        assertThat(proportions[3], is(closeTo(0.3D, 1e-4)));
+        assertThat(proportions[4], is(closeTo(0.4D, 1e-4)));
+    }
+
+    @Test
+    public void shouldHandleASingleWeight() {
+        //Given
+        AliasTable table = AliasTable.of(new double[]{0.5D});
+
+        //Then
+        assertThat(table.sample(0.0D), is(0));
+        assertThat(table.sample(0.999999D), is(0));
+    }
+
+    @Test
+    public void shouldRejectInvalidWeights() {
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.of(new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.of(new double[]{0.0D, 0.0D}));
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.of(new double[]{1.0D, -1.0D}));
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.of(new double[]{1.0D, Double.NaN}));
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.of(new double[]{1.0D, Double.POSITIVE_INFINITY}));
+    }
+
+    private static double[] sampleEvenlyAcrossTheRange(AliasTable table) {
+        double[] proportions = new double[table.size()];
+        double step = (double) table.size() / GRID_POINTS;
+        for (int i = 0; i < GRID_POINTS; i++) {
+            proportions[table.sample((i + 0.5D) * step)] += 1.0D / GRID_POINTS;
+        }
+        return proportions;
+    }
+}
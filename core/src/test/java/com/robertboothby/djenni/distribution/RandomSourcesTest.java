@@ -0,0 +1,97 @@
+package com.robertboothby.djenni.distribution;
+
+import com.robertboothby.djenni.core.IntStreamableSupplier;
+import com.robertboothby.djenni.core.StreamableSupplier;
+import com.robertboothby.djenni.distribution.simple.SimpleRandomDoubleDistribution;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.robertboothby.djenni.lang.IntegerSupplierBuilder.integerSupplier;
+import static com.robertboothby.djenni.lang.StringSupplierBuilder.arbitraryString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the pluggable sources of randomness.
+ */
+public class RandomSourcesTest {
+
+    @AfterEach
+    public void resetDefaultSource() {
+        RandomSources.resetDefaultSource();
+    }
+
+    @Test
+    public void suppliersBuiltWithTheSameSeedShouldProduceTheSameSequence() {
+        //Given
+        IntStreamableSupplier first = integerSupplier().between(0).and(1_000_000)
+                .withRandomSource(RandomSources.xoShiRo256PlusPlus(42L)).buildInt();
+        IntStreamableSupplier second = integerSupplier().between(0).and(1_000_000)
+                .withRandomSource(RandomSources.xoShiRo256PlusPlus(42L)).buildInt();
+        //When
+        int[] firstValues = first.intStream(100).toArray();
+        int[] secondValues = second.intStream(100).toArray();
+        //Then
+        assertThat(firstValues, is(equalTo(secondValues)));
+    }
+
+    @Test
+    public void suppliersBuiltWithDifferentSeedsShouldProduceDifferentSequences() {
+        //Given
+        StreamableSupplier<String> first = arbitraryString().withRandomSource(RandomSources.splitMix64(1L)).build();
+        StreamableSupplier<String> second = arbitraryString().withRandomSource(RandomSources.splitMix64(2L)).build();
+        //When
+        List<String> firstValues = first.stream(20).collect(Collectors.toList());
+        List<String> secondValues = second.stream(20).collect(Collectors.toList());
+        //Then
+        assertThat(firstValues, is(not(equalTo(secondValues))));
+    }
+
+    @Test
+    public void customDistributionsThatCannotTakeASourceShouldFailRatherThanIgnoreIt() {
+        //Given
+        Distribution<Integer, Integer> custom = bound -> bound - 1;
+
+        //Then
+        assertThrows(UnsupportedOperationException.class, () -> integerSupplier().between(0).and(10)
+                .withDistribution(custom).withRandomSource(RandomSources.xoShiRo256PlusPlus(42L)).buildInt());
+    }
+
+    @Test
+    public void jdkAlgorithmsShouldBeReproducible() {
+        //Given
+        RandomSource first = RandomSources.l64x128(7L);
+        RandomSource second = RandomSources.l64x128(7L);
+        //When
+        long[] firstValues = IntStream.range(0, 10).mapToLong($ -> first.current().nextLong()).toArray();
+        long[] secondValues = IntStream.range(0, 10).mapToLong($ -> second.current().nextLong()).toArray();
+        //Then
+        assertThat(firstValues, is(equalTo(secondValues)));
+    }
+
+    @Test
+    public void defaultSourceShouldDriveTheConstantDistributions() {
+        //Given
+        RandomSources.setDefaultSource(RandomSources.xoShiRo256PlusPlus(99L));
+        double[] firstValues = IntStream.range(0, 10).mapToDouble($ -> SimpleRandomDoubleDistribution.UNIFORM.generate(1.0D)).toArray();
+        //When
+        RandomSources.setDefaultSource(RandomSources.xoShiRo256PlusPlus(99L));
+        double[] secondValues = IntStream.range(0, 10).mapToDouble($ -> SimpleRandomDoubleDistribution.UNIFORM.generate(1.0D)).toArray();
+        //Then
+        assertThat(firstValues, is(equalTo(secondValues)));
+    }
+
+    @Test
+    public void derivedSeedsShouldBeStableAndDistinct() {
+        //Then
+        assertThat(RandomSources.deriveSeed(42L, 3L), is(equalTo(RandomSources.deriveSeed(42L, 3L))));
+        assertThat(RandomSources.deriveSeed(42L, 3L), is(not(equalTo(RandomSources.deriveSeed(42L, 4L)))));
+    }
+}
@@ -11,6 +11,7 @@ import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  *
@@ -92,4 +93,11 @@ public class SimpleRandomDoubleDistributionTest {
         assertThat(dataDistributionAssessment.proportionBetween(0.5D, 1.0D), is(lessThanOrEqualTo(0.1D)));
     }
 
+    @Test
+    public void boxedGenerationShouldRejectNullBounds() {
+        assertThrows(IllegalArgumentException.class, () -> SimpleRandomDoubleDistribution.UNIFORM.generate((Double) null));
+        assertThrows(IllegalArgumentException.class, () -> SimpleRandomIntegerDistribution.UNIFORM.generate((Integer) null));
+        assertThrows(IllegalArgumentException.class, () -> SimpleRandomLongDistribution.UNIFORM.generate((Long) null));
+    }
+
 }
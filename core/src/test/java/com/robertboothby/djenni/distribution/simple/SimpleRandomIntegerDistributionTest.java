@@ -0,0 +1,90 @@
+package com.robertboothby.djenni.distribution.simple;
+
+import com.robertboothby.djenni.distribution.IntDistribution;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Tests for {@link SimpleRandomIntegerDistribution}, in particular that the tables built by
+ * {@link SimpleRandomIntegerDistribution#forBound(int)} match the shape of the sampled distributions.
+ */
+public class SimpleRandomIntegerDistributionTest {
+
+    private static final int BOUND = 10;
+    private static final int SAMPLES = 400_000;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"NORMAL", "LEFT_NORMAL", "RIGHT_NORMAL", "INVERTED_NORMAL", "LEFT_INVERTED_NORMAL", "RIGHT_INVERTED_NORMAL"})
+    public void tabulatedDistributionShouldMatchTheSampledDistribution(String name) throws Exception {
+        //Given
+        SimpleRandomIntegerDistribution distribution =
+                (SimpleRandomIntegerDistribution) SimpleRandomIntegerDistribution.class.getField(name).get(null);
+        IntDistribution tabulated = distribution.forBound(BOUND);
+
+        //When
+        double[] sampled = proportions(distribution);
+        double[] fromTable = proportions(tabulated);
+
+        //Then
+        assertThat(tabulated, is(not(sameInstance(distribution))));
+        for (int i = 0; i < BOUND; i++) {
+            assertThat(name + " bucket " + i, fromTable[i], is(closeTo(sampled[i], 0.006D)));
+        }
+    }
+
+    @Test
+    public void uniformDistributionShouldNotBeTabulated() {
+        //Then
+        assertThat(SimpleRandomIntegerDistribution.UNIFORM.forBound(BOUND), is(sameInstance(SimpleRandomIntegerDistribution.UNIFORM)));
+    }
+
+    @Test
+    public void tableShouldOnlyBeBuiltOnceEnoughValuesHaveBeenDrawn() {
+        //Given
+        SimpleRandomIntegerDistribution.TabulatedDistribution tabulated =
+                (SimpleRandomIntegerDistribution.TabulatedDistribution) SimpleRandomIntegerDistribution.NORMAL.forBound(BOUND);
+        int drawsBeforeTabulation = BOUND * SimpleRandomIntegerDistribution.TABULATION_DRAWS_PER_VALUE;
+
+        //When
+        tabulated.generate(BOUND, new int[drawsBeforeTabulation - 1]);
+
+        //Then
+        assertThat(tabulated.isTabulated(), is(false));
+
+        //When
+        tabulated.generate(BOUND);
+
+        //Then
+        assertThat(tabulated.isTabulated(), is(true));
+    }
+
+    @Test
+    public void tabulatedDistributionShouldStillSupportOtherBounds() {
+        //Given
+        IntDistribution tabulated = SimpleRandomIntegerDistribution.NORMAL.forBound(BOUND);
+
+        //When
+        int[] values = new int[1000];
+        tabulated.generate(3, values);
+
+        //Then
+        for (int value : values) {
+            assertThat(value >= 0 && value < 3, is(true));
+        }
+    }
+
+    private static double[] proportions(IntDistribution distribution) {
+        double[] proportions = new double[BOUND];
+        for (int i = 0; i < SAMPLES; i++) {
+            proportions[distribution.generate(BOUND)] += 1.0D / SAMPLES;
+        }
+        return proportions;
+    }
+}
@@ -3,6 +3,13 @@ package com.robertboothby.djenni.dynamic;
 import com.robertboothby.djenni.core.StreamableSupplier;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static com.robertboothby.djenni.dynamic.DefaultSuppliersImpl.defaultObjectSupplier;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -154,4 +161,79 @@ public class DefaultSuppliersImplTest {
         defaultSuppliers.setClassSupplier(Object.class, () -> "Hello");
         assertThat(defaultSuppliers.getSupplierForClass(Object.class).get(), is(equalTo("Hello")));
     }
+
+    @Test
+    public void shouldResetToPrimitiveDefaults() {
+        //Given
+        DefaultSuppliers underTest = new DefaultSuppliersImpl();
+        underTest.setClassSupplier(int.class, () -> 1);
+        underTest.setClassAndPropertySupplier(String.class, "greeting", () -> "HELLO");
+
+        //When
+        underTest.reset();
+
+        //Then
+        assertThat(underTest.getSupplierForClass(int.class).get(), is(0));
+        assertThat(underTest.getSupplierForClassAndProperty(String.class, "greeting"), is(defaultObjectSupplier));
+    }
+
+    @Test
+    public void shouldTreatANullPropertyAsTheClassDefault() {
+        //Given
+        DefaultSuppliers underTest = new DefaultSuppliersImpl();
+
+        //When
+        underTest.setClassAndPropertySupplier(int.class, null, () -> 1);
+
+        //Then
+        assertThat(underTest.getSupplierForClassAndProperty(int.class, null).get(), is(1));
+        assertThat(underTest.getSupplierForClass(int.class).get(), is(1));
+    }
+
+    @Test
+    public void shouldSupportConcurrentReadsAndWrites() throws Exception {
+        //Given
+        DefaultSuppliers underTest = new DefaultSuppliersImpl();
+        int threads = 8;
+        int propertiesPerThread = 2_000;
+        Class<?>[] classes = {String.class, Integer.class, Long.class, Object.class, int.class};
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> results = new ArrayList<>();
+
+        //When
+        try {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < propertiesPerThread; i++) {
+                        @SuppressWarnings("unchecked")
+                        Class<Object> clazz = (Class<Object>) classes[i % classes.length];
+                        String property = "property-" + thread + "-" + i;
+                        String value = property + "-value";
+                        underTest.setClassAndPropertySupplier(clazz, property, () -> value);
+                        assertThat(underTest.getSupplierForClassAndProperty(clazz, property).get(), is(value));
+                        assertThat(underTest.getSupplierForClass(int.class).get(), is(0));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        //Then
+        for (int thread = 0; thread < threads; thread++) {
+            for (int i = 0; i < propertiesPerThread; i++) {
+                String property = "property-" + thread + "-" + i;
+                assertThat(underTest.getSupplierForClassAndProperty(classes[i % classes.length], property).get(),
+                        is(property + "-value"));
+            }
+        }
+    }
 }
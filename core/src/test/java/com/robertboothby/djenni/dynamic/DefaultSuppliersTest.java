@@ -4,10 +4,18 @@ import com.robertboothby.djenni.core.StreamableSupplier;
 import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class DefaultSuppliersTest {
@@ -27,4 +35,33 @@ public class DefaultSuppliersTest {
         assertThat(DefaultSuppliers.defaultSuppliers(), is(equalTo(newDefaultSuppliers)));
     }
 
+    @Test
+    public void shouldCreateASingleInstanceWhenCalledConcurrently() throws Exception {
+        //Given
+        DefaultSuppliers.overrideInstance(null);
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<DefaultSuppliers>> results = new ArrayList<>();
+
+        //When
+        try {
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return DefaultSuppliers.defaultSuppliers();
+                }));
+            }
+            start.countDown();
+
+            //Then
+            DefaultSuppliers expected = DefaultSuppliers.defaultSuppliers();
+            for (Future<DefaultSuppliers> result : results) {
+                assertThat(result.get(), is(sameInstance(expected)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
 }
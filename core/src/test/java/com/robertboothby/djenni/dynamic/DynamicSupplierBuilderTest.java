@@ -5,6 +5,9 @@ import com.robertboothby.djenni.core.SupplierHelper;
 import org.junit.jupiter.api.Test;
 
 import java.beans.IntrospectionException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static com.robertboothby.djenni.core.SupplierHelper.fix;
 import static com.robertboothby.djenni.dynamic.DefaultSuppliers.defaultSuppliers;
@@ -13,6 +16,7 @@ import static com.robertboothby.djenni.dynamic.DynamicSupplierBuilder.supplierFo
 import static com.robertboothby.djenni.lang.IntegerSupplierBuilder.anyInteger;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class DynamicSupplierBuilderTest {
     @Test
@@ -161,6 +165,91 @@ public class DynamicSupplierBuilderTest {
         assertThat(record.valueTwo(), is(2));
     }
 
+    @Test
+    public void shouldSetInheritedPropertiesAndPrimitiveConstructorParameters() {
+        //Given
+        StreamableSupplier<TestSubClass> testSubClassSupplier = supplierFor(TestSubClass.class)
+                .property("count", fix(3))
+                .property(TestBaseClass::setLabel, fix("Label"))
+                .build();
+
+        //When
+        TestSubClass testSubClass = testSubClassSupplier.get();
+
+        //Then
+        assertThat(testSubClass.getCount(), is(3));
+        assertThat(testSubClass.getLabel(), is("Label"));
+    }
+
+    @Test
+    public void shouldApplySettersConfiguredAfterAnExplicitConstructor() {
+        //Given
+        StreamableSupplier<TestClass> testClassSupplier = supplierFor(TestClass.class)
+                .useConstructor($ -> new TestClass($.p("One"), $.p(2)))
+                .property(TestClass::setValueThree, fix("Three"))
+                .property(TestClass::getValueFour, fix(4))
+                .build();
+
+        //When
+        TestClass testClass = testClassSupplier.get();
+
+        //Then
+        assertThat(testClass.getValueOne(), is("One"));
+        assertThat(testClass.getValueTwo(), is(2));
+        assertThat(testClass.getValueThree(), is("Three"));
+        assertThat(testClass.getValueFour(), is(4));
+    }
+
+    @Test
+    public void buildersForTheSameClassShouldBeIndependent() {
+        //Given
+        DynamicSupplierBuilder<TestClass> first = supplierFor(TestClass.class)
+                .property(TestClass::getValueOne, fix("First"))
+                .property(TestClass::setValueThree, fix("Three"));
+        DynamicSupplierBuilder<TestClass> second = supplierFor(TestClass.class)
+                .property(TestClass::getValueOne, fix("Second"));
+
+        //When
+        TestClass fromFirst = first.build().get();
+        TestClass fromSecond = second.build().get();
+
+        //Then
+        assertThat(fromFirst.getValueOne(), is("First"));
+        assertThat(fromFirst.getValueThree(), is("Three"));
+        assertThat(fromSecond.getValueOne(), is("Second"));
+        assertThat(fromSecond.getValueThree(), is(not("Three")));
+    }
+
+    @Test
+    public void shouldBuildSuppliersOnManyThreadsAtOnce() {
+        //Given
+        int builders = 1_000;
+
+        //When
+        List<TestRecord> records = IntStream.range(0, builders).parallel()
+                .mapToObj(i -> supplierFor(TestRecord.class).property(TestRecord::valueTwo, fix(i)).build().get())
+                .collect(Collectors.toList());
+
+        //Then
+        for (int i = 0; i < builders; i++) {
+            assertThat(records.get(i).valueTwo(), is(i));
+        }
+    }
+
+    @Test
+    public void shouldNotWrapRuntimeExceptionsThrownByTheConstructor() {
+        //Given
+        StreamableSupplier<TestRecord> recordSupplier = supplierForRecord(TestRecord.class)
+                .property(TestRecord::valueOne, fix(TestRecord.INVALID))
+                .build();
+
+        //When
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, recordSupplier::get);
+
+        //Then
+        assertThat(exception.getMessage(), is(TestRecord.INVALID));
+    }
+
     public static class TestClass {
         private final String valueOne;
 
@@ -202,6 +291,37 @@ public class DynamicSupplierBuilderTest {
     }
 
     public record TestRecord(String valueOne, Integer valueTwo) {
+        public static final String INVALID = "Invalid";
+
+        public TestRecord {
+            if (INVALID.equals(valueOne)) {
+                throw new IllegalArgumentException(INVALID);
+            }
+        }
+    }
+
+    public static class TestBaseClass {
+        private String label;
+
+        public String getLabel() {
+            return label;
+        }
+
+        public void setLabel(String label) {
+            this.label = label;
+        }
+    }
+
+    public static class TestSubClass extends TestBaseClass {
+        private final int count;
+
+        public TestSubClass(int count) {
+            this.count = count;
+        }
+
+        public int getCount() {
+            return count;
+        }
     }
 
 }
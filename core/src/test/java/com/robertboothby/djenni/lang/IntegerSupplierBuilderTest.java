@@ -1,6 +1,9 @@
 package com.robertboothby.djenni.lang;
 
+import com.robertboothby.djenni.core.BlockSequence;
+import com.robertboothby.djenni.core.IntStreamableSupplier;
 import com.robertboothby.djenni.distribution.Distribution;
+import com.robertboothby.djenni.distribution.IntDistribution;
 import com.robertboothby.djenni.helper.DataDistributionAssessment;
 import com.robertboothby.djenni.helper.DataDistributionAssessmentRangeMatcher;
 import com.robertboothby.djenni.helper.DataDistributionAssessmentSingleValueMatcher;
@@ -9,15 +12,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.function.Supplier;
 
 import static com.robertboothby.djenni.helper.DataDistributionAssessment.assessSupplier;
 import static com.robertboothby.djenni.lang.IntegerSupplierBuilder.integerSupplier;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.both;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -31,6 +43,9 @@ public class IntegerSupplierBuilderTest {
     @Mock
     Distribution<Integer, Integer> distribution;
 
+    @Mock
+    IntDistribution intDistribution;
+
     @Test
     public void shouldGenerateOnlySingleValueWhenConfiguredSo() {
         //Given
@@ -83,4 +98,101 @@ public class IntegerSupplierBuilderTest {
         assertThat(supplier.get(), is(5));
     }
 
+    @Test
+    public void primitiveSupplierShouldGenerateTheSameRangeOfValues() {
+        //Given
+        IntStreamableSupplier generator = integerSupplier().between(-10).and(10).buildInt();
+
+        //When
+        int[] values = generator.intStream(1000).toArray();
+
+        //Then
+        assertThat(values.length, is(1000));
+        for (int value : values) {
+            assertThat(value, is(both(greaterThanOrEqualTo(-10)).and(lessThan(10))));
+        }
+    }
+
+    @Test
+    public void sequentialPrimitiveSupplierShouldRollOverAtTheEndOfTheRange() {
+        //Given
+        IntStreamableSupplier generator = integerSupplier().between(3).and(6).sequential().buildInt();
+
+        //When
+        int[] values = generator.intStream(7).toArray();
+
+        //Then
+        assertThat(values, is(equalTo(new int[]{3, 4, 5, 3, 4, 5, 3})));
+    }
+
+    @Test
+    public void shouldUsePrimitiveGenerationWhenDistributionIsAnIntDistribution() {
+        //Given
+        IntStreamableSupplier generator = integerSupplier().between(0).and(10).withDistribution(intDistribution).buildInt();
+        given(intDistribution.generate(10)).willReturn(7);
+
+        //When
+        int result = generator.getAsInt();
+
+        //Then
+        assertThat(result, is(equalTo(7)));
+        verify(intDistribution, times(1)).generate(10);
+        verify(intDistribution, never()).generate(Integer.valueOf(10));
+    }
+
+    @Test
+    public void bulkFillShouldGenerateValuesWithinTheRange() {
+        //Given
+        IntStreamableSupplier supplier = integerSupplier().between(10).and(20).buildInt();
+        int[] values = new int[1000];
+
+        //When
+        supplier.fill(values);
+
+        //Then
+        for (int value : values) {
+            assertThat(value, is(both(greaterThanOrEqualTo(10)).and(lessThan(20))));
+        }
+    }
+
+    @Test
+    public void batchShouldUseTheBulkDistributionPath() {
+        //Given
+        IntStreamableSupplier supplier = integerSupplier().between(5).and(15).withDistribution(intDistribution).buildInt();
+
+        //When
+        List<Integer> batch = supplier.getBatch(3);
+
+        //Then
+        assertThat(batch, is(equalTo(List.of(5, 5, 5))));
+        verify(intDistribution, times(1)).generate(eq(10), any(int[].class));
+        verify(intDistribution, never()).generate(10);
+    }
+
+    @Test
+    public void uniqueSequentialPrimitiveSupplierShouldStepAndWrapAtTheEndOfTheRange() {
+        //Given
+        IntStreamableSupplier generator = integerSupplier().between(1).and(8).step(2).blockSize(3)
+                .uniqueSequential().buildInt();
+
+        //When
+        int[] values = generator.intStream(6).toArray();
+
+        //Then
+        assertThat(values, is(equalTo(new int[]{1, 3, 5, 7, 1, 3})));
+    }
+
+    @Test
+    public void uniqueSequentialSupplierOfASingleValueShouldFailWhenExhaustedIfConfiguredSo() {
+        //Given
+        IntStreamableSupplier generator = integerSupplier().between(5).and(6)
+                .whenExhausted(BlockSequence.Exhaustion.FAIL).uniqueSequential().buildInt();
+
+        //When
+        int value = generator.getAsInt();
+
+        //Then
+        assertThat(value, is(5));
+        assertThrows(NoSuchElementException.class, generator::getAsInt);
+    }
 }
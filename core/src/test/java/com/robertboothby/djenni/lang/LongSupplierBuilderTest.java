@@ -1,5 +1,7 @@
 package com.robertboothby.djenni.lang;
 
+import com.robertboothby.djenni.core.BlockSequence;
+import com.robertboothby.djenni.core.LongStreamableSupplier;
 import com.robertboothby.djenni.distribution.Distribution;
 import com.robertboothby.djenni.helper.DataDistributionAssessment;
 import com.robertboothby.djenni.helper.DataDistributionAssessmentRangeMatcher;
@@ -8,13 +10,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.NoSuchElementException;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static com.robertboothby.djenni.helper.DataDistributionAssessmentSingleValueMatcher.dataDistributionAssessmentSingleValueMatcher;
 import static com.robertboothby.djenni.lang.LongSupplierBuilder.generateALong;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -79,4 +85,56 @@ public class LongSupplierBuilderTest {
         assertThat(supplier.get(), is(7L));
     }
 
+    @Test
+    public void primitiveSupplierShouldUseDistributionInGeneration() {
+        //Given
+        LongStreamableSupplier generator = generateALong().between(-10L).and(10L).distribution(distribution).buildLong();
+        given(distribution.generate(20L)).willReturn(5L);
+        //When
+        long result = generator.getAsLong();
+        //Then
+        assertThat(result, is(equalTo(-5L)));
+    }
+
+    @Test
+    public void uniqueSequentialSupplierShouldNotRepeatValuesAcrossThreads() {
+        //Given
+        LongStreamableSupplier generator = generateALong().between(100L).and(1_000_000L).step(3L).blockSize(64)
+                .uniqueSequential().buildLong();
+
+        //When
+        long[] values = IntStream.range(0, 100_000).parallel().mapToLong($ -> generator.getAsLong()).toArray();
+
+        //Then
+        assertThat(LongStream.of(values).distinct().count(), is(100_000L));
+        assertThat(LongStream.of(values).allMatch($ -> $ >= 100L && ($ - 100L) % 3 == 0), is(true));
+    }
+
+    @Test
+    public void uniqueSequentialSupplierShouldFailWhenExhaustedIfConfiguredSo() {
+        //Given
+        LongStreamableSupplier generator = generateALong().between(0L).and(10L).blockSize(4)
+                .whenExhausted(BlockSequence.Exhaustion.FAIL).uniqueSequential().buildLong();
+
+        //When
+        long[] values = generator.longStream(10).toArray();
+
+        //Then
+        assertThat(values, is(equalTo(new long[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9})));
+        assertThrows(NoSuchElementException.class, generator::getAsLong);
+    }
+
+    @Test
+    public void uniqueSequentialSupplierOfASingleValueShouldFailWhenExhaustedIfConfiguredSo() {
+        //Given
+        LongStreamableSupplier generator = generateALong().between(5L).and(6L)
+                .whenExhausted(BlockSequence.Exhaustion.FAIL).uniqueSequential().buildLong();
+
+        //When
+        long value = generator.getAsLong();
+
+        //Then
+        assertThat(value, is(5L));
+        assertThrows(NoSuchElementException.class, generator::getAsLong);
+    }
 }
@@ -1,6 +1,7 @@
 package com.robertboothby.djenni.lang;
 
 import com.robertboothby.djenni.core.CharacterStrings;
+import com.robertboothby.djenni.core.StreamableSupplier;
 import com.robertboothby.djenni.core.util.Collections;
 import com.robertboothby.djenni.helper.DataCompletenessAssessment;
 import com.robertboothby.djenni.matcher.Matchers;
@@ -15,7 +16,10 @@ import static com.robertboothby.djenni.lang.CharacterSupplierBuilder.characterSu
 import static com.robertboothby.djenni.lang.IntegerSupplierBuilder.integerSupplier;
 import static com.robertboothby.djenni.lang.StringSupplierBuilder.arbitraryString;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 
 /**
  *
@@ -58,4 +62,49 @@ public class StringSupplierBuilderTest {
 
         assertThat(supplier.get(), is("A"));
     }
+
+    @Test
+    public void batchShouldRespectLengthsAndCharacters(){
+        //Given
+        StreamableSupplier<String> strings = arbitraryString().withEuropeanNumerals().withLengthsBetween(3).and(6).build();
+        String[] values = new String[500];
+
+        //When
+        strings.fill(values);
+
+        //Then
+        for (String value : values) {
+            assertThat(value.length(), is(both(greaterThanOrEqualTo(3)).and(lessThan(6))));
+            assertThat(value.chars().allMatch(Character::isDigit), is(true));
+        }
+    }
+
+    @Test
+    public void batchShouldDrawLongStringsAcrossManyGroups(){
+        //Given
+        StreamableSupplier<String> strings = arbitraryString().withEuropeanNumerals().withFixedLength(3000).build();
+        String[] values = new String[100];
+
+        //When
+        strings.fill(values);
+
+        //Then
+        for (String value : values) {
+            assertThat(value.length(), is(3000));
+            assertThat(value.chars().allMatch(Character::isDigit), is(true));
+        }
+    }
+
+    @Test
+    public void shouldGenerateStringsFromNonLatin1Characters(){
+        //Given
+        StreamableSupplier<String> strings = arbitraryString().withAvailableCharacters("\u03b1\u03b2\u03b3").withFixedLength(8).build();
+
+        //When
+        String value = strings.get();
+
+        //Then
+        assertThat(value.length(), is(8));
+        assertThat(value.chars().allMatch(c -> c >= '\u03b1' && c <= '\u03b3'), is(true));
+    }
 }
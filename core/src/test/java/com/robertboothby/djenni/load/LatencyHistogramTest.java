@@ -0,0 +1,61 @@
+package com.robertboothby.djenni.load;
+
+import org.junit.jupiter.api.Test;
+
+import static com.robertboothby.djenni.load.LatencyHistogram.latencyHistogram;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void shouldReportPercentilesToTheConfiguredPrecision() {
+        //Given
+        LatencyHistogram histogram = latencyHistogram();
+
+        //When
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        //Then
+        assertThat(histogram.count(), is(100_000L));
+        assertThat(histogram.min(), is(1_000L));
+        assertThat(histogram.max(), is(100_000_000L));
+        assertThat(histogram.mean(), is(closeTo(50_000_500, 1)));
+        assertThat((double) histogram.valueAtPercentile(50), is(closeTo(50_000_000, 50_000)));
+        assertThat((double) histogram.valueAtPercentile(99), is(closeTo(99_000_000, 99_000)));
+        assertThat(histogram.valueAtPercentile(100), is(100_000_000L));
+    }
+
+    @Test
+    public void shouldRecordSmallValuesExactly() {
+        //Given
+        LatencyHistogram histogram = latencyHistogram(1_000_000, 2);
+
+        //When
+        histogram.record(7);
+        histogram.record(-5);
+        histogram.record(5_000_000);
+
+        //Then
+        assertThat(histogram.valueAtPercentile(0), is(0L));
+        assertThat(histogram.valueAtPercentile(50), is(7L));
+        assertThat(histogram.max(), is(1_000_000L));
+    }
+
+    @Test
+    public void shouldBackFillSamplesOmittedDuringAStall() {
+        //Given
+        LatencyHistogram histogram = latencyHistogram();
+
+        //When
+        histogram.recordWithExpectedInterval(1_000, 100);
+
+        //Then
+        assertThat(histogram.count(), is(10L));
+        assertThat(histogram.min(), is(100L));
+        assertThat(histogram.max(), is(1_000L));
+        assertThat(histogram.valueAtPercentile(50), is(500L));
+    }
+}
@@ -0,0 +1,137 @@
+package com.robertboothby.djenni.load;
+
+import com.robertboothby.djenni.core.StreamableSupplier;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.robertboothby.djenni.lang.IntegerSupplierBuilder.integerSupplier;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RateDrivenEmitterTest {
+
+    @Test
+    public void shouldEmitEveryValueAtAConstantRate() throws InterruptedException {
+        //Given
+        AtomicInteger counter = new AtomicInteger();
+        List<Integer> consumed = new CopyOnWriteArrayList<>();
+
+        //When
+        EmissionReport report = RateDrivenEmitter.emitting(counter::getAndIncrement, consumed::add)
+                .at(ArrivalRate.constant(2_000))
+                .forDuration(Duration.ofMillis(500))
+                .run();
+
+        //Then
+        assertThat(report.emitted(), is(1_000L));
+        assertThat(report.failed(), is(0L));
+        assertThat(consumed, hasSize(1_000));
+        assertThat(report.latency().count(), is(1_000L));
+        assertThat(report.targetPerSecond(), is(closeTo(2_000, 0.001)));
+        assertThat(report.achievedPerSecond(), is(closeTo(2_000, 200)));
+        assertThat(report.summary(), startsWith("target 2000.0/s, achieved "));
+    }
+
+    @Test
+    public void shouldKeepToTheScheduleWhenTheConsumerIsSlow() throws InterruptedException {
+        //Given
+        StreamableSupplier<String> supplier = () -> "request";
+        AtomicInteger consumed = new AtomicInteger();
+
+        //When
+        EmissionReport report = RateDrivenEmitter.emitting(supplier, (String value) -> {
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    consumed.incrementAndGet();
+                })
+                .at(ArrivalRate.constant(200))
+                .forDuration(Duration.ofMillis(300))
+                .run();
+
+        //Then
+        assertThat(report.emitted(), is(60L));
+        assertThat(consumed.get(), is(60));
+        //Open model: the emissions overlap rather than waiting 50ms for each other, so the rate is still achieved.
+        assertThat(report.achievedPerSecond(), is(closeTo(200, 20)));
+        assertThat(report.latency().valueAtPercentile(50), is(greaterThanOrEqualTo(50_000_000L)));
+        assertThat(report.latency().valueAtPercentile(50), is(greaterThanOrEqualTo(report.serviceTime().valueAtPercentile(50))));
+    }
+
+    @Test
+    public void shouldRampUpToTheTargetRate() throws InterruptedException {
+        //Given
+        AtomicInteger consumed = new AtomicInteger();
+
+        //When
+        EmissionReport report = RateDrivenEmitter.emitting(() -> 1, (Integer value) -> consumed.incrementAndGet())
+                .at(ArrivalRate.ramp(0, 4_000, Duration.ofMillis(500)))
+                .forDuration(Duration.ofMillis(500))
+                .run();
+
+        //Then
+        assertThat(report.targetEmissions(), is(closeTo(1_000, 0.001)));
+        assertThat(report.emitted(), is(both(greaterThanOrEqualTo(999L)).and(lessThanOrEqualTo(1_001L))));
+        assertThat((long) consumed.get(), is(report.emitted()));
+    }
+
+    @Test
+    public void shouldReproducePoissonArrivalsAndValuesFromASeed() throws InterruptedException {
+        //Given
+        StreamableSupplier<Integer> supplier = integerSupplier().between(0).and(1_000_000).build();
+        List<Integer> first = new CopyOnWriteArrayList<>();
+        List<Integer> second = new CopyOnWriteArrayList<>();
+        ArrivalRate rate = ArrivalRate.constant(5_000).poisson();
+
+        //When
+        EmissionReport firstReport = RateDrivenEmitter.emitting(supplier, first::add)
+                .at(rate).forDuration(Duration.ofMillis(400)).seed(42).run();
+        EmissionReport secondReport = RateDrivenEmitter.emitting(supplier, second::add)
+                .at(rate).forDuration(Duration.ofMillis(400)).seed(42).run();
+
+        //Then
+        assertThat(firstReport.emitted(), is(secondReport.emitted()));
+        assertThat((double) firstReport.emitted(), is(closeTo(2_000, 200)));
+        assertThat(first.stream().sorted().toList(), is(second.stream().sorted().toList()));
+    }
+
+    @Test
+    public void shouldCountTheFailuresOfTheConsumer() throws InterruptedException {
+        //Given
+        AtomicInteger counter = new AtomicInteger();
+
+        //When
+        EmissionReport report = RateDrivenEmitter.emitting(counter::getAndIncrement, (Integer value) -> {
+                    if (value % 2 == 0) {
+                        throw new IllegalStateException("rejected");
+                    }
+                })
+                .at(ArrivalRate.constant(1_000))
+                .forDuration(Duration.ofMillis(100))
+                .run();
+
+        //Then
+        assertThat(report.emitted(), is(100L));
+        assertThat(report.failed(), is(50L));
+        assertThat(report.latency().count(), is(50L));
+    }
+
+    @Test
+    public void shouldRequireARateAndADuration() {
+        //Given
+        RateDrivenEmitter<Integer> emitter = RateDrivenEmitter.emitting(() -> 1, (Integer value) -> { });
+
+        //When
+        IllegalStateException exception = assertThrows(IllegalStateException.class, emitter::run);
+
+        //Then
+        assertThat(exception.getMessage(), containsString("must be configured"));
+    }
+}
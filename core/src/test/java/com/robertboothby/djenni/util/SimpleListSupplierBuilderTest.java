@@ -24,7 +24,10 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.lessThan;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willCallRealMethod;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.times;
@@ -43,6 +46,7 @@ public class SimpleListSupplierBuilderTest {
     public void shouldCreateSimpleListFromSupplier(){
         //Given
         given(testSupplier.get()).willReturn("VALUE");
+        willCallRealMethod().given(testSupplier).fill(anyList(), anyInt());
         StreamableSupplier<List<String>> lists = simpleList($ -> $.entries(testSupplier).size(5));
 
         //When
@@ -1,6 +1,7 @@
 package com.robertboothby.djenni.util;
 
 import com.robertboothby.djenni.core.StreamableSupplier;
+import com.robertboothby.djenni.distribution.RandomSources;
 import org.junit.jupiter.api.Test;
 
 import java.util.UUID;
@@ -20,6 +21,21 @@ public class UUIDSupplierBuilderTest {
         UUID value = uuids.get();
 
         assertThat(value, is(notNullValue()));
+        assertThat(value.version(), is(equalTo(4)));
+        assertThat(value.variant(), is(equalTo(2)));
+    }
+
+    @Test
+    public void shouldReproduceUUIDsFromASeededRandomSource() {
+        StreamableSupplier<UUID> first = UUIDSupplierBuilder.uuidSupplier()
+                .withRandomSource(RandomSources.xoShiRo256PlusPlus(42L))
+                .build();
+        StreamableSupplier<UUID> second = UUIDSupplierBuilder.uuidSupplier()
+                .withRandomSource(RandomSources.xoShiRo256PlusPlus(42L))
+                .build();
+
+        assertThat(first.get(), is(equalTo(second.get())));
+        assertThat(first.get(), is(equalTo(second.get())));
     }
 
     @Test
@@ -0,0 +1,40 @@
+package com.robertboothby.djenni.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks twice, first single threaded and then with one thread per available processor, with the GC
+ * profiler enabled so that both throughput and allocation ({@code gc.alloc.rate.norm}, bytes per operation) are
+ * reported. Results are written as JSON to {@code jmh-result-threads-N.json} so they can be kept and compared from one
+ * release to the next.
+ * <p>
+ * The optional first argument is a regular expression selecting the benchmarks to run, for example
+ * {@code IntegerSupplierBenchmark}; by default all benchmarks are run.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "com\\.robertboothby\\.djenni\\.benchmarks\\..*";
+        int processors = Runtime.getRuntime().availableProcessors();
+        run(include, 1);
+        if (processors > 1) {
+            run(include, processors);
+        }
+    }
+
+    private static void run(String include, int threads) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(include)
+                .threads(threads)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-result-threads-" + threads + ".json")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,48 @@
+package com.robertboothby.djenni.benchmarks;
+
+import com.robertboothby.djenni.core.StreamableSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import static com.robertboothby.djenni.core.SupplierHelper.fix;
+import static com.robertboothby.djenni.math.BigDecimalSupplierBuilder.bigDecimals;
+
+/**
+ * Benchmarks for the suppliers built by {@link com.robertboothby.djenni.math.BigDecimalSupplierBuilder}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class BigDecimalSupplierBenchmark {
+
+    private StreamableSupplier<BigDecimal> amounts;
+
+    @Setup
+    public void setUp() {
+        amounts = bigDecimals()
+                .between(BigDecimal.ZERO).and(new BigDecimal("1000000"))
+                .scale(fix(2))
+                .build();
+    }
+
+    @Benchmark
+    public BigDecimal amount() {
+        return amounts.get();
+    }
+}
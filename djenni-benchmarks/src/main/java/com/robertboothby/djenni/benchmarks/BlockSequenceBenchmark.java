@@ -0,0 +1,89 @@
+package com.robertboothby.djenni.benchmarks;
+
+import com.robertboothby.djenni.core.LongStreamableSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.robertboothby.djenni.lang.LongSupplierBuilder.generateALong;
+
+/**
+ * Measures the throughput of unique sequential IDs from {@link com.robertboothby.djenni.core.BlockSequence}, shared by
+ * 1 to 64 threads, against a single shared {@link AtomicLong} incremented for every ID. The scores are the combined
+ * throughput of all the threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class BlockSequenceBenchmark {
+
+    private AtomicLong sharedCounter;
+    private LongStreamableSupplier blockSequence;
+
+    @Setup
+    public void setUp() {
+        sharedCounter = new AtomicLong();
+        blockSequence = generateALong().uniqueSequential().buildLong();
+    }
+
+    @Benchmark
+    public long sharedCounter01() {
+        return sharedCounter.getAndIncrement();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long sharedCounter04() {
+        return sharedCounter.getAndIncrement();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long sharedCounter16() {
+        return sharedCounter.getAndIncrement();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public long sharedCounter64() {
+        return sharedCounter.getAndIncrement();
+    }
+
+    @Benchmark
+    public long blockSequence01() {
+        return blockSequence.getAsLong();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long blockSequence04() {
+        return blockSequence.getAsLong();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long blockSequence16() {
+        return blockSequence.getAsLong();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public long blockSequence64() {
+        return blockSequence.getAsLong();
+    }
+}
@@ -0,0 +1,302 @@
+package com.robertboothby.djenni.benchmarks;
+
+import com.robertboothby.djenni.core.StreamableSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.robertboothby.djenni.core.SupplierHelper.fix;
+import static com.robertboothby.djenni.dynamic.DynamicSupplierBuilder.supplierFor;
+import static com.robertboothby.djenni.dynamic.DynamicSupplierBuilder.supplierForRecord;
+import static com.robertboothby.djenni.lang.IntegerSupplierBuilder.anyInteger;
+
+/**
+ * Benchmarks for the suppliers built by {@link com.robertboothby.djenni.dynamic.DynamicSupplierBuilder} for a JavaBean
+ * with constructor and setter properties and for a record, against hand-written suppliers of the same values in the
+ * style of {@code PersonSupplierBuilder} from core-examples.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class DynamicSupplierBenchmark {
+
+    private StreamableSupplier<Bean> beans;
+    private StreamableSupplier<Point> records;
+    private StreamableSupplier<WideBean> wideBeans;
+    private StreamableSupplier<Bean> handWrittenBeans;
+    private StreamableSupplier<Point> handWrittenRecords;
+
+    @Setup
+    public void setUp() {
+        beans = supplierFor(Bean.class)
+                .property(Bean::getName, fix("name"))
+                .property(Bean::getCount, anyInteger().between(0).and(100))
+                .property(Bean::setDescription, fix("description"))
+                .build();
+        records = supplierForRecord(Point.class)
+                .property(Point::x, anyInteger().between(0).and(100))
+                .property(Point::y, anyInteger().between(0).and(100))
+                .property(Point::label, fix("label"))
+                .build();
+
+        wideBeans = supplierFor(WideBean.class).build();
+
+        StreamableSupplier<String> names = fix("name");
+        StreamableSupplier<Integer> counts = anyInteger().between(0).and(100).build();
+        StreamableSupplier<String> descriptions = fix("description");
+        handWrittenBeans = () -> {
+            Bean bean = new Bean(names.get(), counts.get());
+            bean.setDescription(descriptions.get());
+            return bean;
+        };
+        StreamableSupplier<Integer> coordinates = anyInteger().between(0).and(100).build();
+        StreamableSupplier<String> labels = fix("label");
+        handWrittenRecords = () -> new Point(coordinates.get(), coordinates.get(), labels.get());
+    }
+
+    @Benchmark
+    public Bean bean() {
+        return beans.get();
+    }
+
+    @Benchmark
+    public Point record() {
+        return records.get();
+    }
+
+    @Benchmark
+    public WideBean wideBean() {
+        return wideBeans.get();
+    }
+
+    /**
+     * The cost of creating and configuring a builder for a class that has already been introspected, as test suites do
+     * for the same domain classes over and over again.
+     */
+    @Benchmark
+    public StreamableSupplier<Bean> configureBuilder() {
+        return supplierFor(Bean.class)
+                .property(Bean::getName, fix("name"))
+                .property(Bean::setDescription, fix("description"))
+                .build();
+    }
+
+    @Benchmark
+    public Bean handWrittenBean() {
+        return handWrittenBeans.get();
+    }
+
+    @Benchmark
+    public Point handWrittenRecord() {
+        return handWrittenRecords.get();
+    }
+
+    public static class Bean {
+        private final String name;
+        private final Integer count;
+        private String description;
+
+        public Bean(String name, Integer count) {
+            this.name = name;
+            this.count = count;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Integer getCount() {
+            return count;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+    }
+
+    /**
+     * A JavaBean with sixteen setter properties, to show the cost of supplying beans with many properties.
+     */
+    public static class WideBean {
+        private int property1;
+
+        public int getProperty1() {
+            return property1;
+        }
+
+        public void setProperty1(int property1) {
+            this.property1 = property1;
+        }
+
+        private int property2;
+
+        public int getProperty2() {
+            return property2;
+        }
+
+        public void setProperty2(int property2) {
+            this.property2 = property2;
+        }
+
+        private int property3;
+
+        public int getProperty3() {
+            return property3;
+        }
+
+        public void setProperty3(int property3) {
+            this.property3 = property3;
+        }
+
+        private int property4;
+
+        public int getProperty4() {
+            return property4;
+        }
+
+        public void setProperty4(int property4) {
+            this.property4 = property4;
+        }
+
+        private int property5;
+
+        public int getProperty5() {
+            return property5;
+        }
+
+        public void setProperty5(int property5) {
+            this.property5 = property5;
+        }
+
+        private int property6;
+
+        public int getProperty6() {
+            return property6;
+        }
+
+        public void setProperty6(int property6) {
+            this.property6 = property6;
+        }
+
+        private int property7;
+
+        public int getProperty7() {
+            return property7;
+        }
+
+        public void setProperty7(int property7) {
+            this.property7 = property7;
+        }
+
+        private int property8;
+
+        public int getProperty8() {
+            return property8;
+        }
+
+        public void setProperty8(int property8) {
+            this.property8 = property8;
+        }
+
+        private int property9;
+
+        public int getProperty9() {
+            return property9;
+        }
+
+        public void setProperty9(int property9) {
+            this.property9 = property9;
+        }
+
+        private int property10;
+
+        public int getProperty10() {
+            return property10;
+        }
+
+        public void setProperty10(int property10) {
+            this.property10 = property10;
+        }
+
+        private int property11;
+
+        public int getProperty11() {
+            return property11;
+        }
+
+        public void setProperty11(int property11) {
+            this.property11 = property11;
+        }
+
+        private int property12;
+
+        public int getProperty12() {
+            return property12;
+        }
+
+        public void setProperty12(int property12) {
+            this.property12 = property12;
+        }
+
+        private int property13;
+
+        public int getProperty13() {
+            return property13;
+        }
+
+        public void setProperty13(int property13) {
+            this.property13 = property13;
+        }
+
+        private int property14;
+
+        public int getProperty14() {
+            return property14;
+        }
+
+        public void setProperty14(int property14) {
+            this.property14 = property14;
+        }
+
+        private int property15;
+
+        public int getProperty15() {
+            return property15;
+        }
+
+        public void setProperty15(int property15) {
+            this.property15 = property15;
+        }
+
+        private int property16;
+
+        public int getProperty16() {
+            return property16;
+        }
+
+        public void setProperty16(int property16) {
+            this.property16 = property16;
+        }
+    }
+
+    public record Point(Integer x, Integer y, String label) {
+    }
+}
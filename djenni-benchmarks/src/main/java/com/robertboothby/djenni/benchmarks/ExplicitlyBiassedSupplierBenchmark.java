@@ -0,0 +1,53 @@
+package com.robertboothby.djenni.benchmarks;
+
+import com.robertboothby.djenni.core.ExplicitlyBiassedSupplier;
+import com.robertboothby.djenni.core.ExplicitlyBiassedSupplierBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.robertboothby.djenni.core.ExplicitlyBiassedSupplierBuilder.explicitlyBiassedSupplierFor;
+import static com.robertboothby.djenni.core.SupplierHelper.fix;
+
+/**
+ * Benchmarks for {@link ExplicitlyBiassedSupplier} selecting between a varying number of weighted suppliers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class ExplicitlyBiassedSupplierBenchmark {
+
+    @Param({"2", "10", "10000"})
+    private int numberOfSuppliers;
+
+    private ExplicitlyBiassedSupplier<Integer> supplier;
+
+    @Setup
+    public void setUp() {
+        ExplicitlyBiassedSupplierBuilder<Integer> builder = explicitlyBiassedSupplierFor(Integer.class);
+        for (int i = 0; i < numberOfSuppliers; i++) {
+            builder.addSupplier(fix(i), i + 1);
+        }
+        supplier = builder.build();
+    }
+
+    @Benchmark
+    public Integer select() {
+        return supplier.get();
+    }
+}
@@ -0,0 +1,56 @@
+package com.robertboothby.djenni.benchmarks;
+
+import com.robertboothby.djenni.core.StreamableSupplier;
+import com.robertboothby.djenni.core.SupplierHelper;
+import com.robertboothby.djenni.distribution.simple.SimpleRandomIntegerDistribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks for {@link SupplierHelper#fromValues(Object[])} with uniform and non-uniform selection.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class FromValuesBenchmark {
+
+    @Param({"10", "5000"})
+    private int numberOfValues;
+
+    private StreamableSupplier<String> uniform;
+    private StreamableSupplier<String> normal;
+
+    @Setup
+    public void setUp() {
+        String[] values = IntStream.range(0, numberOfValues).mapToObj(Integer::toString).toArray(String[]::new);
+        uniform = SupplierHelper.fromValues(values);
+        normal = SupplierHelper.fromValues(SimpleRandomIntegerDistribution.NORMAL, values);
+    }
+
+    @Benchmark
+    public String uniform() {
+        return uniform.get();
+    }
+
+    @Benchmark
+    public String normal() {
+        return normal.get();
+    }
+}
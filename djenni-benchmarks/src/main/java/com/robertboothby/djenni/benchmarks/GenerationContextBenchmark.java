@@ -0,0 +1,97 @@
+package com.robertboothby.djenni.benchmarks;
+
+import com.robertboothby.djenni.core.GenerationContext;
+import com.robertboothby.djenni.core.IntStreamableSupplier;
+import com.robertboothby.djenni.core.ThreadLocalSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import static com.robertboothby.djenni.core.SupplierHelper.threadLocal;
+import static com.robertboothby.djenni.lang.IntegerSupplierBuilder.integerSupplier;
+
+/**
+ * Compares keeping generation state per thread with keeping it per {@link GenerationContext} when generation is driven
+ * from one million virtual threads, each serving one request for one of ten thousand simulated users. Each request
+ * draws from a {@link ThreadLocalSupplier} whose delegate holds a kilobyte of state and from a sequential supplier.
+ * Per thread, every virtual thread creates its own delegate and sequence; per context, they are created once per user.
+ * Run with {@code -prof gc} to compare {@code gc.alloc.rate.norm}, the bytes allocated per million requests.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class GenerationContextBenchmark {
+
+    private static final int REQUESTS = 1_000_000;
+    private static final int USERS = 10_000;
+    private static final int VALUES_PER_REQUEST = 10;
+
+    private ThreadLocalSupplier<Integer> delegated;
+    private IntStreamableSupplier sequence;
+    private GenerationContext[] contexts;
+
+    @Setup
+    public void setUp() {
+        delegated = threadLocal(() -> {
+            int[] state = new int[256];
+            for (int i = 0; i < state.length; i++) {
+                state[i] = i;
+            }
+            return () -> state[ThreadLocalRandom.current().nextInt(state.length)];
+        });
+        sequence = integerSupplier().between(0).and(Integer.MAX_VALUE).sequential().buildInt();
+        contexts = new GenerationContext[USERS];
+        for (int i = 0; i < USERS; i++) {
+            contexts[i] = GenerationContext.generationContext();
+        }
+    }
+
+    @Benchmark
+    public long perThread() {
+        return run(user -> this::request);
+    }
+
+    @Benchmark
+    public long perContext() {
+        return run(user -> () -> contexts[user].call(this::request));
+    }
+
+    private long request() {
+        long total = 0;
+        for (int i = 0; i < VALUES_PER_REQUEST; i++) {
+            total += delegated.get() + sequence.getAsInt();
+        }
+        return total;
+    }
+
+    private long run(IntFunction<Supplier<Long>> requestForUser) {
+        LongAdder total = new LongAdder();
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < REQUESTS; i++) {
+                Supplier<Long> request = requestForUser.apply(i % USERS);
+                executorService.execute(() -> total.add(request.get()));
+            }
+        }
+        return total.sum();
+    }
+}
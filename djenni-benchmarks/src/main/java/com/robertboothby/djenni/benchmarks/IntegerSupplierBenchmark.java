@@ -0,0 +1,70 @@
+package com.robertboothby.djenni.benchmarks;
+
+import com.robertboothby.djenni.core.IntStreamableSupplier;
+import com.robertboothby.djenni.core.StreamableSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.robertboothby.djenni.lang.IntegerSupplierBuilder.integerSupplier;
+
+/**
+ * Benchmarks for the suppliers built by {@link com.robertboothby.djenni.lang.IntegerSupplierBuilder}, covering the
+ * random and sequential paths as well as the boxed, primitive and bulk ways of drawing values.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class IntegerSupplierBenchmark {
+
+    private static final int BATCH_SIZE = 1024;
+
+    private StreamableSupplier<Integer> random;
+    private IntStreamableSupplier randomInt;
+    private IntStreamableSupplier sequentialInt;
+
+    @Setup
+    public void setUp() {
+        random = integerSupplier().between(0).and(1_000_000).build();
+        randomInt = integerSupplier().between(0).and(1_000_000).buildInt();
+        sequentialInt = integerSupplier().between(0).and(1_000_000).sequential().buildInt();
+    }
+
+    @Benchmark
+    public Integer randomBoxed() {
+        return random.get();
+    }
+
+    @Benchmark
+    public int randomPrimitive() {
+        return randomInt.getAsInt();
+    }
+
+    @Benchmark
+    public int sequentialPrimitive() {
+        return sequentialInt.getAsInt();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] randomBulkFill() {
+        int[] values = new int[BATCH_SIZE];
+        randomInt.fill(values);
+        return values;
+    }
+}
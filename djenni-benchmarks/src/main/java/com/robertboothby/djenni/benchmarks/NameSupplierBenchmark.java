@@ -0,0 +1,44 @@
+package com.robertboothby.djenni.benchmarks;
+
+import com.robertboothby.djenni.common.Name;
+import com.robertboothby.djenni.core.StreamableSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.robertboothby.djenni.common.NameSupplierBuilder.names;
+
+/**
+ * Benchmarks for the suppliers built by {@link com.robertboothby.djenni.common.NameSupplierBuilder}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class NameSupplierBenchmark {
+
+    private StreamableSupplier<Name> names;
+
+    @Setup
+    public void setUp() {
+        names = names();
+    }
+
+    @Benchmark
+    public Name name() {
+        return names.get();
+    }
+}
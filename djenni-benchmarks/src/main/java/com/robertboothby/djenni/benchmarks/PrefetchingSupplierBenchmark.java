@@ -0,0 +1,86 @@
+package com.robertboothby.djenni.benchmarks;
+
+import com.robertboothby.djenni.core.PrefetchingSupplier;
+import com.robertboothby.djenni.core.StreamableSupplier;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import static com.robertboothby.djenni.core.PrefetchingSupplierBuilder.prefetching;
+import static com.robertboothby.djenni.core.SupplierHelper.fix;
+import static com.robertboothby.djenni.math.BigDecimalSupplierBuilder.bigDecimals;
+
+/**
+ * Compares the average time taken by the calling thread to get a {@link BigDecimal} amount drawn directly from its
+ * supplier with taking it from a {@link PrefetchingSupplier} with one producer per processor. The prefetching supplier
+ * only helps when there are processors to spare for the producers; the number of times the caller found the buffer
+ * empty in each iteration is reported as the {@code emptyWaits} secondary result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class PrefetchingSupplierBenchmark {
+
+    private StreamableSupplier<BigDecimal> amounts;
+    private PrefetchingSupplier<BigDecimal> prefetched;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        amounts = bigDecimals().between(BigDecimal.ZERO).and(new BigDecimal("1000000")).scale(fix(2)).build();
+        prefetched = prefetching(amounts).producers(Runtime.getRuntime().availableProcessors()).capacity(4096).build();
+    }
+
+    /**
+     * Reports the number of times the caller found the buffer empty during each iteration.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Waits {
+        public long emptyWaits;
+        private long emptyWaitsBefore;
+
+        @Setup(Level.Iteration)
+        public void start(PrefetchingSupplierBenchmark benchmark) {
+            emptyWaits = 0;
+            emptyWaitsBefore = benchmark.prefetched.emptyWaits();
+        }
+
+        @TearDown(Level.Iteration)
+        public void finish(PrefetchingSupplierBenchmark benchmark) {
+            emptyWaits = benchmark.prefetched.emptyWaits() - emptyWaitsBefore;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        prefetched.close();
+    }
+
+    @Benchmark
+    public BigDecimal direct() {
+        return amounts.get();
+    }
+
+    @Benchmark
+    public BigDecimal prefetched(Waits waits) {
+        return prefetched.get();
+    }
+}
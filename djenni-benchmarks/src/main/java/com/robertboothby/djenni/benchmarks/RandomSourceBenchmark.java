@@ -0,0 +1,90 @@
+package com.robertboothby.djenni.benchmarks;
+
+import com.robertboothby.djenni.distribution.RandomSource;
+import com.robertboothby.djenni.distribution.RandomSources;
+import com.robertboothby.djenni.distribution.simple.SimpleRandomDoubleDistribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of drawing a uniform double through each {@link RandomSource}. The raw
+ * {@link ThreadLocalRandom} call is the baseline, and {@link RandomSources#threadLocalRandom()} is the path that
+ * distributions took before the pluggable default source existed. The default source adds a check for a generator
+ * scoped with {@link RandomSources#callWith}, and the seeded sources are drawn through the uniform distribution as
+ * the builders use them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class RandomSourceBenchmark {
+
+    private static final long SEED = 42L;
+
+    private RandomSource threadLocalRandom;
+    private RandomSource defaultSource;
+    private SimpleRandomDoubleDistribution uniform;
+    private SimpleRandomDoubleDistribution xoShiRo256PlusPlus;
+    private SimpleRandomDoubleDistribution splitMix64;
+    private SimpleRandomDoubleDistribution l64x128;
+
+    @Setup
+    public void setUp() {
+        threadLocalRandom = RandomSources.threadLocalRandom();
+        defaultSource = RandomSources.defaultSource();
+        uniform = SimpleRandomDoubleDistribution.UNIFORM;
+        xoShiRo256PlusPlus = uniform.withRandomSource(RandomSources.xoShiRo256PlusPlus(SEED));
+        splitMix64 = uniform.withRandomSource(RandomSources.splitMix64(SEED));
+        l64x128 = uniform.withRandomSource(RandomSources.l64x128(SEED));
+    }
+
+    @Benchmark
+    public double rawThreadLocalRandom() {
+        return ThreadLocalRandom.current().nextDouble();
+    }
+
+    @Benchmark
+    public double threadLocalRandomSource() {
+        return threadLocalRandom.current().nextDouble();
+    }
+
+    @Benchmark
+    public double defaultSource() {
+        return defaultSource.current().nextDouble();
+    }
+
+    @Benchmark
+    public double uniformDefault() {
+        return uniform.generate(1.0D);
+    }
+
+    @Benchmark
+    public double uniformXoShiRo256PlusPlus() {
+        return xoShiRo256PlusPlus.generate(1.0D);
+    }
+
+    @Benchmark
+    public double uniformSplitMix64() {
+        return splitMix64.generate(1.0D);
+    }
+
+    @Benchmark
+    public double uniformL64X128() {
+        return l64x128.generate(1.0D);
+    }
+}
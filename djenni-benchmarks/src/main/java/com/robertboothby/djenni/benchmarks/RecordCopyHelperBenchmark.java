@@ -0,0 +1,102 @@
+package com.robertboothby.djenni.benchmarks;
+
+import com.robertboothby.djenni.util.RecordCopyHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks for {@link RecordCopyHelper} copying records with single and multiple changes, singly and in bulk, against
+ * a baseline that copies with reflection and constructs a record for each change in the way that the helper originally
+ * did.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class RecordCopyHelperBenchmark {
+
+    private static final int BULK_SIZE = 1_000;
+
+    private Address original;
+    private List<Address> originals;
+    private RecordCopyHelper.Changes<Address> threeChanges;
+    private RecordComponent[] components;
+    private Constructor<Address> constructor;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        original = new Address("1 High Street", "Springfield", "AB1 2CD", "UK");
+        originals = IntStream.range(0, BULK_SIZE)
+                .mapToObj(i -> new Address(i + " High Street", "Springfield", "AB1 2CD", "UK"))
+                .collect(Collectors.toList());
+        threeChanges = RecordCopyHelper.changes(Address.class)
+                .with(Address::street, "2 Low Road")
+                .with(Address::city, "Shelbyville")
+                .with(Address::postCode, "EF3 4GH");
+        components = Address.class.getRecordComponents();
+        constructor = Address.class.getDeclaredConstructor(String.class, String.class, String.class, String.class);
+    }
+
+    @Benchmark
+    public Address copyWithOneChange() {
+        return RecordCopyHelper.copyWithChange(original, Address::city, "Shelbyville");
+    }
+
+    @Benchmark
+    public Address copyWithThreeChanges() {
+        return RecordCopyHelper.copyOf(original)
+                .with(Address::street, "2 Low Road")
+                .with(Address::city, "Shelbyville")
+                .with(Address::postCode, "EF3 4GH")
+                .build();
+    }
+
+    @Benchmark
+    public Address reflectiveCopyWithThreeChanges() throws Exception {
+        Address copy = reflectiveCopy(original, 0, "2 Low Road");
+        copy = reflectiveCopy(copy, 1, "Shelbyville");
+        return reflectiveCopy(copy, 2, "EF3 4GH");
+    }
+
+    @Benchmark
+    public Address copyWithThreeChangesApplied() {
+        return threeChanges.apply(original);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_SIZE)
+    public List<Address> copyAllWithThreeChanges() {
+        return RecordCopyHelper.copyAll(originals.stream(), threeChanges).collect(Collectors.toList());
+    }
+
+    private Address reflectiveCopy(Address address, int index, Object value) throws Exception {
+        Object[] arguments = new Object[components.length];
+        for (int i = 0; i < components.length; i++) {
+            arguments[i] = i == index ? value : components[i].getAccessor().invoke(address);
+        }
+        return constructor.newInstance(arguments);
+    }
+
+    public record Address(String street, String city, String postCode, String country) {
+    }
+}
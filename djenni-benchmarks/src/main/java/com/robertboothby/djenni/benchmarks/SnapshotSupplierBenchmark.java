@@ -0,0 +1,85 @@
+package com.robertboothby.djenni.benchmarks;
+
+import com.robertboothby.djenni.core.StreamableSupplier;
+import com.robertboothby.djenni.io.SnapshotCodec;
+import com.robertboothby.djenni.io.SnapshotCodecs;
+import com.robertboothby.djenni.io.SnapshotSupplier;
+import com.robertboothby.djenni.io.SnapshotSupplier.Replay;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static com.robertboothby.djenni.lang.IntegerSupplierBuilder.integerSupplier;
+import static com.robertboothby.djenni.lang.StringSupplierBuilder.arbitraryString;
+
+/**
+ * Compares generating records with replaying the same number of records from a {@link SnapshotSupplier}, sequentially
+ * and at random positions. The snapshot of one million records is recorded once when the trial starts.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class SnapshotSupplierBenchmark {
+
+    private static final int RECORDS = 1_000_000;
+
+    public record Order(int id, int customerId, String reference, double amount, boolean shipped) {
+    }
+
+    private StreamableSupplier<Order> orders;
+    private Path file;
+    private SnapshotSupplier<Order> sequential;
+    private SnapshotSupplier<Order> random;
+
+    @Setup
+    public void setUp() throws IOException {
+        StreamableSupplier<Integer> ids = integerSupplier().between(0).and(Integer.MAX_VALUE).build();
+        StreamableSupplier<String> references = arbitraryString().build();
+        orders = () -> new Order(ids.get(), ids.get() % 100_000, references.get(), ids.get() / 100.0, ids.get() % 2 == 0);
+        file = Files.createTempFile("djenni-snapshot", ".snapshot");
+        SnapshotCodec<Order> codec = SnapshotCodecs.records(Order.class);
+        SnapshotSupplier.record(orders, RECORDS, codec, file);
+        sequential = SnapshotSupplier.replay(file, codec, Replay.SEQUENTIAL);
+        random = SnapshotSupplier.replay(file, codec, Replay.RANDOM);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        sequential.close();
+        random.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Order generate() {
+        return orders.get();
+    }
+
+    @Benchmark
+    public Order replaySequentially() {
+        return sequential.get();
+    }
+
+    @Benchmark
+    public Order replayRandomly() {
+        return random.get();
+    }
+}
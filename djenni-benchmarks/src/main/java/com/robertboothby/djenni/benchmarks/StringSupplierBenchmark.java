@@ -0,0 +1,76 @@
+package com.robertboothby.djenni.benchmarks;
+
+import com.robertboothby.djenni.core.StreamableSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.robertboothby.djenni.lang.CharacterSupplierBuilder.characterSupplier;
+import static com.robertboothby.djenni.lang.IntegerSupplierBuilder.integerSupplier;
+import static com.robertboothby.djenni.lang.StringSupplierBuilder.DEFAULT_AVAILABLE_CHARACTERS;
+import static com.robertboothby.djenni.lang.StringSupplierBuilder.DEFAULT_MAXIMUM_LENGTH;
+import static com.robertboothby.djenni.lang.StringSupplierBuilder.DEFAULT_MINIMUM_LENGTH;
+import static com.robertboothby.djenni.lang.StringSupplierBuilder.arbitraryString;
+
+/**
+ * Benchmarks for the suppliers built by {@link com.robertboothby.djenni.lang.StringSupplierBuilder}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class StringSupplierBenchmark {
+
+    private StreamableSupplier<String> defaultStrings;
+    private StreamableSupplier<String> longStrings;
+    private StreamableSupplier<String> nonLatin1Strings;
+    private StreamableSupplier<Integer> lengths;
+    private StreamableSupplier<Character> characters;
+
+    @Setup
+    public void setUp() {
+        defaultStrings = arbitraryString().build();
+        longStrings = arbitraryString().withUpperCaseEnglishAlphanumeric().withLengthsBetween(64).and(128).build();
+        nonLatin1Strings = arbitraryString().withAvailableCharacters("\u03b1\u03b2\u03b3\u03b4\u03b5\u03b6\u03b7\u03b8").build();
+        lengths = integerSupplier().between(DEFAULT_MINIMUM_LENGTH).and(DEFAULT_MAXIMUM_LENGTH).build();
+        characters = characterSupplier($ -> $.withCharacters(DEFAULT_AVAILABLE_CHARACTERS));
+    }
+
+    @Benchmark
+    public String defaultStrings() {
+        return defaultStrings.get();
+    }
+
+    @Benchmark
+    public String longAlphaNumericStrings() {
+        return longStrings.get();
+    }
+
+    @Benchmark
+    public String nonLatin1Strings() {
+        return nonLatin1Strings.get();
+    }
+
+    /**
+     * The previous implementation of the default strings, streaming boxed characters into a StringBuilder, kept as a
+     * baseline for {@link #defaultStrings()}.
+     */
+    @Benchmark
+    public String streamedCharactersBaseline() {
+        return characters.stream(lengths.get())
+                .collect(StringBuilder::new, StringBuilder::append, StringBuilder::append).toString();
+    }
+}
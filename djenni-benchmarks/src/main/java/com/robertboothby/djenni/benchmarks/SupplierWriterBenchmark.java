@@ -0,0 +1,97 @@
+package com.robertboothby.djenni.benchmarks;
+
+import com.robertboothby.djenni.core.StreamableSupplier;
+import com.robertboothby.djenni.io.SupplierWriter;
+import com.robertboothby.djenni.io.WriteMetrics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static com.robertboothby.djenni.lang.IntegerSupplierBuilder.integerSupplier;
+import static com.robertboothby.djenni.lang.StringSupplierBuilder.arbitraryString;
+
+/**
+ * Measures the time taken by {@link SupplierWriter} to generate one million records and write them to a temporary
+ * file as CSV and as JSON Lines, with one generator thread and with one per processor. The rows and megabytes per
+ * second achieved by each write are reported as the {@code rowsPerSecond} and {@code megabytesPerSecond} secondary
+ * results.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class SupplierWriterBenchmark {
+
+    private static final int ROWS = 1_000_000;
+
+    public record Order(int id, int customerId, String reference, double amount, boolean shipped) {
+    }
+
+    @Param({"1", "0"})
+    public int generatorThreads;
+
+    private StreamableSupplier<Order> orders;
+    private Path file;
+
+    /**
+     * Reports the throughput that the writer measured for itself, which leaves out the setting up of the benchmark.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Throughput {
+        public double rowsPerSecond;
+        public double megabytesPerSecond;
+
+        private WriteMetrics record(WriteMetrics metrics) {
+            rowsPerSecond = metrics.rowsPerSecond();
+            megabytesPerSecond = metrics.bytesPerSecond() / 1e6;
+            return metrics;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        StreamableSupplier<Integer> ids = integerSupplier().between(0).and(Integer.MAX_VALUE).build();
+        StreamableSupplier<String> references = arbitraryString().build();
+        orders = () -> new Order(ids.get(), ids.get() % 100_000, references.get(), ids.get() / 100.0, ids.get() % 2 == 0);
+        file = Files.createTempFile("djenni-writer", ".out");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public WriteMetrics csv(Throughput throughput) throws IOException {
+        return throughput.record(configure(SupplierWriter.csv(Order.class)).write(orders, ROWS, file));
+    }
+
+    @Benchmark
+    public WriteMetrics jsonLines(Throughput throughput) throws IOException {
+        return throughput.record(configure(SupplierWriter.jsonLines(Order.class)).write(orders, ROWS, file));
+    }
+
+    private SupplierWriter<Order> configure(SupplierWriter<Order> writer) {
+        return generatorThreads == 0 ? writer.generatorThreads(Runtime.getRuntime().availableProcessors()) : writer;
+    }
+}
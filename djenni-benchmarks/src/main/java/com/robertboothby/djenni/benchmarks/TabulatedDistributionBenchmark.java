@@ -0,0 +1,77 @@
+package com.robertboothby.djenni.benchmarks;
+
+import com.robertboothby.djenni.core.IntStreamableSupplier;
+import com.robertboothby.djenni.distribution.simple.SimpleRandomIntegerDistribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.robertboothby.djenni.lang.IntegerSupplierBuilder.integerSupplier;
+
+/**
+ * Sets the cost of building an integer supplier over a fixed range with the {@link SimpleRandomIntegerDistribution#NORMAL}
+ * distribution against the cost of drawing from it, before and after the distribution has built its table. Building
+ * a supplier and drawing a handful of values from it is the pattern of tests and of the dynamic and string builders,
+ * which must not pay for a table they will not use.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class TabulatedDistributionBenchmark {
+
+    private static final int SHORT_LIVED_DRAWS = 10;
+
+    @Param({"100", "5000", "16000"})
+    public int bound;
+
+    private IntStreamableSupplier tabulated;
+
+    @Setup
+    public void setUp() {
+        tabulated = build();
+        //Draw enough values for the distribution to build its table.
+        tabulated.fill(new int[bound * SimpleRandomIntegerDistribution.TABULATION_DRAWS_PER_VALUE]);
+    }
+
+    @Benchmark
+    public IntStreamableSupplier build() {
+        return integerSupplier().between(0).and(bound)
+                .withDistribution(SimpleRandomIntegerDistribution.NORMAL).buildInt();
+    }
+
+    @Benchmark
+    public int buildAndDrawBriefly() {
+        IntStreamableSupplier supplier = build();
+        int total = 0;
+        for (int i = 0; i < SHORT_LIVED_DRAWS; i++) {
+            total += supplier.getAsInt();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int drawBeforeTabulation() {
+        //A fresh distribution per draw would measure the build, so this draws from the shape directly.
+        return SimpleRandomIntegerDistribution.NORMAL.generate(bound);
+    }
+
+    @Benchmark
+    public int drawAfterTabulation() {
+        return tabulated.getAsInt();
+    }
+}
@@ -0,0 +1,71 @@
+package com.robertboothby.djenni.benchmarks;
+
+import com.robertboothby.djenni.core.StreamableSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static com.robertboothby.djenni.time.DurationSupplierBuilder.aDuration;
+import static com.robertboothby.djenni.time.InstantSupplierBuilder.anInstant;
+import static com.robertboothby.djenni.time.LocalDateSupplierBuilder.aLocalDate;
+import static com.robertboothby.djenni.time.ZonedDateTimeSupplierBuilder.aZonedDateTime;
+
+/**
+ * Benchmarks for the suppliers built by the builders in {@code com.robertboothby.djenni.time}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class TimeSupplierBenchmark {
+
+    private StreamableSupplier<Instant> instants;
+    private StreamableSupplier<LocalDate> localDates;
+    private StreamableSupplier<ZonedDateTime> zonedDateTimes;
+    private StreamableSupplier<Duration> durations;
+
+    @Setup
+    public void setUp() {
+        instants = anInstant().build();
+        localDates = aLocalDate().build();
+        zonedDateTimes = aZonedDateTime().build();
+        durations = aDuration().build();
+    }
+
+    @Benchmark
+    public Instant instant() {
+        return instants.get();
+    }
+
+    @Benchmark
+    public LocalDate localDate() {
+        return localDates.get();
+    }
+
+    @Benchmark
+    public ZonedDateTime zonedDateTime() {
+        return zonedDateTimes.get();
+    }
+
+    @Benchmark
+    public Duration duration() {
+        return durations.get();
+    }
+}
@@ -0,0 +1,29 @@
+package com.robertboothby.djenni.io;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A named column of output and the function that extracts its value from a row.
+ * @param name the name of the column, used as the CSV header and the JSON field name.
+ * @param extractor extracts the value of the column from a row.
+ * @param <T> the type of the rows.
+ */
+public record Column<T>(String name, Function<? super T, ?> extractor) {
+
+    public Column {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(extractor, "extractor");
+    }
+
+    /**
+     * Create a column.
+     * @param name the name of the column.
+     * @param extractor extracts the value of the column from a row.
+     * @param <T> the type of the rows.
+     * @return the column.
+     */
+    public static <T> Column<T> column(String name, Function<? super T, ?> extractor) {
+        return new Column<>(name, extractor);
+    }
+}
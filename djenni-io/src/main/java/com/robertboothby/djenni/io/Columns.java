@@ -0,0 +1,92 @@
+package com.robertboothby.djenni.io;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Resolves the default columns of a class: the components of a record in declaration order, or the readable JavaBean
+ * properties of any other class in name order. Each column reads its value through a method handle, and the columns
+ * of a class are resolved once and then shared, so writing a row does not use reflection.
+ */
+public final class Columns {
+
+    private static final ClassValue<List<Column<?>>> COLUMNS = new ClassValue<>() {
+        @Override
+        protected List<Column<?>> computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    private Columns() {
+    }
+
+    /**
+     * Get the default columns of a class.
+     * @param type the class of the rows.
+     * @param <T> the type of the rows.
+     * @return the columns, in output order.
+     * @throws IllegalArgumentException if the class cannot be introspected.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> List<Column<T>> columnsOf(Class<T> type) {
+        return (List) COLUMNS.get(type);
+    }
+
+    private static List<Column<?>> resolve(Class<?> type) {
+        List<Column<?>> columns = new ArrayList<>();
+        if (type.isRecord()) {
+            for (RecordComponent component : type.getRecordComponents()) {
+                columns.add(new Column<>(component.getName(), reader(type, component.getAccessor())));
+            }
+        } else {
+            try {
+                for (PropertyDescriptor descriptor : Introspector.getBeanInfo(type, Object.class).getPropertyDescriptors()) {
+                    if (descriptor.getReadMethod() != null) {
+                        columns.add(new Column<>(descriptor.getName(), reader(type, descriptor.getReadMethod())));
+                    }
+                }
+            } catch (IntrospectionException e) {
+                throw new IllegalArgumentException("Cannot resolve the columns of " + type.getName(), e);
+            }
+        }
+        return unmodifiableList(columns);
+    }
+
+    private static Function<Object, Object> reader(Class<?> type, Method readMethod) {
+        MethodHandle handle;
+        try {
+            handle = lookupFor(type).unreflect(readMethod);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot read " + readMethod, e);
+        }
+        MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+        return row -> {
+            try {
+                return generic.invokeExact(row);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable throwable) {
+                throw new IllegalStateException("Failed to read " + readMethod, throwable);
+            }
+        };
+    }
+
+    private static MethodHandles.Lookup lookupFor(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException | SecurityException e) {
+            return MethodHandles.publicLookup();
+        }
+    }
+}
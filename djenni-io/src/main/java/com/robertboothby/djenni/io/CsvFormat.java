@@ -0,0 +1,103 @@
+package com.robertboothby.djenni.io;
+
+import java.util.List;
+
+/**
+ * Formats rows as CSV following RFC 4180: a header line of column names, then one line per row. Values are written
+ * using {@link String#valueOf(Object)}, nulls are written as empty fields and fields containing the delimiter, a
+ * double quote or a line break are quoted with any double quotes doubled.
+ * @param <T> the type of the rows.
+ */
+public final class CsvFormat<T> implements RowFormat<T> {
+
+    private final Column<T>[] columns;
+    private final char delimiter;
+    private final boolean header;
+
+    @SuppressWarnings("unchecked")
+    private CsvFormat(List<Column<T>> columns, char delimiter, boolean header) {
+        this.columns = (Column<T>[]) columns.toArray(new Column<?>[0]);
+        this.delimiter = delimiter;
+        this.header = header;
+    }
+
+    /**
+     * Create a comma separated format with a header line.
+     * @param columns the columns to write.
+     * @param <T> the type of the rows.
+     * @return the format.
+     */
+    public static <T> CsvFormat<T> csv(List<Column<T>> columns) {
+        return new CsvFormat<>(columns, ',', true);
+    }
+
+    /**
+     * @param delimiter the character separating the fields.
+     * @return a copy of this format using the delimiter.
+     */
+    public CsvFormat<T> withDelimiter(char delimiter) {
+        return new CsvFormat<>(List.of(columns), delimiter, header);
+    }
+
+    /**
+     * @return a copy of this format that does not write a header line.
+     */
+    public CsvFormat<T> withoutHeader() {
+        return new CsvFormat<>(List.of(columns), delimiter, false);
+    }
+
+    @Override
+    public void appendHeader(StringBuilder out) {
+        if (header) {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    out.append(delimiter);
+                }
+                appendField(columns[i].name(), out);
+            }
+            out.append('\n');
+        }
+    }
+
+    @Override
+    public void appendRow(T row, StringBuilder out) {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                out.append(delimiter);
+            }
+            Object value = columns[i].extractor().apply(row);
+            if (value instanceof Number || value instanceof Boolean) {
+                out.append(value);
+            } else if (value != null) {
+                appendField(String.valueOf(value), out);
+            }
+        }
+        out.append('\n');
+    }
+
+    private void appendField(String field, StringBuilder out) {
+        if (!needsQuoting(field)) {
+            out.append(field);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+
+    private boolean needsQuoting(String field) {
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == delimiter || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,127 @@
+package com.robertboothby.djenni.io;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Formats rows as JSON Lines: one JSON object per line with a field per column. Numbers and booleans are written as
+ * JSON numbers and booleans, except for non-finite floating point values, which JSON cannot represent and which are
+ * written as strings. Arrays and collections are written as JSON arrays, maps as JSON objects and any other value as a
+ * string using {@link String#valueOf(Object)}.
+ * @param <T> the type of the rows.
+ */
+public final class JsonLinesFormat<T> implements RowFormat<T> {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Column<T>[] columns;
+    private final String[] fieldPrefixes;
+
+    @SuppressWarnings("unchecked")
+    private JsonLinesFormat(List<Column<T>> columns) {
+        this.columns = (Column<T>[]) columns.toArray(new Column<?>[0]);
+        //The quoted names and separators are the same for every row, so they are built once.
+        this.fieldPrefixes = new String[this.columns.length];
+        for (int i = 0; i < this.columns.length; i++) {
+            StringBuilder prefix = new StringBuilder(i == 0 ? "{" : ",");
+            appendString(this.columns[i].name(), prefix);
+            fieldPrefixes[i] = prefix.append(':').toString();
+        }
+    }
+
+    /**
+     * Create a JSON Lines format.
+     * @param columns the columns to write as the fields of each object.
+     * @param <T> the type of the rows.
+     * @return the format.
+     */
+    public static <T> JsonLinesFormat<T> jsonLines(List<Column<T>> columns) {
+        return new JsonLinesFormat<>(columns);
+    }
+
+    @Override
+    public void appendHeader(StringBuilder out) {
+        //JSON Lines has no header.
+    }
+
+    @Override
+    public void appendRow(T row, StringBuilder out) {
+        if (columns.length == 0) {
+            out.append('{');
+        }
+        for (int i = 0; i < columns.length; i++) {
+            out.append(fieldPrefixes[i]);
+            appendValue(columns[i].extractor().apply(row), out);
+        }
+        out.append("}\n");
+    }
+
+    private static void appendValue(Object value, StringBuilder out) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof Double d && !Double.isFinite(d) || value instanceof Float f && !Float.isFinite(f)) {
+            appendString(value.toString(), out);
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.append(value);
+        } else if (value instanceof Collection<?> collection) {
+            out.append('[');
+            boolean first = true;
+            for (Object element : collection) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                appendValue(element, out);
+            }
+            out.append(']');
+        } else if (value.getClass().isArray()) {
+            out.append('[');
+            for (int i = 0, length = Array.getLength(value); i < length; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                appendValue(Array.get(value, i), out);
+            }
+            out.append(']');
+        } else if (value instanceof Map<?, ?> map) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                appendString(String.valueOf(entry.getKey()), out);
+                out.append(':');
+                appendValue(entry.getValue(), out);
+            }
+            out.append('}');
+        } else {
+            appendString(String.valueOf(value), out);
+        }
+    }
+
+    private static void appendString(String value, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,22 @@
+package com.robertboothby.djenni.io;
+
+/**
+ * Formats rows as text. Implementations append to a {@link StringBuilder} supplied by the caller, which is reused for
+ * many rows, and must be safe to use from several threads at once, each with its own builder.
+ * @param <T> the type of the rows.
+ */
+public interface RowFormat<T> {
+
+    /**
+     * Append the header of the output, if the format has one, followed by a line separator.
+     * @param out the text to append to.
+     */
+    void appendHeader(StringBuilder out);
+
+    /**
+     * Append a row followed by a line separator.
+     * @param row the row.
+     * @param out the text to append to.
+     */
+    void appendRow(T row, StringBuilder out);
+}
@@ -0,0 +1,28 @@
+package com.robertboothby.djenni.io;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Converts values to and from the bytes of a record in a snapshot file. See {@link SnapshotCodecs} for the standard
+ * codecs.
+ * @param <T> the type of the values.
+ */
+public interface SnapshotCodec<T> {
+
+    /**
+     * Write the value at the position of the buffer, advancing the position. If the value does not fit, throw the
+     * {@link BufferOverflowException} that the buffer throws; the value is then encoded again into a larger buffer.
+     * @param value the value.
+     * @param out the buffer to write to.
+     */
+    void encode(T value, ByteBuffer out);
+
+    /**
+     * Read a value from a buffer holding exactly the bytes written by {@link #encode(Object, ByteBuffer)}. The buffer
+     * belongs to the calling thread, but its content may be shared and must not be modified.
+     * @param in the buffer to read from.
+     * @return the value.
+     */
+    T decode(ByteBuffer in);
+}
@@ -0,0 +1,248 @@
+package com.robertboothby.djenni.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Factory methods for the standard {@link SnapshotCodec}s.
+ */
+public final class SnapshotCodecs {
+
+    private static final Map<Class<?>, SnapshotCodec<?>> COMPONENT_CODECS = new HashMap<>();
+
+    static {
+        COMPONENT_CODECS.put(int.class, codec(ByteBuffer::getInt, (Integer v, ByteBuffer out) -> out.putInt(v)));
+        COMPONENT_CODECS.put(long.class, codec(ByteBuffer::getLong, (Long v, ByteBuffer out) -> out.putLong(v)));
+        COMPONENT_CODECS.put(double.class, codec(ByteBuffer::getDouble, (Double v, ByteBuffer out) -> out.putDouble(v)));
+        COMPONENT_CODECS.put(float.class, codec(ByteBuffer::getFloat, (Float v, ByteBuffer out) -> out.putFloat(v)));
+        COMPONENT_CODECS.put(short.class, codec(ByteBuffer::getShort, (Short v, ByteBuffer out) -> out.putShort(v)));
+        COMPONENT_CODECS.put(byte.class, codec(ByteBuffer::get, (Byte v, ByteBuffer out) -> out.put(v)));
+        COMPONENT_CODECS.put(char.class, codec(ByteBuffer::getChar, (Character v, ByteBuffer out) -> out.putChar(v)));
+        COMPONENT_CODECS.put(boolean.class,
+                codec(in -> in.get() != 0, (Boolean v, ByteBuffer out) -> out.put((byte) (v ? 1 : 0))));
+        COMPONENT_CODECS.put(String.class, strings());
+    }
+
+    private SnapshotCodecs() {
+    }
+
+    /**
+     * @return a codec for strings, written as UTF-8.
+     */
+    public static SnapshotCodec<String> strings() {
+        return new SnapshotCodec<>() {
+            @Override
+            public void encode(String value, ByteBuffer out) {
+                byte[] bytes = value.getBytes(UTF_8);
+                out.putInt(bytes.length).put(bytes);
+            }
+
+            @Override
+            public String decode(ByteBuffer in) {
+                byte[] bytes = new byte[in.getInt()];
+                in.get(bytes);
+                return new String(bytes, UTF_8);
+            }
+        };
+    }
+
+    /**
+     * @return a codec for long values.
+     */
+    public static SnapshotCodec<Long> longs() {
+        return component(long.class);
+    }
+
+    /**
+     * @return a codec for int values.
+     */
+    public static SnapshotCodec<Integer> ints() {
+        return component(int.class);
+    }
+
+    /**
+     * Create a codec for values that implement {@link Serializable}, using Java serialization. It works for any
+     * serializable type but is far slower and larger than a dedicated codec.
+     * @param <T> the type of the values.
+     * @return the codec.
+     */
+    public static <T extends Serializable> SnapshotCodec<T> serializable() {
+        return new SnapshotCodec<>() {
+            @Override
+            public void encode(T value, ByteBuffer out) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (ObjectOutputStream objects = new ObjectOutputStream(bytes)) {
+                    objects.writeObject(value);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                out.put(bytes.toByteArray());
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T decode(ByteBuffer in) {
+                byte[] bytes = new byte[in.remaining()];
+                in.get(bytes);
+                try (ObjectInputStream objects = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    return (T) objects.readObject();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Create a compact binary codec for a record, writing each component in turn. Components may be primitives, their
+     * boxes, strings, enums or records made of the same; boxes, strings, enums and records may be null.
+     * @param recordClass the class of the records.
+     * @param <R> the type of the records.
+     * @return the codec.
+     * @throws IllegalArgumentException if a component has a type the codec cannot write.
+     */
+    public static <R extends Record> SnapshotCodec<R> records(Class<R> recordClass) {
+        return new RecordCodec<>(recordClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> SnapshotCodec<T> component(Class<T> type) {
+        return (SnapshotCodec<T>) COMPONENT_CODECS.get(type);
+    }
+
+    private static <T> SnapshotCodec<T> codec(Function<ByteBuffer, T> decoder, BiConsumer<T, ByteBuffer> encoder) {
+        return new SnapshotCodec<>() {
+            @Override
+            public void encode(T value, ByteBuffer out) {
+                encoder.accept(value, out);
+            }
+
+            @Override
+            public T decode(ByteBuffer in) {
+                return decoder.apply(in);
+            }
+        };
+    }
+
+    /**
+     * Codec for a type that may be null, writing a flag byte ahead of the value.
+     */
+    private static <T> SnapshotCodec<T> nullable(SnapshotCodec<T> codec) {
+        return new SnapshotCodec<>() {
+            @Override
+            public void encode(T value, ByteBuffer out) {
+                if (value == null) {
+                    out.put((byte) 0);
+                } else {
+                    codec.encode(value, out.put((byte) 1));
+                }
+            }
+
+            @Override
+            public T decode(ByteBuffer in) {
+                return in.get() == 0 ? null : codec.decode(in);
+            }
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static SnapshotCodec<Object> componentCodec(Class<?> type) {
+        if (type.isPrimitive()) {
+            return (SnapshotCodec<Object>) COMPONENT_CODECS.get(type);
+        } else if (type == String.class) {
+            return nullable((SnapshotCodec) strings());
+        } else if (type.isEnum()) {
+            Object[] constants = type.getEnumConstants();
+            return nullable(codec(in -> constants[in.getInt()],
+                    (Object v, ByteBuffer out) -> out.putInt(((Enum<?>) v).ordinal())));
+        } else if (type.isRecord()) {
+            return nullable((SnapshotCodec) new RecordCodec<>((Class<Record>) type));
+        }
+        Class<?> primitive = MethodType.methodType(type).unwrap().returnType();
+        if (primitive != type) {
+            return nullable((SnapshotCodec<Object>) COMPONENT_CODECS.get(primitive));
+        }
+        throw new IllegalArgumentException("No snapshot codec for components of type " + type.getName());
+    }
+
+    /**
+     * Writes the components of a record in order, reading them through method handles and creating records through
+     * the canonical constructor.
+     */
+    private static final class RecordCodec<R extends Record> implements SnapshotCodec<R> {
+
+        private final MethodHandle[] accessors;
+        private final SnapshotCodec<Object>[] codecs;
+        private final MethodHandle constructor;
+
+        @SuppressWarnings("unchecked")
+        private RecordCodec(Class<R> recordClass) {
+            RecordComponent[] components = recordClass.getRecordComponents();
+            accessors = new MethodHandle[components.length];
+            codecs = (SnapshotCodec<Object>[]) new SnapshotCodec<?>[components.length];
+            Class<?>[] types = new Class<?>[components.length];
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(recordClass, MethodHandles.lookup());
+                for (int i = 0; i < components.length; i++) {
+                    types[i] = components[i].getType();
+                    accessors[i] = lookup.unreflect(components[i].getAccessor())
+                            .asType(MethodType.methodType(Object.class, Object.class));
+                    codecs[i] = componentCodec(types[i]);
+                }
+                MethodHandle canonical = lookup.findConstructor(recordClass, MethodType.methodType(void.class, types));
+                constructor = canonical.asType(canonical.type().generic())
+                        .asSpreader(Object[].class, components.length)
+                        .asType(MethodType.methodType(Object.class, Object[].class));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("Cannot create a snapshot codec for " + recordClass.getName(), e);
+            }
+        }
+
+        @Override
+        public void encode(R value, ByteBuffer out) {
+            try {
+                for (int i = 0; i < accessors.length; i++) {
+                    codecs[i].encode((Object) accessors[i].invokeExact((Object) value), out);
+                }
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public R decode(ByteBuffer in) {
+            Object[] arguments = new Object[codecs.length];
+            for (int i = 0; i < codecs.length; i++) {
+                arguments[i] = codecs[i].decode(in);
+            }
+            try {
+                return (R) (Object) constructor.invokeExact(arguments);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.robertboothby.djenni.io;
+
+import com.robertboothby.djenni.core.StreamableSupplier;
+import com.robertboothby.djenni.distribution.RandomSource;
+import com.robertboothby.djenni.distribution.RandomSources;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.DELETE_ON_CLOSE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Replays values that were recorded from a supplier into a snapshot file, so that an expensive dataset is generated
+ * once and then read back by later runs at the speed of memory, for example
+ * <pre>{@code
+ * SnapshotSupplier.record(people, 50_000_000, SnapshotCodecs.records(Person.class), path);
+ * StreamableSupplier<Person> replayed = SnapshotSupplier.replay(path, SnapshotCodecs.records(Person.class), Replay.RANDOM);
+ * }</pre>
+ * A snapshot file holds a header, each value encoded by a {@link SnapshotCodec} as a record prefixed with its length,
+ * and an index of the offset of every record. The records and the index are mapped into memory read only, in windows
+ * of 1 GiB so that files of any size can be mapped. Each data window also maps the longest record beyond its end, so
+ * every record lies wholly within the window that it starts in and is found with arithmetic alone. Reads use absolute
+ * positions only, so any number of threads share the mappings without locks or copies of the file.
+ * <p>
+ * The mappings stay valid after {@link #close()} until the supplier is garbage collected.
+ * @param <T> the type of the values.
+ */
+public final class SnapshotSupplier<T> implements StreamableSupplier<T>, AutoCloseable {
+
+    /**
+     * The order in which {@link #get()} replays the values.
+     */
+    public enum Replay {
+        /**
+         * In the order that they were recorded, starting again from the first once all have been supplied. The
+         * position is shared, so threads replaying together each get different values.
+         */
+        SEQUENTIAL,
+        /**
+         * Values chosen uniformly at random from {@link RandomSources#defaultSource()}.
+         */
+        RANDOM
+    }
+
+    /**
+     * The longest record that can be written, so that a window and its overlap can be mapped as one buffer.
+     */
+    public static final int MAX_RECORD_LENGTH = (1 << 30) - 8;
+
+    private static final int MAGIC = 0x444A534E; //"DJSN"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int WINDOW_SHIFT = 30;
+    private static final int INDEX_WINDOW_SHIFT = WINDOW_SHIFT - 3;
+    private static final long INDEX_WINDOW_MASK = (1L << INDEX_WINDOW_SHIFT) - 1;
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private final SnapshotCodec<T> codec;
+    private final FileChannel channel;
+    private final long size;
+    private final MappedByteBuffer[] data;
+    private final MappedByteBuffer[] index;
+    private final boolean sequential;
+    private final AtomicLong position = new AtomicLong();
+    private final RandomSource randomSource = RandomSources.defaultSource();
+
+    private SnapshotSupplier(Path path, SnapshotCodec<T> codec, Replay replay) throws IOException {
+        this.codec = Objects.requireNonNull(codec, "codec");
+        this.sequential = Objects.requireNonNull(replay, "replay") == Replay.SEQUENTIAL;
+        this.channel = FileChannel.open(path, READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                //Read until the header is complete or the file ends.
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+                throw new IOException(path + " is not a snapshot file");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException(path + " is a snapshot file of unsupported version " + version);
+            }
+            this.size = header.getLong();
+            long indexOffset = header.getLong();
+            int maxRecordLength = header.getInt();
+            if (indexOffset + size * Long.BYTES > channel.size()) {
+                throw new IOException(path + " is truncated");
+            }
+            this.data = map(HEADER_SIZE, indexOffset, 1L << WINDOW_SHIFT, Integer.BYTES + maxRecordLength);
+            this.index = map(indexOffset, indexOffset + size * Long.BYTES, 1L << WINDOW_SHIFT, 0);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Map the region in windows of the given length, each overlapping the next by the given amount. Data windows are
+     * aligned to absolute file offsets, so a record at offset {@code o} is in window {@code o >>> WINDOW_SHIFT}.
+     */
+    private MappedByteBuffer[] map(long from, long to, long windowLength, int overlap) throws IOException {
+        boolean aligned = overlap > 0;
+        long base = aligned ? 0 : from;
+        int windows = (int) ((to - base + windowLength - 1) / windowLength);
+        MappedByteBuffer[] mapped = new MappedByteBuffer[windows];
+        for (int i = 0; i < windows; i++) {
+            long start = Math.max(from, base + i * windowLength);
+            long end = Math.min(to, base + (i + 1) * windowLength + overlap);
+            mapped[i] = channel.map(READ_ONLY, start, end - start);
+        }
+        return mapped;
+    }
+
+    /**
+     * Supply the next value in the order configured for replay.
+     * @return the value.
+     * @throws IllegalStateException if the snapshot is empty.
+     */
+    @Override
+    public T get() {
+        if (size == 0) {
+            throw new IllegalStateException("The snapshot is empty.");
+        }
+        long next = sequential
+                ? Long.remainderUnsigned(position.getAndIncrement(), size)
+                : randomSource.current().nextLong(size);
+        return read(next);
+    }
+
+    /**
+     * Read the value at a position in the snapshot, independently of the order of replay.
+     * @param position the position of the value, from 0 in the order that the values were recorded.
+     * @return the value.
+     * @throws IndexOutOfBoundsException if there is no value at the position.
+     */
+    public T get(long position) {
+        return read(Objects.checkIndex(position, size));
+    }
+
+    private T read(long position) {
+        long offset = index[(int) (position >>> INDEX_WINDOW_SHIFT)]
+                .getLong((int) ((position & INDEX_WINDOW_MASK) << 3));
+        MappedByteBuffer window = data[(int) (offset >>> WINDOW_SHIFT)];
+        //The first window starts after the header rather than at offset 0.
+        int at = (int) (offset - Math.max(HEADER_SIZE, offset >>> WINDOW_SHIFT << WINDOW_SHIFT));
+        int length = window.getInt(at);
+        return codec.decode(window.slice(at + Integer.BYTES, length));
+    }
+
+    /**
+     * @return the number of values in the snapshot.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Close the file. The values remain readable until the supplier is garbage collected.
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Open a snapshot for replay.
+     * @param path the snapshot file.
+     * @param codec the codec that the snapshot was recorded with.
+     * @param replay the order in which {@link #get()} replays the values.
+     * @param <T> the type of the values.
+     * @return the supplier of the recorded values.
+     * @throws IOException if the file cannot be read or is not a snapshot.
+     */
+    public static <T> SnapshotSupplier<T> replay(Path path, SnapshotCodec<T> codec, Replay replay) throws IOException {
+        return new SnapshotSupplier<>(path, codec, replay);
+    }
+
+    /**
+     * Record values from a supplier into a snapshot file, replacing any existing content. The values are drawn on the
+     * calling thread; wrap the supplier in a seeded scope from {@link RandomSources} for a reproducible snapshot.
+     * @param supplier the supplier of the values.
+     * @param count the number of values to record.
+     * @param codec the codec to encode the values with.
+     * @param path the file to write to.
+     * @param <T> the type of the values.
+     * @return the metrics of the write, counting each value as a row.
+     * @throws IOException if the file cannot be written.
+     * @throws IllegalArgumentException if a value encodes to more than {@link #MAX_RECORD_LENGTH} bytes.
+     */
+    public static <T> WriteMetrics record(Supplier<? extends T> supplier, long count, SnapshotCodec<T> codec,
+                                          Path path) throws IOException {
+        if (count < 0) {
+            throw new IllegalArgumentException("The number of values cannot be negative but was " + count);
+        }
+        Objects.requireNonNull(supplier, "supplier");
+        Objects.requireNonNull(codec, "codec");
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, CREATE, WRITE, READ, TRUNCATE_EXISTING);
+             FileChannel indexChannel = openIndex(path)) {
+            ByteBuffer output = ByteBuffer.allocate(BUFFER_SIZE);
+            ByteBuffer offsets = ByteBuffer.allocate(BUFFER_SIZE);
+            ByteBuffer record = ByteBuffer.allocate(4096);
+            long offset = HEADER_SIZE;
+            int maxRecordLength = 0;
+            channel.position(HEADER_SIZE);
+            for (long i = 0; i < count; i++) {
+                record = encode(codec, supplier.get(), record);
+                int length = record.remaining();
+                maxRecordLength = Math.max(maxRecordLength, length);
+                if (output.remaining() < Integer.BYTES + length) {
+                    writeFully(channel, output.flip());
+                    output.clear();
+                }
+                if (output.remaining() < Integer.BYTES + length) {
+                    writeFully(channel, ByteBuffer.allocate(Integer.BYTES).putInt(0, length));
+                    writeFully(channel, record);
+                } else {
+                    output.putInt(length).put(record);
+                }
+                if (!offsets.hasRemaining()) {
+                    writeFully(indexChannel, offsets.flip());
+                    offsets.clear();
+                }
+                offsets.putLong(offset);
+                offset += Integer.BYTES + length;
+            }
+            writeFully(channel, output.flip());
+            writeFully(indexChannel, offsets.flip());
+            long indexLength = indexChannel.position();
+            indexChannel.position(0);
+            for (long copied = 0; copied < indexLength; ) {
+                copied += channel.transferFrom(indexChannel, offset + copied, indexLength - copied);
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC).putInt(VERSION).putLong(count).putLong(offset).putInt(maxRecordLength);
+            header.clear();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            return new WriteMetrics(count, offset + indexLength, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Open a temporary file beside the snapshot to collect the index in while the records are written. The file is
+     * deleted when the channel is closed, or straight away if the channel cannot be opened.
+     */
+    private static FileChannel openIndex(Path path) throws IOException {
+        Path indexPath = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".index");
+        try {
+            return FileChannel.open(indexPath, WRITE, READ, DELETE_ON_CLOSE);
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(indexPath);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Encode the value into the buffer, encoding it again into larger buffers until it fits.
+     */
+    private static <T> ByteBuffer encode(SnapshotCodec<T> codec, T value, ByteBuffer record) {
+        while (true) {
+            record.clear();
+            try {
+                codec.encode(value, record);
+                return record.flip();
+            } catch (BufferOverflowException e) {
+                if (record.capacity() >= MAX_RECORD_LENGTH) {
+                    throw new IllegalArgumentException(
+                            "A value encodes to more than the maximum record length of " + MAX_RECORD_LENGTH + " bytes");
+                }
+                record = ByteBuffer.allocate((int) Math.min(MAX_RECORD_LENGTH, record.capacity() * 2L));
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.robertboothby.djenni.io;
+
+import com.robertboothby.djenni.distribution.RandomSources;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Writes rows drawn from a supplier to a file in bulk, for example
+ * <pre>{@code
+ * WriteMetrics metrics = SupplierWriter.csv(Person.class).generatorThreads(8).write(people, 10_000_000, path);
+ * }</pre>
+ * The rows are divided into batches. Several generator threads each take the next batch, draw its rows from the
+ * supplier, format them into a reused {@link StringBuilder} and encode them as UTF-8 into a reused buffer. The calling
+ * thread writes each encoded batch to the {@link FileChannel} with a single write, either in batch order, so the
+ * output is the same as if it had been generated on one thread, or in whatever order the batches are completed. The
+ * number of buffers is fixed, so generation stays at most a couple of batches per thread ahead of the disk.
+ * <p>
+ * The supplier is called from all the generator threads at once and must be thread safe, as the suppliers built by
+ * Djenni are. When a seed is configured each batch is generated with its own generator standing in for
+ * {@link RandomSources#defaultSource()}, derived from the seed and the index of the batch, so that ordered output is
+ * reproducible whatever the number of threads.
+ * @param <T> the type of the rows.
+ */
+public final class SupplierWriter<T> {
+
+    private static final int INITIAL_BUFFER_SIZE = 256 * 1024;
+
+    private final RowFormat<T> format;
+    private int generatorThreads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    private boolean ordered = true;
+    private int batchSize = 1024;
+    private int syncEveryBatches = 0;
+    private Long seed;
+
+    private SupplierWriter(RowFormat<T> format) {
+        this.format = Objects.requireNonNull(format, "format");
+    }
+
+    /**
+     * Create a writer of CSV with the default columns of the class.
+     * @param type the class of the rows.
+     * @param <T> the type of the rows.
+     * @return the writer for further configuration.
+     * @see Columns#columnsOf(Class)
+     */
+    public static <T> SupplierWriter<T> csv(Class<T> type) {
+        return new SupplierWriter<>(CsvFormat.csv(Columns.columnsOf(type)));
+    }
+
+    /**
+     * Create a writer of JSON Lines with the default columns of the class.
+     * @param type the class of the rows.
+     * @param <T> the type of the rows.
+     * @return the writer for further configuration.
+     * @see Columns#columnsOf(Class)
+     */
+    public static <T> SupplierWriter<T> jsonLines(Class<T> type) {
+        return new SupplierWriter<>(JsonLinesFormat.jsonLines(Columns.columnsOf(type)));
+    }
+
+    /**
+     * Create a writer using any format, for example a CSV format with custom columns.
+     * @param format the format of the rows.
+     * @param <T> the type of the rows.
+     * @return the writer for further configuration.
+     */
+    public static <T> SupplierWriter<T> writer(RowFormat<T> format) {
+        return new SupplierWriter<>(format);
+    }
+
+    /**
+     * @param generatorThreads the number of threads generating and formatting rows. Defaults to one less than the
+     *                         number of processors, leaving one for writing.
+     * @return this writer for further configuration.
+     */
+    public SupplierWriter<T> generatorThreads(int generatorThreads) {
+        if (generatorThreads < 1) {
+            throw new IllegalArgumentException("There must be at least one generator thread but was " + generatorThreads);
+        }
+        this.generatorThreads = generatorThreads;
+        return this;
+    }
+
+    /**
+     * Write the batches in order. This is the default.
+     * @return this writer for further configuration.
+     */
+    public SupplierWriter<T> ordered() {
+        this.ordered = true;
+        return this;
+    }
+
+    /**
+     * Write the batches in the order that they are completed, so that a slow batch does not hold up the others.
+     * @return this writer for further configuration.
+     */
+    public SupplierWriter<T> unordered() {
+        this.ordered = false;
+        return this;
+    }
+
+    /**
+     * @param batchSize the number of rows generated, encoded and written together. Defaults to 1024.
+     * @return this writer for further configuration.
+     */
+    public SupplierWriter<T> batchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be at least 1 but was " + batchSize);
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Force the written data to the storage device every so many batches, and once all the rows have been written.
+     * By default the data is left for the operating system to write out.
+     * @param syncEveryBatches the number of batches between each force, or 0 never to force.
+     * @return this writer for further configuration.
+     */
+    public SupplierWriter<T> syncEveryBatches(int syncEveryBatches) {
+        if (syncEveryBatches < 0) {
+            throw new IllegalArgumentException("The number of batches between syncs cannot be negative");
+        }
+        this.syncEveryBatches = syncEveryBatches;
+        return this;
+    }
+
+    /**
+     * Generate each batch with a generator derived from the seed and the index of the batch, so that ordered output
+     * is reproducible.
+     * @param seed the base seed.
+     * @return this writer for further configuration.
+     */
+    public SupplierWriter<T> seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Write rows to a file, replacing any existing content.
+     * @param supplier the thread safe supplier of the rows.
+     * @param rows the number of rows to write.
+     * @param path the file to write to.
+     * @return the metrics of the write.
+     * @throws IOException if the file cannot be written.
+     */
+    public WriteMetrics write(Supplier<? extends T> supplier, long rows, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            return write(supplier, rows, channel);
+        }
+    }
+
+    /**
+     * Write rows to a channel at its current position. The channel is not closed.
+     * @param supplier the thread safe supplier of the rows.
+     * @param rows the number of rows to write.
+     * @param channel the channel to write to.
+     * @return the metrics of the write.
+     * @throws IOException if the channel cannot be written.
+     */
+    public WriteMetrics write(Supplier<? extends T> supplier, long rows, FileChannel channel) throws IOException {
+        return new Run(supplier, rows, channel).execute();
+    }
+
+    /**
+     * An encoded batch ready to be written, or the failure of a generator thread.
+     */
+    private record Batch(long index, ByteBuffer buffer, Throwable failure) {
+    }
+
+    /**
+     * The state of one call to write, taking a snapshot of the configuration.
+     */
+    private final class Run {
+        private final Supplier<? extends T> supplier;
+        private final long rows;
+        private final FileChannel channel;
+        private final int batchSize = SupplierWriter.this.batchSize;
+        private final boolean ordered = SupplierWriter.this.ordered;
+        private final int syncEveryBatches = SupplierWriter.this.syncEveryBatches;
+        private final Long seed = SupplierWriter.this.seed;
+        private final long batches;
+        private final AtomicLong nextBatch = new AtomicLong();
+        private final BlockingQueue<ByteBuffer> freeBuffers;
+        private final BlockingQueue<Batch> completedBatches;
+        private final int threads;
+
+        private Run(Supplier<? extends T> supplier, long rows, FileChannel channel) {
+            if (rows < 0) {
+                throw new IllegalArgumentException("The number of rows cannot be negative but was " + rows);
+            }
+            this.supplier = Objects.requireNonNull(supplier, "supplier");
+            this.rows = rows;
+            this.channel = Objects.requireNonNull(channel, "channel");
+            this.batches = (rows + batchSize - 1) / batchSize;
+            this.threads = (int) Math.max(1, Math.min(generatorThreads, batches));
+            int buffers = threads * 2;
+            this.freeBuffers = new ArrayBlockingQueue<>(buffers);
+            for (int i = 0; i < buffers; i++) {
+                freeBuffers.add(ByteBuffer.allocate(INITIAL_BUFFER_SIZE));
+            }
+            //Room for every buffer plus a failure from each thread, so that no generator blocks while failing.
+            this.completedBatches = new ArrayBlockingQueue<>(buffers + threads);
+        }
+
+        private WriteMetrics execute() throws IOException {
+            long start = System.nanoTime();
+            ExecutorService executor = Executors.newFixedThreadPool(threads,
+                    Thread.ofPlatform().name("djenni-io-generator-", 0).daemon().factory());
+            long bytes = 0;
+            try {
+                for (int i = 0; i < threads; i++) {
+                    executor.execute(this::generate);
+                }
+                Encoder headerEncoder = new Encoder();
+                format.appendHeader(headerEncoder.text);
+                if (!headerEncoder.text.isEmpty()) {
+                    bytes += writeFully(headerEncoder.encode(ByteBuffer.allocate(INITIAL_BUFFER_SIZE)));
+                }
+                Map<Long, Batch> pending = new HashMap<>();
+                long nextToWrite = 0;
+                long written = 0;
+                while (written < batches) {
+                    Batch batch = takeCompleted();
+                    if (ordered) {
+                        pending.put(batch.index(), batch);
+                        while ((batch = pending.remove(nextToWrite)) != null) {
+                            bytes += writeAndRecycle(batch);
+                            nextToWrite++;
+                            written++;
+                            syncIfDue(written);
+                        }
+                    } else {
+                        bytes += writeAndRecycle(batch);
+                        written++;
+                        syncIfDue(written);
+                    }
+                }
+                if (syncEveryBatches > 0) {
+                    channel.force(false);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            return new WriteMetrics(rows, bytes, Duration.ofNanos(System.nanoTime() - start));
+        }
+
+        private Batch takeCompleted() throws IOException {
+            Batch batch;
+            try {
+                batch = completedBatches.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while writing", e);
+            }
+            Throwable failure = batch.failure();
+            if (failure instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            } else if (failure instanceof Error error) {
+                throw error;
+            } else if (failure != null) {
+                throw new IllegalStateException("A generator thread failed", failure);
+            }
+            return batch;
+        }
+
+        private long writeAndRecycle(Batch batch) throws IOException {
+            long bytes = writeFully(batch.buffer());
+            freeBuffers.add(batch.buffer());
+            return bytes;
+        }
+
+        private long writeFully(ByteBuffer buffer) throws IOException {
+            long bytes = buffer.remaining();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            return bytes;
+        }
+
+        private void syncIfDue(long written) throws IOException {
+            if (syncEveryBatches > 0 && written % syncEveryBatches == 0) {
+                channel.force(false);
+            }
+        }
+
+        private void generate() {
+            Encoder encoder = new Encoder();
+            try {
+                while (true) {
+                    //Take the buffer before the batch, so that the batch the ordered writer is waiting for always has
+                    //a buffer to be written to however far ahead the other threads are.
+                    ByteBuffer buffer = freeBuffers.take();
+                    long index = nextBatch.getAndIncrement();
+                    if (index >= batches) {
+                        freeBuffers.add(buffer);
+                        return;
+                    }
+                    int count = (int) Math.min(batchSize, rows - index * batchSize);
+                    encoder.text.setLength(0);
+                    if (seed == null) {
+                        appendRows(count, encoder.text);
+                    } else {
+                        RandomSources.runWith(RandomSources.streamGenerator(seed, index),
+                                () -> appendRows(count, encoder.text));
+                    }
+                    completedBatches.put(new Batch(index, encoder.encode(buffer), null));
+                }
+            } catch (InterruptedException e) {
+                //The write has finished or failed; nothing more to do.
+            } catch (Throwable throwable) {
+                completedBatches.offer(new Batch(-1, null, throwable));
+            }
+        }
+
+        private void appendRows(int count, StringBuilder text) {
+            for (int i = 0; i < count; i++) {
+                format.appendRow(supplier.get(), text);
+            }
+        }
+    }
+
+    /**
+     * The text of a batch and the reused UTF-8 encoder and character buffer used to encode it.
+     */
+    private static final class Encoder {
+        private final StringBuilder text = new StringBuilder(INITIAL_BUFFER_SIZE / 2);
+        private final CharsetEncoder encoder = UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private char[] chars = new char[0];
+
+        /**
+         * Encode the text into the buffer, replacing the buffer with a larger one if it might not be big enough.
+         * Characters are copied to an array first so that the encoder can use its array based fast path.
+         */
+        private ByteBuffer encode(ByteBuffer buffer) {
+            int length = text.length();
+            if (chars.length < length) {
+                chars = new char[Math.max(length, chars.length * 2)];
+            }
+            text.getChars(0, length, chars, 0);
+            int maximumBytes = (int) Math.min(Integer.MAX_VALUE, (long) Math.ceil(length * (double) encoder.maxBytesPerChar()));
+            if (buffer.capacity() < maximumBytes) {
+                buffer = ByteBuffer.allocate(maximumBytes);
+            }
+            buffer.clear();
+            encoder.reset();
+            encoder.encode(CharBuffer.wrap(chars, 0, length), buffer, true);
+            encoder.flush(buffer);
+            return buffer.flip();
+        }
+    }
+}
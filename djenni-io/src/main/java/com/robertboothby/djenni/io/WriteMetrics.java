@@ -0,0 +1,31 @@
+package com.robertboothby.djenni.io;
+
+import java.time.Duration;
+
+/**
+ * What a {@link SupplierWriter} wrote and how long it took.
+ * @param rows the number of rows written.
+ * @param bytes the number of bytes written, including any header.
+ * @param elapsed the time taken to generate and write the rows.
+ */
+public record WriteMetrics(long rows, long bytes, Duration elapsed) {
+
+    /**
+     * @return the rows written per second.
+     */
+    public double rowsPerSecond() {
+        return perSecond(rows);
+    }
+
+    /**
+     * @return the bytes written per second.
+     */
+    public double bytesPerSecond() {
+        return perSecond(bytes);
+    }
+
+    private double perSecond(long count) {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : count * 1_000_000_000.0 / nanos;
+    }
+}
@@ -0,0 +1,172 @@
+package com.robertboothby.djenni.io;
+
+import com.robertboothby.djenni.core.StreamableSupplier;
+import com.robertboothby.djenni.io.SnapshotSupplier.Replay;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SnapshotSupplierTest {
+
+    public enum Status {ACTIVE, CLOSED}
+
+    public record Address(String street, int number) {
+    }
+
+    public record Account(long id, String owner, Status status, Double limit, boolean flagged, Address address) {
+    }
+
+    @TempDir
+    Path directory;
+
+    private static StreamableSupplier<Account> accounts() {
+        AtomicInteger ids = new AtomicInteger();
+        return () -> {
+            int id = ids.getAndIncrement();
+            return new Account(id, "Owner " + id, Status.values()[id % 2], id % 3 == 0 ? null : id * 1.5,
+                    id % 5 == 0, id % 7 == 0 ? null : new Address("Street " + id, id % 100));
+        };
+    }
+
+    @Test
+    public void shouldReplayRecordedRecordsInOrderAndWrapAround() throws IOException {
+        //Given
+        Path file = directory.resolve("accounts.snapshot");
+        SnapshotCodec<Account> codec = SnapshotCodecs.records(Account.class);
+        List<Account> expected = accounts().getBatch(1000);
+
+        //When
+        WriteMetrics metrics = SnapshotSupplier.record(accounts(), 1000, codec, file);
+        List<Account> replayed;
+        Account wrapped;
+        try (SnapshotSupplier<Account> snapshot = SnapshotSupplier.replay(file, codec, Replay.SEQUENTIAL)) {
+            replayed = snapshot.getBatch(1000);
+            wrapped = snapshot.get();
+        }
+
+        //Then
+        assertThat(metrics.rows(), is(1000L));
+        assertThat(metrics.bytes(), is(Files.size(file)));
+        assertThat(replayed, is(expected));
+        assertThat(wrapped, is(expected.get(0)));
+    }
+
+    @Test
+    public void shouldReadAnyPositionDirectly() throws IOException {
+        //Given
+        Path file = directory.resolve("strings.snapshot");
+        SnapshotSupplier.record(IntStream.range(0, 500).mapToObj(i -> "value " + i).iterator()::next, 500,
+                SnapshotCodecs.strings(), file);
+
+        //When
+        try (SnapshotSupplier<String> snapshot = SnapshotSupplier.replay(file, SnapshotCodecs.strings(), Replay.RANDOM)) {
+
+            //Then
+            assertThat(snapshot.size(), is(500L));
+            assertThat(snapshot.get(0), is("value 0"));
+            assertThat(snapshot.get(321), is("value 321"));
+            assertThat(snapshot.get(499), is("value 499"));
+            assertThat(snapshot.get(), startsWith("value "));
+            assertThrows(IndexOutOfBoundsException.class, () -> snapshot.get(500));
+        }
+    }
+
+    @Test
+    public void shouldShareTheSequenceBetweenThreadsWithoutRepeatingValues() throws Exception {
+        //Given
+        Path file = directory.resolve("longs.snapshot");
+        AtomicInteger counter = new AtomicInteger();
+        SnapshotSupplier.record(() -> (long) counter.getAndIncrement(), 10_000, SnapshotCodecs.longs(), file);
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        //When
+        try (SnapshotSupplier<Long> snapshot = SnapshotSupplier.replay(file, SnapshotCodecs.longs(), Replay.SEQUENTIAL)) {
+            List<Future<?>> futures = IntStream.range(0, 4)
+                    .mapToObj(i -> executor.submit(() -> snapshot.stream(2_500).forEach(seen::add)))
+                    .collect(Collectors.toList());
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        //Then
+        assertThat(seen, hasSize(10_000));
+    }
+
+    @Test
+    public void shouldRecordValuesLargerThanTheInitialBuffers() throws IOException {
+        //Given
+        Path file = directory.resolve("large.snapshot");
+        String large = "x".repeat(3 * 1024 * 1024);
+
+        //When
+        SnapshotSupplier.record(() -> large, 3, SnapshotCodecs.strings(), file);
+
+        //Then
+        try (SnapshotSupplier<String> snapshot = SnapshotSupplier.replay(file, SnapshotCodecs.strings(), Replay.SEQUENTIAL)) {
+            assertThat(snapshot.get(2), is(large));
+        }
+    }
+
+    @Test
+    public void shouldRejectFilesThatAreNotSnapshots() throws IOException {
+        //Given
+        Path file = Files.writeString(directory.resolve("text.csv"), "id,name\n1,one\n");
+
+        //When
+        IOException exception = assertThrows(IOException.class,
+                () -> SnapshotSupplier.replay(file, SnapshotCodecs.strings(), Replay.SEQUENTIAL));
+
+        //Then
+        assertThat(exception.getMessage(), containsString("is not a snapshot file"));
+    }
+
+    @Test
+    public void shouldFailToReplayAnEmptySnapshot() throws IOException {
+        //Given
+        Path file = directory.resolve("empty.snapshot");
+        SnapshotSupplier.record(() -> "never", 0, SnapshotCodecs.strings(), file);
+
+        //When
+        try (SnapshotSupplier<String> snapshot = SnapshotSupplier.replay(file, SnapshotCodecs.strings(), Replay.RANDOM)) {
+
+            //Then
+            assertThat(snapshot.size(), is(0L));
+            assertThrows(IllegalStateException.class, snapshot::get);
+        }
+    }
+
+    @Test
+    public void shouldNotLeaveAnIndexFileBehindWhenTheSnapshotCannotBeOpened() throws IOException {
+        //Given
+        Path file = Files.createDirectory(directory.resolve("taken.snapshot"));
+
+        //When
+        assertThrows(IOException.class, () -> SnapshotSupplier.record(() -> "value", 10, SnapshotCodecs.strings(), file));
+
+        //Then
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.collect(Collectors.toList()), contains(file));
+        }
+    }
+}
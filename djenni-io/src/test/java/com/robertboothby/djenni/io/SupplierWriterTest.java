@@ -0,0 +1,157 @@
+package com.robertboothby.djenni.io;
+
+import com.robertboothby.djenni.core.StreamableSupplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.robertboothby.djenni.io.Column.column;
+import static com.robertboothby.djenni.lang.IntegerSupplierBuilder.integerSupplier;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SupplierWriterTest {
+
+    public record Account(int id, String name, double balance) {
+    }
+
+    public static class Customer {
+        private final String email;
+        private final List<String> tags;
+
+        public Customer(String email, List<String> tags) {
+            this.email = email;
+            this.tags = tags;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+    }
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void shouldWriteRecordsAsCsvInOrderFromSeveralThreads() throws IOException {
+        //Given
+        AtomicInteger ids = new AtomicInteger();
+        StreamableSupplier<Account> accounts = () -> {
+            int id = ids.getAndIncrement();
+            return new Account(id, "Account, " + id, id / 2.0);
+        };
+        Path file = directory.resolve("accounts.csv");
+
+        //When
+        WriteMetrics metrics = SupplierWriter.csv(Account.class).generatorThreads(4).batchSize(100)
+                .write(accounts, 10_000, file);
+
+        //Then
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines.size(), is(10_001));
+        assertThat(lines.get(0), is("id,name,balance"));
+        assertThat(metrics.rows(), is(10_000L));
+        assertThat(metrics.bytes(), is(Files.size(file)));
+        assertThat(metrics.rowsPerSecond(), is(greaterThan(0.0)));
+        //Each batch of 100 rows is drawn by one thread, so the ids within a batch increase.
+        List<Integer> writtenIds = lines.subList(1, lines.size()).stream()
+                .map(line -> Integer.parseInt(line.substring(0, line.indexOf(','))))
+                .collect(Collectors.toList());
+        for (int batch = 0; batch < 100; batch++) {
+            List<Integer> batchIds = writtenIds.subList(batch * 100, batch * 100 + 100);
+            assertThat(batchIds, is(batchIds.stream().sorted().collect(Collectors.toList())));
+        }
+        assertThat(Set.copyOf(writtenIds), hasSize(10_000));
+    }
+
+    @Test
+    public void shouldWriteBeansAsJsonLines() throws IOException {
+        //Given
+        StreamableSupplier<Customer> customers = () -> new Customer("a\"b@example.com", List.of("x", "y"));
+        Path file = directory.resolve("customers.jsonl");
+
+        //When
+        SupplierWriter.jsonLines(Customer.class).unordered().write(customers, 3, file);
+
+        //Then
+        assertThat(Files.readAllLines(file), contains(
+                "{\"email\":\"a\\\"b@example.com\",\"tags\":[\"x\",\"y\"]}",
+                "{\"email\":\"a\\\"b@example.com\",\"tags\":[\"x\",\"y\"]}",
+                "{\"email\":\"a\\\"b@example.com\",\"tags\":[\"x\",\"y\"]}"));
+    }
+
+    @Test
+    public void shouldWriteTheSameRowsWhateverTheNumberOfThreadsWhenSeeded() throws IOException {
+        //Given
+        StreamableSupplier<Integer> values = integerSupplier().between(0).and(1_000_000).build();
+        RowFormat<Integer> format = CsvFormat.csv(List.of(column("value", (Integer $) -> $))).withoutHeader();
+        Path single = directory.resolve("single.csv");
+        Path multiple = directory.resolve("multiple.csv");
+
+        //When
+        SupplierWriter.writer(format).seed(42L).generatorThreads(1).batchSize(64).write(values, 5_000, single);
+        SupplierWriter.writer(format).seed(42L).generatorThreads(4).batchSize(64).write(values, 5_000, multiple);
+
+        //Then
+        assertThat(Files.readAllLines(multiple), is(equalTo(Files.readAllLines(single))));
+    }
+
+    @Test
+    public void shouldFailWhenTheSupplierFails() {
+        //Given
+        AtomicInteger calls = new AtomicInteger();
+        StreamableSupplier<Integer> failing = () -> {
+            if (calls.incrementAndGet() == 500) {
+                throw new IllegalStateException("Broken supplier");
+            }
+            return 1;
+        };
+        RowFormat<Integer> format = CsvFormat.csv(List.of(column("value", (Integer $) -> $)));
+
+        //When
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> SupplierWriter.writer(format).generatorThreads(2).batchSize(10)
+                        .write(failing, 10_000, directory.resolve("failing.csv")));
+
+        //Then
+        assertThat(exception.getMessage(), is("Broken supplier"));
+    }
+
+    @Test
+    public void shouldQuoteCsvFieldsOnlyWhenNeeded() {
+        //Given
+        CsvFormat<String[]> format = CsvFormat.csv(List.of(
+                column("a", (String[] $) -> $[0]),
+                column("b", (String[] $) -> $[1]),
+                column("c", (String[] $) -> $[2])));
+        StringBuilder out = new StringBuilder();
+
+        //When
+        format.appendRow(new String[]{"plain", "with \"quotes\"", null}, out);
+        format.withDelimiter(';').appendRow(new String[]{"a,b", "line\nbreak", "x;y"}, out);
+
+        //Then
+        assertThat(out.toString(), is("plain,\"with \"\"quotes\"\"\",\na,b;\"line\nbreak\";\"x;y\"\n"));
+    }
+
+    @Test
+    public void shouldResolveColumnsOncePerClass() {
+        assertThat(Columns.columnsOf(Account.class), is(sameInstance(Columns.columnsOf(Account.class))));
+        assertThat(Columns.columnsOf(Customer.class).stream().map(Column::name).toList(), contains("email", "tags"));
+        assertThat(IntStream.range(0, 3).mapToObj($ -> Columns.columnsOf(Account.class).get($).name()).toList(),
+                contains("id", "name", "balance"));
+    }
+}
@@ -2,14 +2,24 @@ package com.robertboothby.djenni.util;
 
 import com.robertboothby.djenni.util.lambda.introspectable.IntrospectableFunction;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Utility for creating modified copies of Java records.
+ * <p>
+ * The components are read and the canonical constructor called through method handles that are resolved once per record
+ * class. When several components are changed, all the changes are collected first and the copy is constructed once.
  */
 public final class RecordCopyHelper {
 
@@ -31,9 +41,25 @@ public final class RecordCopyHelper {
      * @return a builder that can apply changes and build a new record instance.
      * @throws NullPointerException if {@code original} is null.
      */
+    @SuppressWarnings("unchecked")
     public static <T extends Record> Builder<T> copyOf(T original) {
         Objects.requireNonNull(original, "original");
-        return new Builder<>(original);
+        return new Builder<>(original, changes((Class<T>) original.getClass()));
+    }
+
+    /**
+     * Creates an empty set of changes for records of the given type, to be applied to many records with
+     * {@link Changes#apply(Record)} or {@link #copyAll(Stream, Changes)}.
+     *
+     * @param recordType the record type.
+     * @param <T>        the record type.
+     * @return an empty set of changes.
+     * @throws NullPointerException     if {@code recordType} is null.
+     * @throws IllegalArgumentException if {@code recordType} is not a record with components.
+     */
+    public static <T extends Record> Changes<T> changes(Class<T> recordType) {
+        Objects.requireNonNull(recordType, "recordType");
+        return new Changes<>(recordType, metadataFor(recordType), new Object[0]);
     }
 
     /**
@@ -60,62 +86,44 @@ public final class RecordCopyHelper {
         Objects.requireNonNull(accessor, "accessor");
 
         Class<?> recordClass = original.getClass();
-        if (!recordClass.isRecord()) {
-            throw new IllegalArgumentException("Class is not a record: " + recordClass.getName());
-        }
-
-        Class<?> implementingClass = accessor.getImplementingClass();
-        if (!recordClass.isAssignableFrom(implementingClass)) {
-            throw new IllegalArgumentException("Accessor does not target record type " + recordClass.getName() +
-                    " (was " + implementingClass.getName() + ")");
-        }
-
-        RecordMetadata metadata = RECORD_METADATA_CACHE.get(recordClass);
-        Integer targetIndex = metadata.accessorIndex.get(accessor.getMethodName());
-        if (targetIndex == null) {
-            throw new IllegalArgumentException("No record component matches accessor " + accessor.getMethodName() +
-                    " on " + recordClass.getName());
-        }
+        RecordMetadata metadata = metadataFor(recordClass);
+        int targetIndex = metadata.indexOf(accessor);
+        metadata.checkValue(targetIndex, newValue);
 
-        if (newValue == null && metadata.components[targetIndex].getType().isPrimitive()) {
-            throw new IllegalArgumentException("Null value not allowed for primitive component " +
-                    metadata.components[targetIndex].getName() + " on " + recordClass.getName());
-        }
-
-        Object[] arguments = new Object[metadata.components.length];
-        for (int i = 0; i < metadata.components.length; i++) {
-            RecordComponent component = metadata.components[i];
-            if (i == targetIndex) {
-                arguments[i] = newValue;
-            } else {
-                try {
-                    arguments[i] = component.getAccessor().invoke(original);
-                } catch (Exception e) {
-                    throw new RuntimeException("Failed to read record component " + component.getName() +
-                            " from " + recordClass.getName(), e);
-                }
-            }
-        }
+        Object[] arguments = metadata.read(original);
+        arguments[targetIndex] = newValue;
+        return metadata.construct(arguments);
+    }
 
-        try {
-            @SuppressWarnings("unchecked")
-            Constructor<T> constructor = (Constructor<T>) metadata.constructor;
-            return constructor.newInstance(arguments);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to construct record " + recordClass.getName(), e);
-        }
+    /**
+     * Copy every record in the stream with the same set of changes. The stream is lazy, like any other
+     * {@link Stream#map(Function)}, and each record is constructed once however many components are changed.
+     *
+     * @param originals the records to copy.
+     * @param changes   the changes to apply to each record.
+     * @param <T>       the record type.
+     * @return a stream of the changed copies, in the same order as the originals.
+     * @throws NullPointerException if {@code originals} or {@code changes} is null.
+     */
+    public static <T extends Record> Stream<T> copyAll(Stream<T> originals, Changes<T> changes) {
+        Objects.requireNonNull(originals, "originals");
+        Objects.requireNonNull(changes, "changes");
+        return originals.map(changes::apply);
     }
 
     public static final class Builder<T extends Record> {
         private final T original;
+        private final Changes<T> changes;
 
-        private Builder(T original) {
+        private Builder(T original, Changes<T> changes) {
             this.original = original;
+            this.changes = changes;
         }
 
         /**
          * Returns a new builder with the given component updated. Null handling follows
-         * {@link #copyWithChange(Record, IntrospectableFunction, Object)}.
+         * {@link #copyWithChange(Record, IntrospectableFunction, Object)}. The change is recorded rather than applied,
+         * so no intermediate record is constructed.
          *
          * @param accessor the record accessor method reference for the component to change.
          * @param newValue the new value for the component.
@@ -123,7 +131,7 @@ public final class RecordCopyHelper {
          * @return a new builder with the updated record instance.
          */
         public <P> Builder<T> with(IntrospectableFunction<T, P> accessor, P newValue) {
-            return new Builder<>(RecordCopyHelper.copyWithChange(original, accessor, newValue));
+            return new Builder<>(original, changes.with(accessor, newValue));
         }
 
         /**
@@ -132,8 +140,118 @@ public final class RecordCopyHelper {
          * @return the updated record instance.
          */
         public T build() {
-            return original;
+            return changes.isEmpty() ? original : changes.apply(original);
+        }
+    }
+
+    /**
+     * An immutable set of changes to the components of a record type, which can be applied to any number of records.
+     * Each change either sets a fixed value or computes the value from the original record. Later changes to the same
+     * component replace earlier ones.
+     *
+     * @param <T> the record type.
+     */
+    public static final class Changes<T extends Record> {
+        private final Class<T> recordType;
+        private final RecordMetadata metadata;
+        //Pairs of component index and either the fixed value or a ComputedValue.
+        private final Object[] indexedValues;
+
+        private Changes(Class<T> recordType, RecordMetadata metadata, Object[] indexedValues) {
+            this.recordType = recordType;
+            this.metadata = metadata;
+            this.indexedValues = indexedValues;
+        }
+
+        /**
+         * Returns new changes that also set the component to a fixed value. Null handling follows
+         * {@link #copyWithChange(Record, IntrospectableFunction, Object)}.
+         *
+         * @param accessor the record accessor method reference for the component to change.
+         * @param newValue the new value for the component.
+         * @param <P>      the component type.
+         * @return the new changes.
+         * @throws NullPointerException     if {@code accessor} is null.
+         * @throws IllegalArgumentException if the accessor does not target the record type, no component matches or
+         *                                  the value is null for a primitive component.
+         */
+        public <P> Changes<T> with(IntrospectableFunction<T, P> accessor, P newValue) {
+            Objects.requireNonNull(accessor, "accessor");
+            int index = metadata.indexOf(accessor);
+            metadata.checkValue(index, newValue);
+            return withChange(index, newValue);
+        }
+
+        /**
+         * Returns new changes that also set the component to a value computed from the original record.
+         *
+         * @param accessor      the record accessor method reference for the component to change.
+         * @param valueFunction the function computing the new value of the component from the original record.
+         * @param <P>           the component type.
+         * @return the new changes.
+         * @throws NullPointerException     if {@code accessor} or {@code valueFunction} is null.
+         * @throws IllegalArgumentException if the accessor does not target the record type or no component matches.
+         */
+        public <P> Changes<T> withComputed(IntrospectableFunction<T, P> accessor,
+                                           Function<? super T, ? extends P> valueFunction) {
+            Objects.requireNonNull(accessor, "accessor");
+            Objects.requireNonNull(valueFunction, "valueFunction");
+            return withChange(metadata.indexOf(accessor), new ComputedValue(valueFunction));
+        }
+
+        /**
+         * Create a copy of the record with all the changes applied, constructing the copy once.
+         *
+         * @param original the record to copy.
+         * @return the changed copy.
+         * @throws NullPointerException     if {@code original} is null.
+         * @throws IllegalArgumentException if the record is not of the type of these changes, or a computed value is
+         *                                  null for a primitive component.
+         */
+        @SuppressWarnings("unchecked")
+        public T apply(T original) {
+            Objects.requireNonNull(original, "original");
+            if (original.getClass() != recordType) {
+                throw new IllegalArgumentException("Changes for " + recordType.getName() + " cannot be applied to " +
+                        original.getClass().getName());
+            }
+            Object[] arguments = metadata.read(original);
+            Object[] indexedValues = this.indexedValues;
+            for (int i = 0; i < indexedValues.length; i += 2) {
+                int index = (Integer) indexedValues[i];
+                Object value = indexedValues[i + 1];
+                if (value instanceof ComputedValue computed) {
+                    value = ((Function<Object, Object>) computed.function()).apply(original);
+                    metadata.checkValue(index, value);
+                }
+                arguments[index] = value;
+            }
+            return metadata.construct(arguments);
+        }
+
+        private boolean isEmpty() {
+            return indexedValues.length == 0;
+        }
+
+        private Changes<T> withChange(int index, Object value) {
+            Object[] indexedValues = Arrays.copyOf(this.indexedValues, this.indexedValues.length + 2);
+            indexedValues[indexedValues.length - 2] = index;
+            indexedValues[indexedValues.length - 1] = value;
+            return new Changes<>(recordType, metadata, indexedValues);
+        }
+    }
+
+    /**
+     * Marks a change whose value is computed from the original record, so that it can be told apart from a fixed value.
+     */
+    private record ComputedValue(Function<?, ?> function) {
+    }
+
+    private static RecordMetadata metadataFor(Class<?> recordClass) {
+        if (!recordClass.isRecord()) {
+            throw new IllegalArgumentException("Class is not a record: " + recordClass.getName());
         }
+        return RECORD_METADATA_CACHE.get(recordClass);
     }
 
     private static RecordMetadata introspectRecord(Class<?> recordClass) {
@@ -142,31 +260,122 @@ public final class RecordCopyHelper {
             throw new IllegalArgumentException("Record has no components: " + recordClass.getName());
         }
 
+        MethodHandles.Lookup lookup = lookupFor(recordClass);
         Class<?>[] parameterTypes = new Class<?>[components.length];
+        MethodHandle[] accessors = new MethodHandle[components.length];
         Map<String, Integer> accessorIndex = new HashMap<>();
         for (int i = 0; i < components.length; i++) {
             RecordComponent component = components[i];
             parameterTypes[i] = component.getType();
             accessorIndex.put(component.getAccessor().getName(), i);
+            try {
+                accessors[i] = lookup.unreflect(component.getAccessor())
+                        .asType(MethodType.methodType(Object.class, Object.class));
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("Failed to access record component " + component.getName() +
+                        " of " + recordClass.getName(), e);
+            }
         }
 
         try {
             Constructor<?> constructor = recordClass.getDeclaredConstructor(parameterTypes);
-            return new RecordMetadata(components, constructor, accessorIndex);
-        } catch (NoSuchMethodException e) {
+            MethodHandle constructorHandle = lookup.unreflectConstructor(constructor);
+            MethodHandle spreadConstructor = constructorHandle
+                    .asType(constructorHandle.type().generic())
+                    .asSpreader(Object[].class, components.length);
+            return new RecordMetadata(recordClass, components, accessors, spreadConstructor, accessorIndex);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
             throw new RuntimeException("Failed to locate record constructor for " + recordClass.getName(), e);
         }
     }
 
+    /**
+     * Get a lookup with private access to the record class where the module system allows it, so that records that are
+     * not public can also be copied.
+     */
+    private static MethodHandles.Lookup lookupFor(Class<?> recordClass) {
+        try {
+            return MethodHandles.privateLookupIn(recordClass, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            return MethodHandles.publicLookup();
+        }
+    }
+
     private static final class RecordMetadata {
+        private final Class<?> recordClass;
         private final RecordComponent[] components;
-        private final Constructor<?> constructor;
+        private final MethodHandle[] accessors;
+        private final MethodHandle constructor;
         private final Map<String, Integer> accessorIndex;
+        private final Map<Class<?>, Integer> indexByAccessorClass = new ConcurrentHashMap<>();
 
-        private RecordMetadata(RecordComponent[] components, Constructor<?> constructor, Map<String, Integer> accessorIndex) {
+        private RecordMetadata(Class<?> recordClass, RecordComponent[] components, MethodHandle[] accessors,
+                               MethodHandle constructor, Map<String, Integer> accessorIndex) {
+            this.recordClass = recordClass;
             this.components = components;
+            this.accessors = accessors;
             this.constructor = constructor;
             this.accessorIndex = accessorIndex;
         }
+
+        /**
+         * Get the index of the component read by the accessor. Every instance of a lambda class refers to the same
+         * method, so the index is cached against the class of the accessor.
+         */
+        private int indexOf(IntrospectableFunction<?, ?> accessor) {
+            Integer index = indexByAccessorClass.get(accessor.getClass());
+            if (index == null) {
+                index = resolveIndexOf(accessor);
+                indexByAccessorClass.put(accessor.getClass(), index);
+            }
+            return index;
+        }
+
+        private int resolveIndexOf(IntrospectableFunction<?, ?> accessor) {
+            Class<?> implementingClass = accessor.getImplementingClass();
+            if (!recordClass.isAssignableFrom(implementingClass)) {
+                throw new IllegalArgumentException("Accessor does not target record type " + recordClass.getName() +
+                        " (was " + implementingClass.getName() + ")");
+            }
+            Integer index = accessorIndex.get(accessor.getMethodName());
+            if (index == null) {
+                throw new IllegalArgumentException("No record component matches accessor " + accessor.getMethodName() +
+                        " on " + recordClass.getName());
+            }
+            return index;
+        }
+
+        private void checkValue(int index, Object value) {
+            if (value == null && components[index].getType().isPrimitive()) {
+                throw new IllegalArgumentException("Null value not allowed for primitive component " +
+                        components[index].getName() + " on " + recordClass.getName());
+            }
+        }
+
+        private Object[] read(Object original) {
+            Object[] values = new Object[accessors.length];
+            for (int i = 0; i < accessors.length; i++) {
+                try {
+                    values[i] = (Object) accessors[i].invokeExact(original);
+                } catch (Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new RuntimeException("Failed to read record component " + components[i].getName() +
+                            " from " + recordClass.getName(), e);
+                }
+            }
+            return values;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T construct(Object[] arguments) {
+            try {
+                return (T) (Object) constructor.invokeExact(arguments);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException("Failed to construct record " + recordClass.getName(), e);
+            }
+        }
     }
 }
@@ -2,8 +2,6 @@ package com.robertboothby.djenni.util.lambda.introspectable;
 
 import java.io.Serializable;
 import java.lang.invoke.SerializedLambda;
-import java.lang.reflect.Method;
-import java.util.Arrays;
 import java.util.function.BiConsumer;
 
 /**
@@ -13,39 +11,20 @@ import java.util.function.BiConsumer;
 public interface IntrospectableBiConsumer<T,R> extends BiConsumer<T,R>, Serializable {
 
     default Class getImplementingClass() {
-        try {
-            return Class.forName(serializeToIntrospectableForm().getImplClass().replace('/', '.'));
-        } catch (ClassNotFoundException e) {
-            throw new LambdaIntrospectionException(e);
-        }
+        return LambdaMetadata.of(this).getImplementingClass();
     }
 
     default String getMethodName() {
-        return serializeToIntrospectableForm().getImplMethodName();
+        return LambdaMetadata.of(this).getMethodName();
     }
 
     @SuppressWarnings("unchecked")
     default Class<T> getParameterType() {
-        return (Class<T>) Arrays.stream(getImplementingClass()
-                .getMethods())
-                .filter($ -> $
-                        .getName().equals(getMethodName())
-                        &&
-                        $.getParameterCount() == 1)
-                .findFirst()
-                .orElseThrow()
-                .getParameterTypes()[0];
+        return (Class<T>) LambdaMetadata.of(this).getParameterType();
     }
 
     default SerializedLambda serializeToIntrospectableForm() {
-        Method writeReplace = null;
-        try {
-            writeReplace = getClass().getDeclaredMethod("writeReplace");
-            writeReplace.setAccessible(true);
-            return (SerializedLambda) writeReplace.invoke(this);
-        } catch (Exception e) {
-            throw new LambdaIntrospectionException(e);
-        }
+        return LambdaMetadata.serialize(this);
     }
 
 }
@@ -1,10 +1,7 @@
 package com.robertboothby.djenni.util.lambda.introspectable;
 
 import java.io.Serializable;
-import java.lang.invoke.MethodHandleInfo;
 import java.lang.invoke.SerializedLambda;
-import java.lang.reflect.Method;
-import java.util.Arrays;
 import java.util.Optional;
 import java.util.function.Consumer;
 
@@ -20,53 +17,34 @@ import java.util.function.Consumer;
 public interface IntrospectableConsumer<T> extends Consumer<T>, Serializable {
 
     default Class getImplementingClass() {
-        try {
-            return Class.forName(serializeToIntrospectableForm().getImplClass().replace('/', '.'));
-        } catch (ClassNotFoundException e) {
-            throw new LambdaIntrospectionException(e);
-        }
+        return LambdaMetadata.of(this).getImplementingClass();
     }
 
     default String getMethodName() {
-        return serializeToIntrospectableForm().getImplMethodName();
+        return LambdaMetadata.of(this).getMethodName();
     }
 
     @SuppressWarnings("unchecked")
     default Class<T> getParameterType() {
-        return (Class<T>) Arrays.stream(getImplementingClass()
-                .getMethods())
-                .filter($ -> $
-                        .getName().equals(getMethodName())
-                        &&
-                        $.getParameterCount() == 1)
-                .findFirst()
-                .orElseThrow()
-                .getParameterTypes()[0];
+        return (Class<T>) LambdaMetadata.of(this).getParameterType();
     }
 
     default SerializedLambda serializeToIntrospectableForm() {
-        Method writeReplace = null;
-        try {
-            writeReplace = getClass().getDeclaredMethod("writeReplace");
-            writeReplace.setAccessible(true);
-            return (SerializedLambda) writeReplace.invoke(this);
-        } catch (Exception e) {
-            throw new LambdaIntrospectionException(e);
-        }
+        return LambdaMetadata.serialize(this);
     }
 
     /**
      * @return true if the referenced method is static.
      */
     default boolean isStaticMethod() {
-        return serializeToIntrospectableForm().getImplMethodKind() == MethodHandleInfo.REF_invokeStatic;
+        return LambdaMetadata.of(this).isStaticMethod();
     }
 
     /**
      * @return true if this method reference is bound to a specific instance.
      */
     default boolean isBoundInstance() {
-        return serializeToIntrospectableForm().getCapturedArgCount() == 1;
+        return LambdaMetadata.of(this).isBoundInstance();
     }
 
     /**
@@ -2,8 +2,6 @@ package com.robertboothby.djenni.util.lambda.introspectable;
 
 import java.io.Serializable;
 import java.lang.invoke.SerializedLambda;
-import java.lang.reflect.Method;
-import java.util.Arrays;
 import java.util.function.Function;
 
 /**
@@ -22,38 +20,20 @@ import java.util.function.Function;
 public interface IntrospectableFunction<T,R> extends Function<T,R>, Serializable {
 
     default Class getImplementingClass() {
-        try {
-            return Class.forName(serializeToIntrospectableForm().getImplClass().replace('/', '.'));
-        } catch (ClassNotFoundException e) {
-            throw new LambdaIntrospectionException(e);
-        }
+        return LambdaMetadata.of(this).getImplementingClass();
     }
 
     default String getMethodName() {
-        return serializeToIntrospectableForm().getImplMethodName();
+        return LambdaMetadata.of(this).getMethodName();
     }
 
     @SuppressWarnings("unchecked")
     default Class<T> getReturnType() {
-        return (Class<T>) Arrays.stream(getImplementingClass()
-                .getMethods())
-                .filter($ -> $
-                        .getName().equals(getMethodName())
-                        &&
-                        $.getParameterCount() == 0)
-                .findFirst()
-                .orElseThrow()
-                .getReturnType();
+        return (Class<T>) LambdaMetadata.of(this).getReturnType();
     }
 
     default SerializedLambda serializeToIntrospectableForm() {
-        try {
-            Method writeReplace = getClass().getDeclaredMethod("writeReplace");
-            writeReplace.setAccessible(true);
-            return (SerializedLambda) writeReplace.invoke(this);
-        } catch (Exception e) {
-            throw new LambdaIntrospectionException(e);
-        }
+        return LambdaMetadata.serialize(this);
     }
 
 }
@@ -0,0 +1,144 @@
+package com.robertboothby.djenni.util.lambda.introspectable;
+
+import java.lang.invoke.MethodHandleInfo;
+import java.lang.invoke.SerializedLambda;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * The metadata of an introspectable lambda that is the same for every instance of the lambda's class: the implementing
+ * class, the name and kind of the implementing method and the number of captured arguments. It is derived from the
+ * {@link SerializedLambda} the first time a lambda of the class is introspected and then cached against the class, so
+ * later introspection does not need reflection or serialization. The values of any captured arguments differ from one
+ * instance to the next and so are not cached; they are still read from a fresh {@link SerializedLambda}.
+ */
+final class LambdaMetadata {
+
+    private static final ClassValue<Holder> METADATA = new ClassValue<>() {
+        @Override
+        protected Holder computeValue(Class<?> type) {
+            return new Holder();
+        }
+    };
+
+    private final String implementingClassName;
+    private final Class<?> implementingClass;
+    private final ClassNotFoundException implementingClassNotFound;
+    private final String methodName;
+    private final int methodKind;
+    private final int capturedArgCount;
+    private final Method noArgumentMethod;
+    private final Method singleArgumentMethod;
+
+    private LambdaMetadata(Class<?> lambdaClass, SerializedLambda serializedLambda) {
+        this.implementingClassName = serializedLambda.getImplClass().replace('/', '.');
+        this.methodName = serializedLambda.getImplMethodName();
+        this.methodKind = serializedLambda.getImplMethodKind();
+        this.capturedArgCount = serializedLambda.getCapturedArgCount();
+        Class<?> implementingClass = null;
+        ClassNotFoundException implementingClassNotFound = null;
+        try {
+            implementingClass = Class.forName(implementingClassName, false, lambdaClass.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            implementingClassNotFound = e;
+        }
+        this.implementingClass = implementingClass;
+        this.implementingClassNotFound = implementingClassNotFound;
+        this.noArgumentMethod = findPublicMethod(0);
+        this.singleArgumentMethod = findPublicMethod(1);
+    }
+
+    /**
+     * Get the metadata of the lambda, introspecting it if it is the first lambda of its class to be introspected.
+     * @param lambda the lambda.
+     * @return the metadata shared by all instances of the lambda's class.
+     */
+    static LambdaMetadata of(Object lambda) {
+        Holder holder = METADATA.get(lambda.getClass());
+        LambdaMetadata metadata = holder.metadata;
+        if (metadata == null) {
+            //Racing threads may each derive the metadata, but they all derive the same values.
+            metadata = new LambdaMetadata(lambda.getClass(), serialize(lambda));
+            holder.metadata = metadata;
+        }
+        return metadata;
+    }
+
+    /**
+     * Get the serialized form of the lambda by calling the {@code writeReplace} method that the compiler generates for
+     * serializable lambdas.
+     * @param lambda the lambda.
+     * @return a new serialized form of the lambda.
+     */
+    static SerializedLambda serialize(Object lambda) {
+        try {
+            Method writeReplace = lambda.getClass().getDeclaredMethod("writeReplace");
+            writeReplace.setAccessible(true);
+            return (SerializedLambda) writeReplace.invoke(lambda);
+        } catch (Exception e) {
+            throw new LambdaIntrospectionException(e);
+        }
+    }
+
+    Class<?> getImplementingClass() {
+        if (implementingClassNotFound != null) {
+            throw new LambdaIntrospectionException(implementingClassNotFound);
+        }
+        return implementingClass;
+    }
+
+    String getMethodName() {
+        return methodName;
+    }
+
+    boolean isStaticMethod() {
+        return methodKind == MethodHandleInfo.REF_invokeStatic;
+    }
+
+    boolean isBoundInstance() {
+        return capturedArgCount == 1;
+    }
+
+    /**
+     * @return the return type of the public method of the implementing class with the method name and no parameters.
+     * @throws LambdaIntrospectionException if the implementing class cannot be loaded.
+     * @throws NoSuchElementException if there is no such method.
+     */
+    Class<?> getReturnType() {
+        if (noArgumentMethod == null) {
+            getImplementingClass();
+            throw new NoSuchElementException("No public method " + methodName + "() on " + implementingClassName);
+        }
+        return noArgumentMethod.getReturnType();
+    }
+
+    /**
+     * @return the type of the parameter of the public method of the implementing class with the method name and a
+     * single parameter.
+     * @throws LambdaIntrospectionException if the implementing class cannot be loaded.
+     * @throws NoSuchElementException if there is no such method.
+     */
+    Class<?> getParameterType() {
+        if (singleArgumentMethod == null) {
+            getImplementingClass();
+            throw new NoSuchElementException("No public single parameter method " + methodName + " on " +
+                    implementingClassName);
+        }
+        return singleArgumentMethod.getParameterTypes()[0];
+    }
+
+    private Method findPublicMethod(int parameterCount) {
+        if (implementingClass == null) {
+            return null;
+        }
+        return Arrays.stream(implementingClass.getMethods())
+                .filter($ -> $.getName().equals(methodName) && $.getParameterCount() == parameterCount)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static final class Holder {
+        private volatile LambdaMetadata metadata;
+    }
+}
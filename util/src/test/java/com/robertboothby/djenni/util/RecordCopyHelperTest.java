@@ -3,7 +3,13 @@ package com.robertboothby.djenni.util;
 import com.robertboothby.djenni.util.lambda.introspectable.IntrospectableFunction;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -60,9 +66,84 @@ public class RecordCopyHelperTest {
         assertThrows(IllegalArgumentException.class, () -> RecordCopyHelper.copyWithChange(original, accessor, "value"));
     }
 
+    @Test
+    public void shouldConstructOnceForSeveralChanges() {
+        //Given
+        CountedRecord original = new CountedRecord("a", "b", "c");
+        int constructedBefore = CountedRecord.CONSTRUCTED.get();
+
+        //When
+        CountedRecord updated = RecordCopyHelper.copyOf(original)
+                .with(CountedRecord::first, "x")
+                .with(CountedRecord::second, "y")
+                .with(CountedRecord::third, "z")
+                .build();
+
+        //Then
+        assertThat(CountedRecord.CONSTRUCTED.get() - constructedBefore, is(1));
+        assertThat(updated, is(new CountedRecord("x", "y", "z")));
+    }
+
+    @Test
+    public void shouldApplyLaterChangesToTheSameComponent() {
+        //Given
+        PersonRecord original = new PersonRecord("Ada", 32);
+
+        //When
+        PersonRecord updated = RecordCopyHelper.copyOf(original)
+                .with(PersonRecord::age, 33)
+                .with(PersonRecord::age, 34)
+                .build();
+
+        //Then
+        assertThat(updated, is(new PersonRecord("Ada", 34)));
+    }
+
+    @Test
+    public void shouldCopyAllWithFixedAndComputedChanges() {
+        //Given
+        RecordCopyHelper.Changes<PersonRecord> changes = RecordCopyHelper.changes(PersonRecord.class)
+                .with(PersonRecord::name, "Grace")
+                .withComputed(PersonRecord::age, person -> person.age() + 1);
+
+        //When
+        List<PersonRecord> updated = RecordCopyHelper.copyAll(
+                Stream.of(new PersonRecord("Ada", 32), new PersonRecord("Alan", 41)), changes)
+                .collect(Collectors.toList());
+
+        //Then
+        assertThat(updated, contains(new PersonRecord("Grace", 33), new PersonRecord("Grace", 42)));
+    }
+
+    @Test
+    public void shouldRejectComputedNullForPrimitiveComponent() {
+        //Given
+        RecordCopyHelper.Changes<PersonRecord> changes = RecordCopyHelper.changes(PersonRecord.class)
+                .withComputed(PersonRecord::age, person -> null);
+
+        //When / Then
+        assertThrows(IllegalArgumentException.class, () -> changes.apply(new PersonRecord("Ada", 32)));
+    }
+
+    @Test
+    public void shouldRejectChangesForNonRecordClass() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Class<Record> notARecord = (Class) String.class;
+
+        assertThrows(IllegalArgumentException.class, () -> RecordCopyHelper.changes(notARecord));
+    }
+
     public record PersonRecord(String name, int age) {
     }
 
+    public record CountedRecord(String first, String second, String third) {
+        static final AtomicInteger CONSTRUCTED = new AtomicInteger();
+
+        public CountedRecord {
+            CONSTRUCTED.incrementAndGet();
+        }
+    }
+
     public record OtherRecord(String value) {
     }
 }
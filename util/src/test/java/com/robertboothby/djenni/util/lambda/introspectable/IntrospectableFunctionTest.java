@@ -0,0 +1,52 @@
+package com.robertboothby.djenni.util.lambda.introspectable;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class IntrospectableFunctionTest {
+
+    @Test
+    public void shouldIntrospectAccessor() {
+        //Given
+        IntrospectableFunction<Sample, String> accessor = Sample::value;
+
+        //When
+        String methodName = accessor.getMethodName();
+
+        //Then
+        assertThat(methodName, is("value"));
+        assertThat(accessor.getImplementingClass(), is(equalTo(Sample.class)));
+        assertThat(accessor.getReturnType(), is(equalTo(String.class)));
+    }
+
+    @Test
+    public void shouldShareMetadataBetweenInstancesOfTheSameLambdaClass() {
+        //Given
+        IntrospectableConsumer<String> first = bound(new Sample("FIRST"));
+        IntrospectableConsumer<String> second = bound(new Sample("SECOND"));
+
+        //When
+        LambdaMetadata firstMetadata = LambdaMetadata.of(first);
+        LambdaMetadata secondMetadata = LambdaMetadata.of(second);
+
+        //Then
+        assertThat(first.getClass(), is(equalTo(second.getClass())));
+        assertThat(secondMetadata, is(sameInstance(firstMetadata)));
+        assertThat(LambdaMetadata.of(first), is(sameInstance(firstMetadata)));
+        assertThat(((Sample) first.getBoundInstance().orElseThrow()).value(), is("FIRST"));
+        assertThat(((Sample) second.getBoundInstance().orElseThrow()).value(), is("SECOND"));
+    }
+
+    private static IntrospectableConsumer<String> bound(Sample sample) {
+        return sample::accept;
+    }
+
+    public record Sample(String value) {
+        public void accept(String ignored) {
+        }
+    }
+}